@@ -0,0 +1,84 @@
+package gr.atc.t4m.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gr.atc.t4m.dto.EventDto;
+import gr.atc.t4m.dto.NotificationDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the JSON conversions of the pipeline with the application ObjectMapper (ObjectMapperConfig):
+ * deserialization of incoming Kafka Events and serialization of the Notifications sent through WebSockets.
+ * Run with: mvn -Pbenchmarks test-compile exec:exec -Djmh.args="ObjectMapperBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ObjectMapperBenchmark {
+
+    private static final String EVENT_JSON = """
+            {
+              "type": "Production Order",
+              "description": "Production order PO-1234 has been released",
+              "sourceComponent": "Production Manager",
+              "organization": "test-organization",
+              "timestamp": "2025-01-01T10:00:00Z",
+              "priority": "HIGH",
+              "data": {
+                "orderId": "PO-1234",
+                "quantity": 250,
+                "lines": [ { "item": "A-100", "quantity": 200 }, { "item": "B-200", "quantity": 50 } ]
+              }
+            }
+            """;
+
+    private ObjectMapper objectMapper;
+
+    private byte[] eventPayload;
+
+    private NotificationDto notification;
+
+    @Setup
+    public void setup() {
+        objectMapper = new ObjectMapperConfig().objectMapper();
+        eventPayload = EVENT_JSON.getBytes(StandardCharsets.UTF_8);
+        notification = NotificationDto.builder()
+                .id(1L)
+                .userId("user-id")
+                .user("First Last")
+                .notificationStatus("Unread")
+                .sourceComponent("Production Manager")
+                .type("Production Order")
+                .description("Production order PO-1234 has been released")
+                .priority("High")
+                .timestamp(OffsetDateTime.of(2025, 1, 1, 10, 0, 0, 0, ZoneOffset.UTC))
+                .build();
+    }
+
+    @Benchmark
+    public EventDto deserializeEvent() throws IOException {
+        return objectMapper.readValue(eventPayload, EventDto.class);
+    }
+
+    @Benchmark
+    public String serializeNotification() throws IOException {
+        return objectMapper.writeValueAsString(notification);
+    }
+}
@@ -0,0 +1,92 @@
+package gr.atc.t4m.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gr.atc.t4m.config.ObjectMapperConfig;
+import gr.atc.t4m.config.properties.KafkaProperties;
+import gr.atc.t4m.config.properties.WebSocketProperties;
+import gr.atc.t4m.dto.EventDto;
+import gr.atc.t4m.dto.UserDto;
+import gr.atc.t4m.service.interfaces.IEventMappingService;
+import gr.atc.t4m.service.interfaces.INotificationService;
+import gr.atc.t4m.service.interfaces.IWebSocketService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Measures KafkaMessageHandler.consume for a single Event with stubbed services, i.e. the in-process cost of the pipeline:
+ * validation, recipient resolution, Notification generation, JSON serialization and WebSocket fan-out.
+ * Stubs are created as 'stubOnly' so Mockito does not record invocations during the measurement.
+ * Run with: mvn -Pbenchmarks test-compile exec:exec -Djmh.args="KafkaMessageHandlerBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class KafkaMessageHandlerBenchmark {
+
+    private static final String TOPIC = "production-orders";
+
+    // Number of User Roles mapped to the topic - Each role results in a WebSocket message
+    @Param({"1", "5"})
+    private int roles;
+
+    private KafkaMessageHandler kafkaMessageHandler;
+
+    private EventDto event;
+
+    @Setup
+    public void setup() {
+        Set<String> userRoles = Set.copyOf(IntStream.range(0, roles).mapToObj(i -> "ROLE_" + i).toList());
+        List<UserDto> users = IntStream.range(0, 10)
+                .mapToObj(i -> UserDto.builder().userId("user-" + i).firstName("First").lastName("Last").build())
+                .toList();
+
+        IEventMappingService eventMappingService = mock(IEventMappingService.class, withSettings().stubOnly());
+        when(eventMappingService.retrieveUserRolesByTopic(TOPIC)).thenReturn(userRoles);
+
+        INotificationService notificationService = mock(INotificationService.class, withSettings().stubOnly());
+        when(notificationService.retrieveUserIdsPerUserRolesAndOrganization(anySet(), anyString())).thenReturn(users);
+
+        IWebSocketService webSocketService = mock(IWebSocketService.class, withSettings().stubOnly());
+
+        ObjectMapper objectMapper = new ObjectMapperConfig().objectMapper();
+        KafkaProperties kafkaProperties = new KafkaProperties(null,
+                new KafkaProperties.Consumer(null, null, TOPIC, false, null, null, null, null), null);
+        kafkaMessageHandler = new KafkaMessageHandler(notificationService, eventMappingService, objectMapper, kafkaProperties,
+                new WebSocketProperties(null, null, null, null, null), webSocketService, new SimpleMeterRegistry());
+
+        event = EventDto.builder()
+                .type("Production Order")
+                .description("Production order PO-1234 has been released")
+                .sourceComponent("Production Manager")
+                .organization("test-organization")
+                .timestamp("2025-01-01T10:00:00Z")
+                .priority("HIGH")
+                .build();
+    }
+
+    @Benchmark
+    public void consume() {
+        kafkaMessageHandler.consume(event, TOPIC);
+    }
+}
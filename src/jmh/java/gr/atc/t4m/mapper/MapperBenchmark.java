@@ -0,0 +1,117 @@
+package gr.atc.t4m.mapper;
+
+import gr.atc.t4m.dto.EventMappingDto;
+import gr.atc.t4m.dto.NotificationDto;
+import gr.atc.t4m.model.EventMapping;
+import gr.atc.t4m.model.Notification;
+import gr.atc.t4m.model.NotificationEvent;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.convention.MatchingStrategies;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.OffsetDateTime;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the reflective ModelMapper, configured as the removed ModelMapperConfig, with the hand-written mappers.
+ * Each operation maps a single object, so 'gc.alloc.rate.norm' reported by '-prof gc' is the allocation per mapped object.
+ * Run with: mvn -Pbenchmarks test-compile exec:exec -Djmh.args="MapperBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    private ModelMapper modelMapper;
+
+    private Notification notification;
+
+    private NotificationDto notificationDto;
+
+    private EventMapping eventMapping;
+
+    @Setup
+    public void setup() {
+        modelMapper = new ModelMapper();
+        modelMapper.getConfiguration()
+                .setMatchingStrategy(MatchingStrategies.STRICT)
+                .setFieldMatchingEnabled(true)
+                .setFieldAccessLevel(org.modelmapper.config.Configuration.AccessLevel.PRIVATE);
+        modelMapper.typeMap(Notification.class, NotificationDto.class).addMappings(mapping -> {
+            mapping.map(src -> src.getEvent().getSourceComponent(), NotificationDto::setSourceComponent);
+            mapping.map(src -> src.getEvent().getType(), NotificationDto::setType);
+            mapping.map(src -> src.getEvent().getDescription(), NotificationDto::setDescription);
+            mapping.map(src -> src.getEvent().getPriority(), NotificationDto::setPriority);
+        });
+
+        OffsetDateTime timestamp = OffsetDateTime.now();
+        NotificationEvent event = NotificationEvent.builder()
+                .id(1L)
+                .sourceComponent("Production Manager")
+                .type("Production Order")
+                .description("Production order PO-1234 has been released")
+                .priority("High")
+                .timestamp(timestamp)
+                .build();
+        notification = Notification.builder()
+                .id(1L)
+                .event(event)
+                .userId("user-id")
+                .user("user")
+                .notificationStatus("Unread")
+                .timestamp(timestamp)
+                .build();
+        notificationDto = NotificationMapper.toDto(notification);
+        eventMapping = EventMapping.builder()
+                .id(1L)
+                .topic("production-orders")
+                .description("Production order updates")
+                .userRoles(Set.of("OPERATOR", "PRODUCTION_MANAGER", "QUALITY_ENGINEER"))
+                .build();
+    }
+
+    @Benchmark
+    public NotificationDto notificationToDtoModelMapper() {
+        return modelMapper.map(notification, NotificationDto.class);
+    }
+
+    @Benchmark
+    public NotificationDto notificationToDtoHandWritten() {
+        return NotificationMapper.toDto(notification);
+    }
+
+    @Benchmark
+    public NotificationEvent dtoToEventModelMapper() {
+        NotificationEvent event = modelMapper.map(notificationDto, NotificationEvent.class);
+        event.setId(null);
+        return event;
+    }
+
+    @Benchmark
+    public NotificationEvent dtoToEventHandWritten() {
+        return NotificationMapper.toEvent(notificationDto);
+    }
+
+    @Benchmark
+    public EventMappingDto eventMappingToDtoModelMapper() {
+        return modelMapper.map(eventMapping, EventMappingDto.class);
+    }
+
+    @Benchmark
+    public EventMappingDto eventMappingToDtoHandWritten() {
+        return EventMappingMapper.toDto(eventMapping);
+    }
+}
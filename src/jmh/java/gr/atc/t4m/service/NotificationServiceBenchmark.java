@@ -0,0 +1,75 @@
+package gr.atc.t4m.service;
+
+import gr.atc.t4m.dto.NotificationDto;
+import gr.atc.t4m.dto.UserDto;
+import gr.atc.t4m.repository.NotificationRepository;
+import gr.atc.t4m.service.interfaces.IRecipientCacheService;
+import gr.atc.t4m.service.interfaces.IUnreadCounterService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Measures the generation of the per-recipient Notifications in createNotificationsForEachUser.
+ * The repository and the Unread counters are 'stubOnly' stubs, so the result covers the mapping and the collection of the unread recipients.
+ * Run with: mvn -Pbenchmarks test-compile exec:exec -Djmh.args="NotificationServiceBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NotificationServiceBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int users;
+
+    private NotificationService notificationService;
+
+    private List<UserDto> recipients;
+
+    private NotificationDto notification;
+
+    @Setup
+    public void setup() {
+        notificationService = new NotificationService(
+                mock(NotificationRepository.class, withSettings().stubOnly()),
+                null,
+                null,
+                mock(IRecipientCacheService.class, withSettings().stubOnly()),
+                mock(IUnreadCounterService.class, withSettings().stubOnly()));
+
+        recipients = IntStream.range(0, users)
+                .mapToObj(i -> UserDto.builder().userId("user-" + i).firstName("First").lastName("Last " + i).build())
+                .toList();
+        notification = NotificationDto.builder()
+                .notificationStatus("Unread")
+                .sourceComponent("Production Manager")
+                .type("Production Order")
+                .description("Production order PO-1234 has been released")
+                .priority("High")
+                .timestamp(OffsetDateTime.now())
+                .build();
+    }
+
+    @Benchmark
+    public void createNotificationsForEachUser() {
+        notificationService.createNotificationsForEachUser(recipients, notification);
+    }
+}
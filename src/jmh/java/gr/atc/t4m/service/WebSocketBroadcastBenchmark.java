@@ -0,0 +1,136 @@
+package gr.atc.t4m.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gr.atc.t4m.config.ObjectMapperConfig;
+import gr.atc.t4m.dto.NotificationDto;
+import gr.atc.t4m.service.interfaces.IWebSocketFanOutService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.messaging.converter.ByteArrayMessageConverter;
+import org.springframework.messaging.converter.CompositeMessageConverter;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.converter.StringMessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Compares the delivery of a Notification to all of its role topics (plus SUPER_ADMIN) through an in-memory broker:
+ * String conversion per destination (notifyUsersAndRolesViaWebSocket per role) against a payload serialized once and
+ * sent as the same pre-encoded message to every destination (notifyViaWebSocket).
+ * Channels are synchronous and the outbound channel only counts the frames, so the result covers the serialization,
+ * the message conversion and the broker fan-out to the subscribers, without the STOMP encoding per session.
+ * Run with: mvn -Pbenchmarks test-compile exec:exec -Djmh.args="WebSocketBroadcastBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WebSocketBroadcastBenchmark {
+
+    @Param({"1", "10", "50"})
+    private int roles;
+
+    @Param({"1", "100"})
+    private int subscribersPerRole;
+
+    private final LongAdder frames = new LongAdder();
+
+    private SimpleBrokerMessageHandler broker;
+
+    private WebSocketService webSocketService;
+
+    private ObjectMapper objectMapper;
+
+    private NotificationDto notification;
+
+    private List<String> topicNames;
+
+    @Setup
+    public void setup() {
+        ExecutorSubscribableChannel clientInboundChannel = new ExecutorSubscribableChannel();
+        ExecutorSubscribableChannel clientOutboundChannel = new ExecutorSubscribableChannel();
+        ExecutorSubscribableChannel brokerChannel = new ExecutorSubscribableChannel();
+        clientOutboundChannel.subscribe(message -> frames.increment());
+        broker = new SimpleBrokerMessageHandler(clientInboundChannel, clientOutboundChannel, brokerChannel, List.of("/topic"));
+        broker.start();
+
+        // Same converters as the broker messaging template of the WebSocket configuration
+        SimpMessagingTemplate messagingTemplate = new SimpMessagingTemplate(brokerChannel);
+        messagingTemplate.setMessageConverter(new CompositeMessageConverter(List.of(
+                new StringMessageConverter(), new ByteArrayMessageConverter(), new MappingJackson2MessageConverter())));
+
+        webSocketService = new WebSocketService(messagingTemplate, new SimpleMeterRegistry(),
+                mock(SimpUserRegistry.class, withSettings().stubOnly()),
+                mock(IWebSocketFanOutService.class, withSettings().stubOnly()));
+        objectMapper = new ObjectMapperConfig().objectMapper();
+
+        topicNames = new ArrayList<>(IntStream.range(0, roles).mapToObj(i -> "ROLE_" + i).toList());
+        topicNames.add("SUPER_ADMIN");
+        int session = 0;
+        for (String topicName : topicNames)
+            for (int i = 0; i < subscribersPerRole; i++)
+                subscribe("session-" + session++, "/topic/notifications/" + topicName);
+
+        notification = NotificationDto.builder()
+                .notificationStatus("Unread")
+                .sourceComponent("Production Manager")
+                .type("Production Order")
+                .description("Production order PO-1234 has been released")
+                .priority("High")
+                .timestamp(OffsetDateTime.now())
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        broker.stop();
+    }
+
+    @Benchmark
+    public void convertPerDestination() throws JsonProcessingException {
+        String message = objectMapper.writeValueAsString(notification);
+        for (String topicName : topicNames)
+            webSocketService.notifyUsersAndRolesViaWebSocket(message, topicName);
+    }
+
+    @Benchmark
+    public void preEncoded() throws JsonProcessingException {
+        webSocketService.notifyViaWebSocket(objectMapper.writeValueAsBytes(notification), topicNames, List.of());
+    }
+
+    private void subscribe(String sessionId, String destination) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.SUBSCRIBE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId("sub-0");
+        accessor.setDestination(destination);
+        broker.handleMessage(MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders()));
+    }
+}
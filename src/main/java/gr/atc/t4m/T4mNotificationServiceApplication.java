@@ -1,14 +1,25 @@
 package gr.atc.t4m;
 
+import gr.atc.t4m.config.properties.AsyncProperties;
+import gr.atc.t4m.config.properties.EventMappingCacheProperties;
+import gr.atc.t4m.config.properties.HttpClientProperties;
 import gr.atc.t4m.config.properties.KafkaProperties;
+import gr.atc.t4m.config.properties.PartitioningProperties;
+import gr.atc.t4m.config.properties.RecipientCacheProperties;
+import gr.atc.t4m.config.properties.RetentionProperties;
+import gr.atc.t4m.config.properties.WebSocketProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
-@EnableConfigurationProperties(KafkaProperties.class)
+@EnableConfigurationProperties({KafkaProperties.class, RecipientCacheProperties.class, HttpClientProperties.class,
+		RetentionProperties.class, PartitioningProperties.class,
+		EventMappingCacheProperties.class, WebSocketProperties.class, AsyncProperties.class})
 @EnableAsync
+@EnableScheduling
 public class T4mNotificationServiceApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,85 @@
+package gr.atc.t4m.config;
+
+import gr.atc.t4m.config.properties.AsyncProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.AsyncConfigurer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * Dedicated executor of the @Async methods (WebSocket sends, default Event Mapping creation) - A bounded pool with a
+ * bounded queue, so a burst of events cannot queue sends without limit. Once the queue is full the configured
+ * rejection policy applies.
+ */
+@Configuration
+@Slf4j
+public class AsyncConfig implements AsyncConfigurer {
+
+    // Same name as the one the Spring Boot executor metrics derive from the bean name, so all meters share the 'name' tag
+    static final String EXECUTOR_NAME = "async";
+    static final String METRIC_REJECTED = "executor.rejected";
+
+    private final AsyncProperties asyncProperties;
+
+    private final LongAdder rejectedTasks = new LongAdder();
+
+    public AsyncConfig(AsyncProperties asyncProperties) {
+        this.asyncProperties = asyncProperties;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor asyncTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(asyncProperties.corePoolSize());
+        executor.setMaxPoolSize(asyncProperties.maxPoolSize());
+        executor.setQueueCapacity(asyncProperties.queueCapacity());
+        executor.setKeepAliveSeconds((int) asyncProperties.keepAlive().toSeconds());
+        executor.setVirtualThreads(asyncProperties.virtualThreads());
+        executor.setThreadNamePrefix("t4m-" + EXECUTOR_NAME + "-");
+        executor.setRejectedExecutionHandler(countingRejectionHandler(asyncProperties.rejectionPolicy()));
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationMillis(asyncProperties.awaitTermination().toMillis());
+        executor.initialize();
+        return executor;
+    }
+
+    @Override
+    public Executor getAsyncExecutor() {
+        return asyncTaskExecutor();
+    }
+
+    /**
+     * Export the rejected tasks of the async executor to actuator - Pool size, active tasks and queue depth are already
+     * exported by the Spring Boot executor metrics of the 'asyncTaskExecutor' bean
+     */
+    @Bean
+    public MeterBinder asyncExecutorMetrics() {
+        return registry -> FunctionCounter.builder(METRIC_REJECTED, rejectedTasks, LongAdder::doubleValue)
+                .description("Tasks rejected by the async executor because its queue was full")
+                .tags("name", EXECUTOR_NAME, "policy", asyncProperties.rejectionPolicy().name().toLowerCase())
+                .register(registry);
+    }
+
+    /*
+     * Helper method to count every rejection before applying the configured policy
+     */
+    private RejectedExecutionHandler countingRejectionHandler(AsyncProperties.RejectionPolicy rejectionPolicy) {
+        RejectedExecutionHandler policy = switch (rejectionPolicy) {
+            case CALLER_RUNS -> new ThreadPoolExecutor.CallerRunsPolicy();
+            case DISCARD_OLDEST -> new ThreadPoolExecutor.DiscardOldestPolicy();
+        };
+        return (task, executor) -> {
+            rejectedTasks.increment();
+            log.debug("Async executor queue is full - Applying '{}' policy", rejectionPolicy);
+            policy.rejectedExecution(task, executor);
+        };
+    }
+}
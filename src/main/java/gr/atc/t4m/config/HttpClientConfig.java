@@ -0,0 +1,83 @@
+package gr.atc.t4m.config;
+
+import gr.atc.t4m.config.properties.HttpClientProperties;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+@Configuration
+public class HttpClientConfig {
+
+    private static final String POOL_NAME = "t4m-http-client";
+
+    private final HttpClientProperties httpClientProperties;
+
+    public HttpClientConfig(HttpClientProperties httpClientProperties) {
+        this.httpClientProperties = httpClientProperties;
+    }
+
+    /**
+     * Connection pool shared by all outgoing HTTP calls (User Manager and Keycloak)
+     */
+    @Bean
+    public PoolingHttpClientConnectionManager httpClientConnectionManager() {
+        ConnectionConfig connectionConfig = ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.of(httpClientProperties.connectTimeout()))
+                .setSocketTimeout(Timeout.of(httpClientProperties.readTimeout()))
+                .setValidateAfterInactivity(TimeValue.of(httpClientProperties.validateAfterInactivity()))
+                .build();
+
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(httpClientProperties.maxConnections())
+                .setMaxConnPerRoute(httpClientProperties.maxConnectionsPerRoute())
+                .setDefaultConnectionConfig(connectionConfig)
+                .build();
+    }
+
+    @Bean
+    public CloseableHttpClient httpClient(PoolingHttpClientConnectionManager httpClientConnectionManager) {
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectionRequestTimeout(Timeout.of(httpClientProperties.connectionRequestTimeout()))
+                .setResponseTimeout(Timeout.of(httpClientProperties.readTimeout()))
+                .build();
+
+        TimeValue keepAlive = TimeValue.of(httpClientProperties.keepAlive());
+        return HttpClients.custom()
+                .setConnectionManager(httpClientConnectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .setKeepAliveStrategy((response, context) -> keepAlive)
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(httpClientProperties.idleEviction()))
+                .build();
+    }
+
+    /**
+     * RestTemplate backed by the pooled HTTP Client - Built through the RestTemplateBuilder so 'http.client.requests' metrics are recorded
+     */
+    @Bean
+    public RestTemplate restTemplate(RestTemplateBuilder restTemplateBuilder, CloseableHttpClient httpClient) {
+        return restTemplateBuilder
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(httpClient))
+                .build();
+    }
+
+    /**
+     * Export connection pool metrics (leased, pending, available connections) to actuator
+     */
+    @Bean
+    public MeterBinder httpClientPoolMetrics(PoolingHttpClientConnectionManager httpClientConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(httpClientConnectionManager, POOL_NAME);
+    }
+}
@@ -1,27 +1,96 @@
 package gr.atc.t4m.config;
 
+import gr.atc.t4m.config.properties.WebSocketProperties;
+import gr.atc.t4m.security.JwtChannelInterceptor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.lang.NonNull;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
 @Configuration
 @EnableWebSocketMessageBroker
+@Slf4j
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    // Destinations used to share unresolved user messages and the connected users among the replicas in relay mode
+    static final String USER_DESTINATION_BROADCAST = "/topic/unresolved-user-destination";
+    static final String USER_REGISTRY_BROADCAST = "/topic/simp-user-registry";
+
     @Value("${spring.security.cors.domains}")
     private String rawCorsDomains;
 
+    private final WebSocketProperties webSocketProperties;
+
+    private final WebSocketSessionMetrics webSocketSessionMetrics;
+
+    private final JwtChannelInterceptor jwtChannelInterceptor;
+
+    // Scheduler of the WebSocket configuration - Lazy since it is created by the same configuration this class contributes to
+    private final TaskScheduler messageBrokerTaskScheduler;
+
+    public WebSocketConfig(WebSocketProperties webSocketProperties, WebSocketSessionMetrics webSocketSessionMetrics,
+                           JwtChannelInterceptor jwtChannelInterceptor,
+                           @Lazy @Qualifier("messageBrokerTaskScheduler") TaskScheduler messageBrokerTaskScheduler) {
+        this.webSocketProperties = webSocketProperties;
+        this.webSocketSessionMetrics = webSocketSessionMetrics;
+        this.jwtChannelInterceptor = jwtChannelInterceptor;
+        this.messageBrokerTaskScheduler = messageBrokerTaskScheduler;
+    }
+
     @Override
     public void configureMessageBroker(@NonNull MessageBrokerRegistry config) {
-        config.enableSimpleBroker("/topic", "/user" , "/queue", "/events");
+        if (webSocketProperties.isRelay())
+            configureBrokerRelay(config);
+        else
+            configureSimpleBroker(config);
         config.setApplicationDestinationPrefixes("*");
         config.setUserDestinationPrefix("/user");
     }
 
+    /**
+     * Limits per WebSocket session - A session whose pending messages exceed the send buffer or whose send exceeds
+     * the send time limit is closed, so a slow client cannot hold the outbound threads
+     */
+    @Override
+    public void configureWebSocketTransport(@NonNull WebSocketTransportRegistration registration) {
+        WebSocketProperties.Transport transport = webSocketProperties.transport();
+        registration.setSendTimeLimit((int) transport.sendTimeLimit().toMillis())
+                .setSendBufferSizeLimit(transport.sendBufferSizeLimit())
+                .setMessageSizeLimit(transport.messageSizeLimit())
+                .setTimeToFirstMessage((int) transport.timeToFirstMessage().toMillis())
+                .addDecoratorFactory(webSocketSessionMetrics);
+    }
+
+    /**
+     * Inbound messages are handled by a bounded pool - CONNECT frames are authenticated with their JWT token
+     */
+    @Override
+    public void configureClientInboundChannel(@NonNull ChannelRegistration registration) {
+        WebSocketProperties.Transport transport = webSocketProperties.transport();
+        registration.interceptors(jwtChannelInterceptor)
+                .taskExecutor()
+                .corePoolSize(transport.inboundThreads())
+                .maxPoolSize(transport.inboundThreads());
+    }
+
+    @Override
+    public void configureClientOutboundChannel(@NonNull ChannelRegistration registration) {
+        WebSocketProperties.Transport transport = webSocketProperties.transport();
+        registration.taskExecutor()
+                .corePoolSize(transport.outboundThreads())
+                .maxPoolSize(transport.outboundMaxThreads())
+                .queueCapacity(transport.outboundQueueCapacity());
+    }
+
     @Override
     public void registerStompEndpoints(@NonNull StompEndpointRegistry registry) {
         String[] corsDomains = rawCorsDomains.split(",");
@@ -30,4 +99,37 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
         registry.addEndpoint("/notifications/websocket").setAllowedOrigins(corsDomains).withSockJS();
     }
 
-}
\ No newline at end of file
+    /*
+     * Helper method to keep subscriptions in memory - Heartbeats detect dead connections that would otherwise
+     * keep their buffers and subscriptions
+     */
+    private void configureSimpleBroker(MessageBrokerRegistry config) {
+        WebSocketProperties.Transport transport = webSocketProperties.transport();
+        config.enableSimpleBroker("/topic", "/user" , "/queue", "/events")
+                .setHeartbeatValue(new long[] {transport.heartbeatSendInterval().toMillis(), transport.heartbeatReceiveInterval().toMillis()})
+                .setTaskScheduler(messageBrokerTaskScheduler);
+    }
+
+    /*
+     * Helper method to relay subscriptions and messages to an external STOMP broker so that every replica
+     * delivers to all clients regardless of the replica they are connected to.
+     * User destinations ('/user/...') are resolved to '/queue/...' destinations of the broker.
+     */
+    private void configureBrokerRelay(MessageBrokerRegistry config) {
+        WebSocketProperties.Relay relay = webSocketProperties.relay();
+        log.info("WebSocket messages are relayed to the STOMP broker at {}:{}", relay.host(), relay.port());
+
+        config.enableStompBrokerRelay("/topic", "/queue")
+                .setRelayHost(relay.host())
+                .setRelayPort(relay.port())
+                .setClientLogin(relay.clientLogin())
+                .setClientPasscode(relay.clientPasscode())
+                .setSystemLogin(relay.systemLogin())
+                .setSystemPasscode(relay.systemPasscode())
+                .setVirtualHost(relay.virtualHost())
+                .setSystemHeartbeatSendInterval(relay.systemHeartbeatSendInterval().toMillis())
+                .setSystemHeartbeatReceiveInterval(relay.systemHeartbeatReceiveInterval().toMillis())
+                .setUserDestinationBroadcast(USER_DESTINATION_BROADCAST)
+                .setUserRegistryBroadcast(USER_REGISTRY_BROADCAST);
+    }
+}
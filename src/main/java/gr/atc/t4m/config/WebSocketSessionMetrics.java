@@ -0,0 +1,141 @@
+package gr.atc.t4m.config;
+
+import gr.atc.t4m.config.properties.WebSocketProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * Tracks the open WebSocket sessions and the sessions dropped as unreliable. The STOMP handler closes a session with
+ * 'SESSION_NOT_RELIABLE' once its send buffer or send time limit is exceeded (slow consumer) or when no CONNECT frame
+ * arrives in time. Both send limits are only checked while a send to the client is blocked, so the session given to
+ * the STOMP handler records when its current send started and the reason of a drop is derived from it, the same way
+ * the send limits are checked.
+ */
+@Component
+@Slf4j
+public class WebSocketSessionMetrics implements WebSocketHandlerDecoratorFactory {
+
+    static final String METRIC_SESSIONS = "notification.websocket.sessions";
+    static final String METRIC_DROPPED = "notification.websocket.sessions.dropped";
+
+    static final String REASON_BUFFER_OVERFLOW = "buffer-overflow";
+    static final String REASON_SEND_TIME_LIMIT = "send-time-limit";
+    static final String REASON_NOT_RELIABLE = "not-reliable";
+
+    private final AtomicInteger openSessions = new AtomicInteger();
+
+    private final Map<String, SendTrackingSession> sessions = new ConcurrentHashMap<>();
+
+    private final long sendTimeLimitMillis;
+
+    private final Counter bufferOverflowSessions;
+
+    private final Counter sendTimeLimitSessions;
+
+    private final Counter notReliableSessions;
+
+    public WebSocketSessionMetrics(MeterRegistry meterRegistry, WebSocketProperties webSocketProperties) {
+        this.sendTimeLimitMillis = webSocketProperties.transport().sendTimeLimit().toMillis();
+        Gauge.builder(METRIC_SESSIONS, openSessions, AtomicInteger::get)
+                .description("Open WebSocket sessions of this replica")
+                .register(meterRegistry);
+        this.bufferOverflowSessions = droppedCounter(meterRegistry, REASON_BUFFER_OVERFLOW);
+        this.sendTimeLimitSessions = droppedCounter(meterRegistry, REASON_SEND_TIME_LIMIT);
+        this.notReliableSessions = droppedCounter(meterRegistry, REASON_NOT_RELIABLE);
+    }
+
+    @Override
+    @NonNull
+    public WebSocketHandler decorate(@NonNull WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(@NonNull WebSocketSession session) throws Exception {
+                openSessions.incrementAndGet();
+                SendTrackingSession trackingSession = new SendTrackingSession(session);
+                sessions.put(session.getId(), trackingSession);
+                super.afterConnectionEstablished(trackingSession);
+            }
+
+            @Override
+            public void afterConnectionClosed(@NonNull WebSocketSession session, @NonNull CloseStatus closeStatus) throws Exception {
+                openSessions.decrementAndGet();
+                SendTrackingSession trackingSession = sessions.remove(session.getId());
+                if (CloseStatus.SESSION_NOT_RELIABLE.equalsCode(closeStatus))
+                    countDroppedSession(session, trackingSession);
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
+
+    /*
+     * Helper method to count a dropped session per reason - A blocked send means one of the send limits was exceeded,
+     * otherwise the session was closed for not sending a CONNECT frame in time
+     */
+    private void countDroppedSession(WebSocketSession session, SendTrackingSession trackingSession) {
+        long sendDuration = trackingSession != null ? trackingSession.getTimeSinceSendStarted() : 0;
+        if (sendDuration > sendTimeLimitMillis) {
+            sendTimeLimitSessions.increment();
+            log.warn("WebSocket session {} dropped as slow consumer - Send blocked for {} ms", session.getId(), sendDuration);
+        } else if (sendDuration > 0) {
+            bufferOverflowSessions.increment();
+            log.warn("WebSocket session {} dropped as slow consumer - Send buffer limit exceeded", session.getId());
+        } else {
+            notReliableSessions.increment();
+            log.warn("WebSocket session {} dropped as unresponsive", session.getId());
+        }
+    }
+
+    private static Counter droppedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder(METRIC_DROPPED)
+                .description("WebSocket sessions closed due to send buffer overflow, send time limit or missing CONNECT")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    int getOpenSessions() {
+        return openSessions.get();
+    }
+
+    /*
+     * Session given to the STOMP handler, which wraps it with its concurrent send decorator
+     */
+    static class SendTrackingSession extends WebSocketSessionDecorator {
+
+        private volatile long sendStartTime;
+
+        SendTrackingSession(WebSocketSession session) {
+            super(session);
+        }
+
+        @Override
+        public void sendMessage(@NonNull WebSocketMessage<?> message) throws IOException {
+            sendStartTime = System.currentTimeMillis();
+            try {
+                super.sendMessage(message);
+            } finally {
+                sendStartTime = 0;
+            }
+        }
+
+        long getTimeSinceSendStarted() {
+            long start = sendStartTime;
+            return start > 0 ? Math.max(System.currentTimeMillis() - start, 1) : 0;
+        }
+    }
+}
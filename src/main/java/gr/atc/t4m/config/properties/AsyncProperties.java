@@ -0,0 +1,45 @@
+package gr.atc.t4m.config.properties;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "notification.async")
+@Slf4j
+public record AsyncProperties(
+        int corePoolSize,
+        int maxPoolSize,
+        int queueCapacity,
+        Duration keepAlive,
+        boolean virtualThreads,
+        RejectionPolicy rejectionPolicy,
+        Duration awaitTermination
+) {
+    public AsyncProperties {
+        if (corePoolSize <= 0)
+            corePoolSize = 8;
+        if (maxPoolSize <= 0)
+            maxPoolSize = Math.max(corePoolSize, 16);
+        else if (maxPoolSize < corePoolSize) {
+            log.warn("Async executor max pool size ({}) is lower than the core pool size ({}) - Using a max pool size of {}",
+                    maxPoolSize, corePoolSize, corePoolSize);
+            maxPoolSize = corePoolSize;
+        }
+        if (queueCapacity <= 0)
+            queueCapacity = 1000;
+        if (keepAlive == null)
+            keepAlive = Duration.ofSeconds(60);
+        if (rejectionPolicy == null)
+            rejectionPolicy = RejectionPolicy.CALLER_RUNS;
+        if (awaitTermination == null)
+            awaitTermination = Duration.ofSeconds(10);
+    }
+
+    public enum RejectionPolicy {
+        // The submitting thread (e.g. the Kafka listener) executes the task itself, slowing down the consumption
+        CALLER_RUNS,
+        // The oldest queued task is discarded in favor of the new one - Missed WebSocket messages are retrieved through the REST API
+        DISCARD_OLDEST
+    }
+}
@@ -0,0 +1,14 @@
+package gr.atc.t4m.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "notification.event-mappings.cache")
+public record EventMappingCacheProperties(
+        boolean invalidationEnabled,
+        String invalidationTopic
+) {
+    public EventMappingCacheProperties {
+        if (invalidationTopic == null || invalidationTopic.isBlank())
+            invalidationTopic = "event-mapping-changes";
+    }
+}
@@ -0,0 +1,36 @@
+package gr.atc.t4m.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "http.client")
+public record HttpClientProperties(
+        int maxConnections,
+        int maxConnectionsPerRoute,
+        Duration connectTimeout,
+        Duration readTimeout,
+        Duration connectionRequestTimeout,
+        Duration keepAlive,
+        Duration idleEviction,
+        Duration validateAfterInactivity
+) {
+    public HttpClientProperties {
+        if (maxConnections <= 0)
+            maxConnections = 50;
+        if (maxConnectionsPerRoute <= 0)
+            maxConnectionsPerRoute = 20;
+        if (connectTimeout == null)
+            connectTimeout = Duration.ofSeconds(2);
+        if (readTimeout == null)
+            readTimeout = Duration.ofSeconds(5);
+        if (connectionRequestTimeout == null)
+            connectionRequestTimeout = Duration.ofSeconds(2);
+        if (keepAlive == null)
+            keepAlive = Duration.ofSeconds(30);
+        if (idleEviction == null)
+            idleEviction = Duration.ofSeconds(60);
+        if (validateAfterInactivity == null)
+            validateAfterInactivity = Duration.ofSeconds(5);
+    }
+}
@@ -8,7 +8,8 @@ import java.util.List;
 @ConfigurationProperties(prefix = "spring.kafka")
 public record KafkaProperties(
         String bootstrapServers,
-        Consumer consumer
+        Consumer consumer,
+        Listener listener
     ) {
     public record Consumer(
             String groupId,
@@ -17,6 +18,7 @@ public record KafkaProperties(
             boolean enableAutoCommit,
             String keyDeserializer,
             String valueDeserializer,
+            Integer maxPollRecords,
             Properties properties
     ) {
         /**
@@ -34,6 +36,17 @@ public record KafkaProperties(
         }
     }
 
+    public record Listener(
+            String type
+    ) {
+        /**
+         * Whether events should be consumed in batches instead of one record at a time
+         */
+        public boolean isBatch() {
+            return "batch".equalsIgnoreCase(type);
+        }
+    }
+
     public record Properties(
             SchemaRegistry schemaRegistry
     ) {}
@@ -42,4 +55,4 @@ public record KafkaProperties(
             String url
     ) {}
 
-}
\ No newline at end of file
+}
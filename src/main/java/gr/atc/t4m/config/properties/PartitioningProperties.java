@@ -0,0 +1,18 @@
+package gr.atc.t4m.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "notification.partitioning")
+public record PartitioningProperties(
+        boolean enabled,
+        int premakeMonths,
+        int retentionMonths
+) {
+    public PartitioningProperties {
+        if (premakeMonths <= 0)
+            premakeMonths = 3;
+        // Zero or negative retention keeps all partitions
+        if (retentionMonths < 0)
+            retentionMonths = 0;
+    }
+}
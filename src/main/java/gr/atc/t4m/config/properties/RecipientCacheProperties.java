@@ -0,0 +1,21 @@
+package gr.atc.t4m.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "notification.recipients.cache")
+public record RecipientCacheProperties(
+        boolean enabled,
+        Duration ttl,
+        long maxSize,
+        boolean invalidationEnabled,
+        String invalidationTopic
+) {
+    public RecipientCacheProperties {
+        if (ttl == null)
+            ttl = Duration.ofMinutes(10);
+        if (maxSize <= 0)
+            maxSize = 1000;
+    }
+}
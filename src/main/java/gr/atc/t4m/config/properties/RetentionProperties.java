@@ -0,0 +1,47 @@
+package gr.atc.t4m.config.properties;
+
+import gr.atc.t4m.enums.NotificationStatus;
+import gr.atc.t4m.enums.Priority;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "notification.retention")
+public record RetentionProperties(
+        boolean enabled,
+        int chunkSize,
+        List<Policy> policies
+) {
+    public RetentionProperties {
+        if (chunkSize <= 0)
+            chunkSize = 1000;
+        if (policies == null)
+            policies = List.of();
+    }
+
+    /**
+     * Retention policy - Notifications older than 'olderThan' matching the optional status and priority are deleted or archived
+     */
+    public record Policy(
+            String name,
+            Action action,
+            Duration olderThan,
+            NotificationStatus status,
+            Priority priority
+    ) {
+        public Policy {
+            if (action == null)
+                action = Action.DELETE;
+            if (olderThan == null)
+                throw new IllegalArgumentException("Retention policy '" + name + "' requires the 'older-than' period");
+            if (name == null)
+                name = action.name().toLowerCase() + "-" + olderThan;
+        }
+    }
+
+    public enum Action {
+        DELETE,
+        ARCHIVE
+    }
+}
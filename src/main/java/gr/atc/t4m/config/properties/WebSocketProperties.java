@@ -0,0 +1,166 @@
+package gr.atc.t4m.config.properties;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "notification.websocket")
+@Slf4j
+public record WebSocketProperties(
+        Broker broker,
+        Relay relay,
+        FanOut fanOut,
+        Transport transport,
+        Delivery delivery
+) {
+    public WebSocketProperties {
+        if (broker == null)
+            broker = Broker.SIMPLE;
+        if (relay == null)
+            relay = new Relay(null, 0, null, null, null, null, null, null, null);
+        if (fanOut == null)
+            fanOut = new FanOut(null, 0, 0, 0, null);
+        if (transport == null)
+            transport = new Transport(null, 0, 0, null, 0, 0, 0, 0, null, null);
+        if (delivery == null)
+            delivery = Delivery.BROADCAST;
+    }
+
+    /**
+     * Whether subscriptions are kept in an external STOMP broker shared by all replicas
+     */
+    public boolean isRelay() {
+        return broker == Broker.RELAY;
+    }
+
+    /**
+     * Whether WebSocket messages are fanned out to all replicas through Kafka
+     */
+    public boolean isKafkaFanOut() {
+        return broker == Broker.KAFKA;
+    }
+
+    /**
+     * Whether Notifications of Events are delivered only to the user destinations of their recipients
+     */
+    public boolean isUserDelivery() {
+        return delivery == Delivery.USER;
+    }
+
+    public enum Broker {
+        // In-memory broker - Subscriptions are visible only to the replica the client is connected to
+        SIMPLE,
+        // STOMP broker relay to an external broker (e.g. RabbitMQ STOMP plugin, ActiveMQ Artemis)
+        RELAY,
+        // In-memory broker per replica - Messages are fanned out to all replicas through a Kafka topic
+        KAFKA
+    }
+
+    public enum Delivery {
+        // Each recipient receives the Notification on '/user/queue/notifications' - Requires a JWT on the STOMP CONNECT frame
+        USER,
+        // Every subscriber of '/topic/notifications/{organization|role}' receives the Notification
+        BROADCAST
+    }
+
+    public record Relay(
+            String host,
+            int port,
+            String clientLogin,
+            String clientPasscode,
+            String systemLogin,
+            String systemPasscode,
+            String virtualHost,
+            Duration systemHeartbeatSendInterval,
+            Duration systemHeartbeatReceiveInterval
+    ) {
+        public Relay {
+            if (host == null || host.isBlank())
+                host = "localhost";
+            if (port <= 0)
+                port = 61613;
+            if (clientLogin == null)
+                clientLogin = "guest";
+            if (clientPasscode == null)
+                clientPasscode = "guest";
+            if (systemLogin == null)
+                systemLogin = "guest";
+            if (systemPasscode == null)
+                systemPasscode = "guest";
+            // Brokers without virtual hosts (e.g. Artemis) expect no 'host' header
+            if (virtualHost != null && virtualHost.isBlank())
+                virtualHost = null;
+            if (systemHeartbeatSendInterval == null)
+                systemHeartbeatSendInterval = Duration.ofSeconds(10);
+            if (systemHeartbeatReceiveInterval == null)
+                systemHeartbeatReceiveInterval = Duration.ofSeconds(10);
+        }
+    }
+
+    public record FanOut(
+            String topic,
+            int deliveryThreads,
+            int maxPending,
+            int dedupCapacity,
+            Duration maxAge
+    ) {
+        public FanOut {
+            if (topic == null || topic.isBlank())
+                topic = "notification-deliveries";
+            if (deliveryThreads <= 0)
+                deliveryThreads = 2;
+            // Once the pending deliveries are full, the Kafka listener thread delivers itself and stops polling
+            if (maxPending <= 0)
+                maxPending = 10000;
+            if (dedupCapacity <= 0)
+                dedupCapacity = 100000;
+            // Deliveries older than this (e.g. after a consumer lag) are dropped - Clients retrieve them through the REST API
+            if (maxAge == null)
+                maxAge = Duration.ofSeconds(30);
+        }
+    }
+
+    public record Transport(
+            Duration sendTimeLimit,
+            int sendBufferSizeLimit,
+            int messageSizeLimit,
+            Duration timeToFirstMessage,
+            int inboundThreads,
+            int outboundThreads,
+            int outboundMaxThreads,
+            int outboundQueueCapacity,
+            Duration heartbeatSendInterval,
+            Duration heartbeatReceiveInterval
+    ) {
+        public Transport {
+            // A session exceeding either send limit is considered a slow consumer and is disconnected
+            if (sendTimeLimit == null)
+                sendTimeLimit = Duration.ofSeconds(10);
+            if (sendBufferSizeLimit <= 0)
+                sendBufferSizeLimit = 512 * 1024;
+            if (messageSizeLimit <= 0)
+                messageSizeLimit = 64 * 1024;
+            if (timeToFirstMessage == null)
+                timeToFirstMessage = Duration.ofSeconds(30);
+            if (inboundThreads <= 0)
+                inboundThreads = Runtime.getRuntime().availableProcessors() * 2;
+            if (outboundThreads <= 0)
+                outboundThreads = Runtime.getRuntime().availableProcessors() * 2;
+            if (outboundMaxThreads <= 0)
+                outboundMaxThreads = outboundThreads * 2;
+            else if (outboundMaxThreads < outboundThreads) {
+                log.warn("WebSocket outbound max threads ({}) is lower than the outbound threads ({}) - Using {} max threads",
+                        outboundMaxThreads, outboundThreads, outboundThreads);
+                outboundMaxThreads = outboundThreads;
+            }
+            if (outboundQueueCapacity <= 0)
+                outboundQueueCapacity = 10000;
+            // Heartbeats of the simple broker - Zero disables them
+            if (heartbeatSendInterval == null)
+                heartbeatSendInterval = Duration.ofSeconds(10);
+            if (heartbeatReceiveInterval == null)
+                heartbeatReceiveInterval = Duration.ofSeconds(10);
+        }
+    }
+}
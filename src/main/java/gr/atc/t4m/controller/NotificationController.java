@@ -1,9 +1,13 @@
 package gr.atc.t4m.controller;
 
 import gr.atc.t4m.controller.responses.BaseAppResponse;
+import gr.atc.t4m.controller.responses.CursorResults;
 import gr.atc.t4m.controller.responses.PaginatedResults;
+import gr.atc.t4m.dto.BulkOperationResultDto;
 import gr.atc.t4m.dto.NotificationDto;
+import gr.atc.t4m.dto.UnreadCountDto;
 import gr.atc.t4m.service.interfaces.INotificationService;
+import gr.atc.t4m.utils.CursorUtils;
 import gr.atc.t4m.utils.JwtUtils;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -14,13 +18,17 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.OffsetDateTime;
 import java.util.Arrays;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/notifications")
@@ -31,6 +39,7 @@ public class NotificationController {
 
     private static final String NOTIFICATION_SUCCESS = "Notifications retrieved successfully";
     private static final String SUPER_ADMIN_ROLE = "SUPER_ADMIN";
+    private static final int MAX_LIMIT = 100;
 
     public NotificationController(INotificationService notificationService) {
         this.notificationService = notificationService;
@@ -136,6 +145,137 @@ public class NotificationController {
             return new ResponseEntity<>(BaseAppResponse.success(results, NOTIFICATION_SUCCESS), HttpStatus.OK);
     }
 
+    /**
+     * Retrieve all Notifications with cursor-based pagination (newest first)
+     *
+     * @param jwt : JWT Token
+     * @param after: Cursor returned by the previous request - Omitted for the first results
+     * @param limit: Maximum number of results
+     * @param includeTotal: Whether the total number of Notifications will be calculated
+     * @return CursorResults<NotificationDto> : Notifications along with the next cursor
+     */
+    @Operation(summary = "Retrieve all Notifications with cursor-based pagination", security = @SecurityRequirement(name = "bearerToken"))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = NOTIFICATION_SUCCESS),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor"),
+            @ApiResponse(responseCode = "401", description = "Authentication process failed!")
+    })
+    @GetMapping("/cursor")
+    public ResponseEntity<BaseAppResponse<CursorResults<NotificationDto>>> getAllNotificationsWithCursor(
+            @AuthenticationPrincipal Jwt jwt,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false, defaultValue = "10") int limit,
+            @RequestParam(required = false, defaultValue = "false") boolean includeTotal) {
+
+        String userId = resolveUserId(jwt);
+        Window<NotificationDto> window = notificationService.retrieveAllNotificationsPerUserId(userId, CursorUtils.decode(after), normalizeLimit(limit));
+        Long total = includeTotal ? notificationService.countAllNotificationsPerUserId(userId) : null;
+
+        return new ResponseEntity<>(BaseAppResponse.success(createCursorResults(window, total), NOTIFICATION_SUCCESS), HttpStatus.OK);
+    }
+
+    /**
+     * Retrieve all unread notifications with cursor-based pagination (newest first)
+     *
+     * @param jwt : JWT Token
+     * @param after: Cursor returned by the previous request - Omitted for the first results
+     * @param limit: Maximum number of results
+     * @param includeTotal: Whether the total number of unread Notifications will be calculated
+     * @return CursorResults<NotificationDto> : Unread notifications along with the next cursor
+     */
+    @Operation(summary = "Retrieve all unread notifications with cursor-based pagination", security = @SecurityRequirement(name = "bearerToken"))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Unread notifications retrieved successfully!"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor"),
+            @ApiResponse(responseCode = "401", description = "Authentication process failed!")
+    })
+    @GetMapping("/unread/cursor")
+    public ResponseEntity<BaseAppResponse<CursorResults<NotificationDto>>> getAllUnreadNotificationsWithCursor(
+            @AuthenticationPrincipal Jwt jwt,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false, defaultValue = "10") int limit,
+            @RequestParam(required = false, defaultValue = "false") boolean includeTotal) {
+
+        String userId = resolveUserId(jwt);
+        Window<NotificationDto> window = notificationService.retrieveUnreadNotificationsPerUserId(userId, CursorUtils.decode(after), normalizeLimit(limit));
+        Long total = includeTotal ? notificationService.countUnreadNotificationsPerUserId(userId) : null;
+
+        return new ResponseEntity<>(BaseAppResponse.success(createCursorResults(window, total), NOTIFICATION_SUCCESS), HttpStatus.OK);
+    }
+
+    /**
+     * Retrieve the number of unread notifications of a user
+     *
+     * @param jwt : JWT Token
+     * @return UnreadCountDto : Number of unread notifications
+     */
+    @Operation(summary = "Retrieve the number of unread notifications", security = @SecurityRequirement(name = "bearerToken"))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Unread notifications count retrieved successfully"),
+            @ApiResponse(responseCode = "401", description = "Authentication process failed!")
+    })
+    @GetMapping("/unread/count")
+    public ResponseEntity<BaseAppResponse<UnreadCountDto>> getUnreadNotificationsCount(@AuthenticationPrincipal Jwt jwt) {
+        String userId = resolveUserId(jwt);
+        UnreadCountDto unreadCount = new UnreadCountDto(userId, notificationService.countUnreadNotificationsPerUserId(userId));
+
+        return new ResponseEntity<>(BaseAppResponse.success(unreadCount, "Unread notifications count retrieved successfully"), HttpStatus.OK);
+    }
+
+    /**
+     * Update the status of multiple Notifications to Read (all, by IDs or created before a timestamp)
+     *
+     * @param jwt : JWT Token
+     * @param ids : IDs of Notifications (Optional)
+     * @param before : Notifications created before this timestamp (Optional)
+     * @param all : Whether all Notifications are updated - Must be explicitly set if no other criteria are provided
+     * @return BulkOperationResultDto : Number of updated Notifications
+     */
+    @Operation(summary = "Update the status of multiple Notifications to Read - Exactly one of 'ids', 'before' or 'all=true' must be provided", security = @SecurityRequirement(name = "bearerToken"))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Notifications status updated successfully"),
+            @ApiResponse(responseCode = "400", description = "Notifications must be selected either by IDs, by timestamp or with 'all=true'"),
+            @ApiResponse(responseCode = "401", description = "Authentication process failed!"),
+            @ApiResponse(responseCode = "403", description = "Invalid authorization parameters. Check JWT or CSRF Token")
+    })
+    @PutMapping("/read")
+    public ResponseEntity<BaseAppResponse<BulkOperationResultDto>> updateNotificationsStatusToRead(
+            @AuthenticationPrincipal Jwt jwt,
+            @RequestParam(required = false) List<Long> ids,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime before,
+            @RequestParam(defaultValue = "false") boolean all) {
+
+        int updated = notificationService.updateNotificationsStatusToRead(resolveUserId(jwt), ids, before, all);
+        return new ResponseEntity<>(BaseAppResponse.success(new BulkOperationResultDto(updated), "Notifications status updated successfully"), HttpStatus.OK);
+    }
+
+    /**
+     * Delete multiple Notifications (all, by IDs or created before a timestamp)
+     *
+     * @param jwt : JWT Token
+     * @param ids : IDs of Notifications (Optional)
+     * @param before : Notifications created before this timestamp (Optional)
+     * @param all : Whether all Notifications are deleted - Must be explicitly set if no other criteria are provided
+     * @return BulkOperationResultDto : Number of deleted Notifications
+     */
+    @Operation(summary = "Delete multiple Notifications - Exactly one of 'ids', 'before' or 'all=true' must be provided", security = @SecurityRequirement(name = "bearerToken"))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Notifications deleted successfully"),
+            @ApiResponse(responseCode = "400", description = "Notifications must be selected either by IDs, by timestamp or with 'all=true'"),
+            @ApiResponse(responseCode = "401", description = "Authentication process failed!"),
+            @ApiResponse(responseCode = "403", description = "Invalid authorization parameters. Check JWT or CSRF Token")
+    })
+    @DeleteMapping
+    public ResponseEntity<BaseAppResponse<BulkOperationResultDto>> deleteNotifications(
+            @AuthenticationPrincipal Jwt jwt,
+            @RequestParam(required = false) List<Long> ids,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime before,
+            @RequestParam(defaultValue = "false") boolean all) {
+
+        int deleted = notificationService.deleteNotifications(resolveUserId(jwt), ids, before, all);
+        return new ResponseEntity<>(BaseAppResponse.success(new BulkOperationResultDto(deleted), "Notifications deleted successfully"), HttpStatus.OK);
+    }
+
     /**
      * Retrieve Notification By Id
      *
@@ -241,4 +381,32 @@ public class NotificationController {
                 ? PageRequest.of(page, size, Sort.by(sortAttribute).ascending())
                 : PageRequest.of(page, size, Sort.by(sortAttribute).descending());
     }
+
+    /*
+     * Helper method to resolve the inbox of the user - SUPER_ADMINs share a common inbox
+     */
+    private String resolveUserId(Jwt jwt) {
+        if (JwtUtils.extractPilotRole(jwt).equals(SUPER_ADMIN_ROLE))
+            return SUPER_ADMIN_ROLE;
+        return JwtUtils.extractUserId(jwt);
+    }
+
+    /*
+     * Helper method to restrict the limit of cursor-based requests within [1, MAX_LIMIT]
+     */
+    private int normalizeLimit(int limit) {
+        return Math.clamp(limit, 1, MAX_LIMIT);
+    }
+
+    /*
+     * Helper method to generate the cursor results - The next cursor points to the last Notification of the window
+     */
+    private CursorResults<NotificationDto> createCursorResults(Window<NotificationDto> window, Long total) {
+        String nextCursor = null;
+        if (window.hasNext() && !window.isEmpty()) {
+            NotificationDto last = window.getContent().getLast();
+            nextCursor = CursorUtils.encode(last.getTimestamp(), last.getId());
+        }
+        return new CursorResults<>(window.getContent(), nextCursor, window.hasNext(), total);
+    }
 }
@@ -0,0 +1,48 @@
+package gr.atc.t4m.controller;
+
+import gr.atc.t4m.controller.responses.BaseAppResponse;
+import gr.atc.t4m.service.interfaces.IRecipientCacheService;
+import gr.atc.t4m.utils.OrganizationUtils;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/recipient-cache")
+@Tag(name = "Recipient Cache Controller", description = "API for managing the cache of notification recipients")
+public class RecipientCacheController {
+
+    private final IRecipientCacheService recipientCacheService;
+
+    public RecipientCacheController(IRecipientCacheService recipientCacheService) {
+        this.recipientCacheService = recipientCacheService;
+    }
+
+    /**
+     * Invalidate cached recipients - For a specific organization or all of them
+     *
+     * @param organization: Organization (Optional)
+     * @return Message of success
+     */
+    @Operation(summary = "Invalidate cached recipients for an organization or all organizations", security = @SecurityRequirement(name = "bearerToken"))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Recipient cache invalidated successfully"),
+            @ApiResponse(responseCode = "401", description = "Authentication process failed!"),
+            @ApiResponse(responseCode = "403", description = "Invalid authorization parameters. Check JWT or CSRF Token")
+    })
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    @DeleteMapping
+    public ResponseEntity<BaseAppResponse<String>> invalidateRecipientCache(@RequestParam(required = false) String organization) {
+        if (organization == null || organization.isBlank())
+            recipientCacheService.invalidateAll();
+        else
+            recipientCacheService.invalidateOrganization(OrganizationUtils.formatOrganization(organization));
+        return new ResponseEntity<>(BaseAppResponse.success(null, "Recipient cache invalidated successfully"), HttpStatus.OK);
+    }
+}
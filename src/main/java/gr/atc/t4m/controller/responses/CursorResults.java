@@ -0,0 +1,32 @@
+package gr.atc.t4m.controller.responses;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Cursor-based Paginated Result Data Transfer Object", title = "Cursor Results")
+public class CursorResults<T> {
+
+    @JsonProperty("results")
+    private List<T> results;
+
+    @Schema(description = "Cursor to request the next results - Absent when there are no more results")
+    @JsonProperty("nextCursor")
+    private String nextCursor;
+
+    @JsonProperty("hasNext")
+    private Boolean hasNext;
+
+    @Schema(description = "Total number of results - Included only if requested")
+    @JsonProperty("totalElements")
+    private Long totalElements;
+}
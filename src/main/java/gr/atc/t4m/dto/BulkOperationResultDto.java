@@ -0,0 +1,9 @@
+package gr.atc.t4m.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Result of an operation applied to multiple Notifications", title = "Bulk Operation Result")
+public record BulkOperationResultDto(
+        @Schema(description = "Number of affected Notifications")
+        int affectedNotifications
+) { }
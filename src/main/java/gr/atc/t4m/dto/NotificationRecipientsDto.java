@@ -0,0 +1,14 @@
+package gr.atc.t4m.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+@Schema(hidden = true)
+public record NotificationRecipientsDto(
+        NotificationDto notification,
+
+        List<UserDto> recipients
+) { }
@@ -0,0 +1,14 @@
+package gr.atc.t4m.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+
+@Builder
+@Schema(description = "Number of Unread Notifications of a User", title = "Unread Count")
+public record UnreadCountDto(
+        @Schema(description = "Recipient User's ID")
+        String userId,
+
+        @Schema(description = "Number of Unread Notifications")
+        long unreadCount
+) { }
@@ -0,0 +1,34 @@
+package gr.atc.t4m.dto;
+
+import lombok.Builder;
+
+import java.util.List;
+
+/*
+ * WebSocket message fanned out to all replicas - Transferred as Kafka headers plus the raw payload as record value
+ * The destinations and the recipients of a user message are transferred as one header per value, no user header for broadcasts
+ * Per user deliveries carry a JSON object with the message of each recipient keyed by User ID
+ */
+@Builder
+public record WebSocketDeliveryDto(
+        String id,
+
+        String origin,
+
+        List<String> destinations,
+
+        List<String> users,
+
+        String contentType,
+
+        long sentAt,
+
+        boolean perUser,
+
+        byte[] payload
+) {
+    public WebSocketDeliveryDto {
+        destinations = destinations == null ? List.of() : List.copyOf(destinations);
+        users = users == null ? List.of() : List.copyOf(users);
+    }
+}
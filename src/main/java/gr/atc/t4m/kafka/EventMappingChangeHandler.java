@@ -0,0 +1,32 @@
+package gr.atc.t4m.kafka;
+
+import gr.atc.t4m.service.interfaces.IEventMappingService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+@Service
+@Slf4j
+public class EventMappingChangeHandler {
+
+    private final IEventMappingService eventMappingService;
+
+    public EventMappingChangeHandler(IEventMappingService eventMappingService) {
+        this.eventMappingService = eventMappingService;
+    }
+
+    /**
+     * Kafka consumer method to receive Event Mapping changes of any instance and refresh the local topic to roles cache
+     * Each instance uses a unique consumer group so that every replica refreshes its local cache
+     *
+     * @param topic: Topic of the changed Event Mapping (empty if not applicable)
+     */
+    @KafkaListener(topics = "${notification.event-mappings.cache.invalidation-topic:event-mapping-changes}",
+            groupId = "${spring.kafka.consumer.group-id}-event-mappings-${random.uuid}",
+            containerFactory = "stringKafkaListenerContainerFactory",
+            autoStartup = "${notification.event-mappings.cache.invalidation-enabled:false}")
+    public void consume(String topic) {
+        log.debug("Event Mapping change received for topic: {}", topic);
+        eventMappingService.refreshEventMappingsCache();
+    }
+}
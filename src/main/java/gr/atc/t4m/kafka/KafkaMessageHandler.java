@@ -3,16 +3,23 @@ package gr.atc.t4m.kafka;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import gr.atc.t4m.config.properties.KafkaProperties;
+import gr.atc.t4m.config.properties.WebSocketProperties;
 import gr.atc.t4m.dto.EventDto;
 import gr.atc.t4m.dto.NotificationDto;
+import gr.atc.t4m.dto.NotificationRecipientsDto;
 import gr.atc.t4m.dto.UserDto;
 import gr.atc.t4m.enums.NotificationStatus;
 import gr.atc.t4m.enums.Priority;
 import gr.atc.t4m.service.interfaces.IEventMappingService;
 import gr.atc.t4m.service.interfaces.INotificationService;
 import gr.atc.t4m.service.interfaces.IWebSocketService;
+import gr.atc.t4m.utils.OrganizationUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.EnumUtils;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.support.KafkaHeaders;
 import org.springframework.messaging.handler.annotation.Header;
@@ -21,10 +28,8 @@ import static gr.atc.t4m.exception.CustomExceptions.*;
 
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
 
 @Service
 @Slf4j
@@ -33,6 +38,17 @@ public class KafkaMessageHandler {
     private static final String GLOBAL_EVENT_MAPPINGS = "ALL";
     private static final String SUPER_ADMIN_ROLE = "SUPER_ADMIN";
 
+    private static final String METRIC_EVENTS = "notification.pipeline.events";
+    private static final String METRIC_MAPPING_LOOKUP = "notification.pipeline.mapping.lookup";
+    private static final String METRIC_RECIPIENTS = "notification.pipeline.recipients.resolution";
+    private static final String METRIC_STORAGE = "notification.pipeline.storage";
+    private static final String METRIC_STORAGE_ROWS = "notification.pipeline.storage.rows";
+    private static final String METRIC_SERIALIZATION = "notification.pipeline.serialization";
+    private static final String TAG_TOPIC = "topic";
+    private static final String TAG_MODE = "mode";
+    private static final String MODE_SINGLE = "single";
+    private static final String MODE_BATCH = "batch";
+
     private final INotificationService notificationService;
 
     private final IEventMappingService eventMappingService;
@@ -41,11 +57,19 @@ public class KafkaMessageHandler {
 
     private final ObjectMapper objectMapper;
 
-    public KafkaMessageHandler(INotificationService notificationService, IEventMappingService eventMappingService, ObjectMapper objectMapper, KafkaProperties kafkaProperties, IWebSocketService webSocketService) {
+    private final MeterRegistry meterRegistry;
+
+    private final boolean userDelivery;
+
+    public KafkaMessageHandler(INotificationService notificationService, IEventMappingService eventMappingService, ObjectMapper objectMapper,
+                               KafkaProperties kafkaProperties, WebSocketProperties webSocketProperties, IWebSocketService webSocketService,
+                               MeterRegistry meterRegistry) {
         this.notificationService = notificationService;
         this.eventMappingService = eventMappingService;
         this.objectMapper = objectMapper;
         this.webSocketService = webSocketService;
+        this.meterRegistry = meterRegistry;
+        this.userDelivery = webSocketProperties.isUserDelivery();
         log.info("Kafka consumer initialized to listen to topics: {}", String.join(", ", kafkaProperties.consumer().getTopicsList()));
     }
 
@@ -55,60 +79,221 @@ public class KafkaMessageHandler {
      * @param event: Event occurred in MODAPTO
      * @param topic: The topic from which the message was received
      */
-    @KafkaListener(topics = "#{'${spring.kafka.consumer.topics}'.split(',')}", groupId = "${spring.kafka.consumer.group-id}")
+    @KafkaListener(topics = "#{'${spring.kafka.consumer.topics}'.split(',')}", groupId = "${spring.kafka.consumer.group-id}",
+            autoStartup = "#{!'${spring.kafka.listener.type:single}'.equalsIgnoreCase('batch')}")
     public void consume(EventDto event, @Header(KafkaHeaders.RECEIVED_TOPIC) String topic) {
         // Validate that same essential variables are present
         if (!isValidEvent(event)) {
             log.error("Kafka message error - Missing essential variables. Message is discarded! Data: {}", event);
+            eventCounter(topic, "invalid").increment();
             return;
         }
 
         log.info("Event Received: {}", event);
 
         // Convert organization to Identity Manager specific format
-        String formattedOrganization = String.join("-", event.organization().trim().toUpperCase().split("\\s+"));
+        String formattedOrganization = OrganizationUtils.formatOrganization(event.organization());
         try {
             // Retrieve User Roles from Mappings (if exist)
-            Set<String> userRolesPerEventType = new HashSet<>();
-            try {
-                userRolesPerEventType = eventMappingService.retrieveEventMappingByTopic(topic).getUserRoles();
-            } catch (ResourceNotFoundException e){
-                log.info("{}-Will create default event mapping", e.getMessage());
-            }
+            Set<String> userRolesPerEventType = retrieveUserRolesPerTopic(topic);
 
             // Locate Related User IDs
-            List<UserDto> users = determineRecipientsOfNotification(event, userRolesPerEventType, topic, formattedOrganization);
+            List<UserDto> users = determineRecipientsOfNotification(userRolesPerEventType, topic, formattedOrganization);
 
             // Generate Notification
             NotificationDto eventNotification = generateNotificationFromEvent(event);
             log.info("Notification created: {}", eventNotification);
 
             // Store notifications per each User - Async
+            Timer.Sample sample = Timer.start(meterRegistry);
             notificationService.createNotificationsForEachUser(users, eventNotification);
+            sample.stop(storageTimer(topic, MODE_SINGLE));
+            storageRowsCounter(topic).increment(users.size() + 1.0); // Including the SUPER_ADMIN copy
 
-            String notificationMessage = objectMapper.writeValueAsString(eventNotification);
-            if (userRolesPerEventType.isEmpty() || userRolesPerEventType.contains(GLOBAL_EVENT_MAPPINGS))
-                // Send notification globally to pilot users
-                webSocketService.notifyUsersAndRolesViaWebSocket(notificationMessage, formattedOrganization);
-            else
-                // Send notification through WebSockets to all user roles in the plant
-                userRolesPerEventType.forEach(role -> webSocketService.notifyUsersAndRolesViaWebSocket(notificationMessage, role));
-
-            // Send notification through WebSockets for Super-Admins
-            webSocketService.notifyUsersAndRolesViaWebSocket(notificationMessage, SUPER_ADMIN_ROLE);
+            notifyViaWebSocket(eventNotification, users, userRolesPerEventType, formattedOrganization, topic);
+            eventCounter(topic, "processed").increment();
         } catch (ModelMappingException e) {
             log.error("An internal mapping exception occurred - Error: {}", e.getMessage());
+            eventCounter(topic, "discarded").increment();
         } catch (JsonProcessingException e) {
                 log.error("Unable to convert Notification to string message - {}", e.getMessage());
+            eventCounter(topic, "discarded").increment();
         } catch (Exception e) {
             log.error("Unable to process Notification from Event - {}", e.getMessage());
+            eventCounter(topic, "discarded").increment();
+        }
+    }
+
+    /**
+     * Kafka batch consumer method - Enabled when 'spring.kafka.listener.type' is set to 'batch'
+     * Events are grouped by (topic, organization) so that mappings and recipients are resolved once per group
+     * and all notifications of the batch are stored together. Failures are isolated per group / per record.
+     *
+     * @param records: Batch of records polled from Kafka
+     */
+    @KafkaListener(topics = "#{'${spring.kafka.consumer.topics}'.split(',')}", groupId = "${spring.kafka.consumer.group-id}",
+            containerFactory = "batchKafkaListenerContainerFactory",
+            autoStartup = "#{'${spring.kafka.listener.type:single}'.equalsIgnoreCase('batch')}")
+    public void consumeBatch(List<ConsumerRecord<String, EventDto>> records) {
+        log.info("Batch of {} events received", records.size());
+
+        // Group valid events by topic and organization
+        Map<EventGroup, List<EventDto>> eventsPerGroup = new LinkedHashMap<>();
+        for (ConsumerRecord<String, EventDto> eventRecord : records) {
+            EventDto event = eventRecord.value();
+            if (event == null || !isValidEvent(event)) {
+                log.error("Kafka message error - Missing essential variables. Message is discarded! Topic: {}, Offset: {}, Data: {}",
+                        eventRecord.topic(), eventRecord.offset(), event);
+                eventCounter(eventRecord.topic(), "invalid").increment();
+                continue;
+            }
+
+            eventsPerGroup.computeIfAbsent(new EventGroup(eventRecord.topic(), OrganizationUtils.formatOrganization(event.organization())), group -> new ArrayList<>())
+                    .add(event);
+        }
+
+        // Resolve mappings once per topic and recipients once per group
+        Map<String, Set<String>> userRolesPerTopic = new HashMap<>();
+        List<GroupedNotification> notifications = new ArrayList<>();
+        eventsPerGroup.forEach((group, events) -> {
+            try {
+                Set<String> userRolesPerEventType = userRolesPerTopic.computeIfAbsent(group.topic(), this::retrieveUserRolesPerTopic);
+                List<UserDto> users = determineRecipientsOfNotification(userRolesPerEventType, group.topic(), group.organization());
+
+                events.forEach(event -> notifications.add(new GroupedNotification(group, userRolesPerEventType,
+                        NotificationRecipientsDto.builder()
+                                .notification(generateNotificationFromEvent(event))
+                                .recipients(users)
+                                .build())));
+            } catch (Exception e) {
+                log.error("Unable to resolve recipients for topic '{}' and organization '{}' - {} events are discarded - {}",
+                        group.topic(), group.organization(), events.size(), e.getMessage());
+                eventCounter(group.topic(), "discarded").increment(events.size());
+            }
+        });
+
+        if (notifications.isEmpty())
+            return;
+
+        storeNotificationsInBatch(notifications);
+
+        // Send notifications through WebSockets
+        notifications.forEach(entry -> {
+            try {
+                notifyViaWebSocket(entry.notification().notification(), entry.notification().recipients(), entry.userRoles(),
+                        entry.group().organization(), entry.group().topic());
+            } catch (JsonProcessingException e) {
+                log.error("Unable to convert Notification to string message - {}", e.getMessage());
+            }
+        });
+    }
+
+    /*
+     * Helper method to store all notifications of a batch at once
+     * The duration of the batch write is recorded once for each topic of the batch, since all of its notifications were stored by it
+     * If the batch write fails, notifications are stored one by one so a single faulty record does not discard the whole batch
+     */
+    private void storeNotificationsInBatch(List<GroupedNotification> notifications) {
+        try {
+            long start = meterRegistry.config().clock().monotonicTime();
+            notificationService.createNotificationsInBatch(notifications.stream().map(GroupedNotification::notification).toList());
+            long duration = meterRegistry.config().clock().monotonicTime() - start;
+            notifications.stream()
+                    .map(entry -> entry.group().topic())
+                    .distinct()
+                    .forEach(topic -> storageTimer(topic, MODE_BATCH).record(duration, TimeUnit.NANOSECONDS));
+            notifications.forEach(this::recordStoredNotification);
+        } catch (Exception e) {
+            log.error("Unable to store batch of {} notifications - Falling back to per notification storage - {}", notifications.size(), e.getMessage());
+            notifications.forEach(entry -> {
+                try {
+                    Timer.Sample sample = Timer.start(meterRegistry);
+                    notificationService.createNotificationsForEachUser(entry.notification().recipients(), entry.notification().notification());
+                    sample.stop(storageTimer(entry.group().topic(), MODE_SINGLE));
+                    recordStoredNotification(entry);
+                } catch (Exception ex) {
+                    log.error("Unable to store Notification {} - {}", entry.notification().notification(), ex.getMessage());
+                    eventCounter(entry.group().topic(), "discarded").increment();
+                }
+            });
         }
     }
 
+    /*
+     * Helper method to count a stored Notification of a batch along with its rows (recipients and the SUPER_ADMIN copy)
+     */
+    private void recordStoredNotification(GroupedNotification entry) {
+        storageRowsCounter(entry.group().topic()).increment(entry.notification().recipients().size() + 1.0);
+        eventCounter(entry.group().topic(), "processed").increment();
+    }
+
+    /*
+     * Helper method to retrieve the User Roles mapped to a topic. Empty set if no mapping exists
+     */
+    private Set<String> retrieveUserRolesPerTopic(String topic) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            return eventMappingService.retrieveUserRolesByTopic(topic);
+        } catch (ResourceNotFoundException e){
+            log.info("{}-Will create default event mapping", e.getMessage());
+            return new HashSet<>();
+        } finally {
+            sample.stop(Timer.builder(METRIC_MAPPING_LOOKUP)
+                    .description("Duration of the Event Mapping lookup of an Event")
+                    .tag(TAG_TOPIC, topic)
+                    .register(meterRegistry));
+        }
+    }
+
+    /*
+     * Helper method to send the Notification through WebSockets to its recipients or to the proper topics
+     * The Notification is serialized once and the same payload is sent to every destination
+     */
+    private void notifyViaWebSocket(NotificationDto eventNotification, List<UserDto> users, Set<String> userRolesPerEventType,
+                                    String formattedOrganization, String topic) throws JsonProcessingException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        byte[] notificationPayload = objectMapper.writeValueAsBytes(eventNotification);
+        sample.stop(Timer.builder(METRIC_SERIALIZATION)
+                .description("Duration of the JSON serialization of a Notification")
+                .tag(TAG_TOPIC, topic)
+                .register(meterRegistry));
+
+        List<String> topicNames = new ArrayList<>();
+        List<String> userIds = List.of();
+        if (userDelivery)
+            // Send notification only to the user destinations of the resolved recipients
+            userIds = users.stream().map(UserDto::userId).filter(Objects::nonNull).distinct().toList();
+        else if (userRolesPerEventType.isEmpty() || userRolesPerEventType.contains(GLOBAL_EVENT_MAPPINGS))
+            // Send notification globally to pilot users
+            topicNames.add(formattedOrganization);
+        else
+            // Send notification through WebSockets to all user roles in the plant
+            topicNames.addAll(userRolesPerEventType);
+
+        // Send notification through WebSockets for Super-Admins
+        topicNames.add(SUPER_ADMIN_ROLE);
+
+        webSocketService.notifyViaWebSocket(notificationPayload, topicNames, userIds);
+    }
+
     /*
      * Helper method to locate the UserIDs that will receive the Notification
      */
-    private List<UserDto> determineRecipientsOfNotification(EventDto event, Set<String> userRolesPerEventType, String topic, String formattedOrganization) {
+    private List<UserDto> determineRecipientsOfNotification(Set<String> userRolesPerEventType, String topic, String formattedOrganization) {
+        boolean global = userRolesPerEventType.isEmpty() || userRolesPerEventType.contains(GLOBAL_EVENT_MAPPINGS);
+        return Timer.builder(METRIC_RECIPIENTS)
+                .description("Duration of the resolution of the recipients of an Event through User Manager")
+                .tag(TAG_TOPIC, topic)
+                .tag("organization", String.valueOf(formattedOrganization))
+                .tag("roles", global ? "all" : String.valueOf(userRolesPerEventType.size()))
+                .register(meterRegistry)
+                .record(() -> requestRecipientsOfNotification(userRolesPerEventType, topic, formattedOrganization));
+    }
+
+    /*
+     * Helper method to request the recipients from User Manager according to the mapped User Roles
+     */
+    private List<UserDto> requestRecipientsOfNotification(Set<String> userRolesPerEventType, String topic, String formattedOrganization) {
         List<UserDto> relatedUsers = new ArrayList<>();
 
         // Handle empty mappings case - Creating mapping and retrieve all pilot users
@@ -154,4 +339,37 @@ public class KafkaMessageHandler {
                 event.organization() != null &&
                 event.type() != null;
     }
+
+    private Counter eventCounter(String topic, String outcome) {
+        return Counter.builder(METRIC_EVENTS)
+                .description("Events consumed from Kafka per outcome (processed, invalid, discarded)")
+                .tag(TAG_TOPIC, topic)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private Timer storageTimer(String topic, String mode) {
+        return Timer.builder(METRIC_STORAGE)
+                .description("Duration of storing the Notifications of an Event (single) or of a batch of Events (batch) for all of their recipients")
+                .tag(TAG_TOPIC, topic)
+                .tag(TAG_MODE, mode)
+                .register(meterRegistry);
+    }
+
+    private Counter storageRowsCounter(String topic) {
+        return Counter.builder(METRIC_STORAGE_ROWS)
+                .description("Notification rows stored for the recipients of Events")
+                .tag(TAG_TOPIC, topic)
+                .register(meterRegistry);
+    }
+
+    /*
+     * Grouping key of events within a batch
+     */
+    private record EventGroup(String topic, String organization) { }
+
+    /*
+     * Notification of a batch along with the information required to deliver it through WebSockets
+     */
+    private record GroupedNotification(EventGroup group, Set<String> userRoles, NotificationRecipientsDto notification) { }
 }
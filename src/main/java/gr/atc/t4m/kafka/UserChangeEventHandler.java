@@ -0,0 +1,61 @@
+package gr.atc.t4m.kafka;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gr.atc.t4m.dto.EventDto;
+import gr.atc.t4m.service.interfaces.IRecipientCacheService;
+import gr.atc.t4m.utils.OrganizationUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+@Service
+@Slf4j
+public class UserChangeEventHandler {
+
+    private final IRecipientCacheService recipientCacheService;
+
+    private final ObjectMapper objectMapper;
+
+    public UserChangeEventHandler(IRecipientCacheService recipientCacheService, ObjectMapper objectMapper) {
+        this.recipientCacheService = recipientCacheService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Kafka consumer method to receive User changes (e.g. user created / deleted / role updated) and invalidate cached recipients
+     * Each instance uses a unique consumer group so that every replica invalidates its local cache. Only changes published
+     * after the instance started are relevant, so the String factory (latest offset) is used instead of replaying the topic
+     *
+     * @param message: Serialized User change event - If organization is missing or unreadable all entries are invalidated
+     */
+    @KafkaListener(topics = "${notification.recipients.cache.invalidation-topic:user-changes}",
+            groupId = "${spring.kafka.consumer.group-id}-recipients-${random.uuid}",
+            containerFactory = "stringKafkaListenerContainerFactory",
+            autoStartup = "${notification.recipients.cache.invalidation-enabled:false}")
+    public void consume(String message) {
+        EventDto event = parseEvent(message);
+        if (event == null || event.organization() == null || event.organization().isBlank()) {
+            recipientCacheService.invalidateAll();
+            return;
+        }
+
+        log.debug("User change received for organization: {}", event.organization());
+        recipientCacheService.invalidateOrganization(OrganizationUtils.formatOrganization(event.organization()));
+    }
+
+    /*
+     * Helper method to deserialize a User change event - Returns null if the message is empty or malformed
+     */
+    private EventDto parseEvent(String message) {
+        if (message == null || message.isBlank())
+            return null;
+
+        try {
+            return objectMapper.readValue(message, EventDto.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Unable to parse User change event - Invalidating all cached recipients: {}", e.getMessage());
+            return null;
+        }
+    }
+}
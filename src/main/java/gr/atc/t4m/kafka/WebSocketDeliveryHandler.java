@@ -0,0 +1,77 @@
+package gr.atc.t4m.kafka;
+
+import gr.atc.t4m.dto.WebSocketDeliveryDto;
+import gr.atc.t4m.service.interfaces.IWebSocketFanOutService;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static gr.atc.t4m.service.WebSocketFanOutService.*;
+
+@Service
+@Slf4j
+public class WebSocketDeliveryHandler {
+
+    private final IWebSocketFanOutService webSocketFanOutService;
+
+    public WebSocketDeliveryHandler(IWebSocketFanOutService webSocketFanOutService) {
+        this.webSocketFanOutService = webSocketFanOutService;
+    }
+
+    /**
+     * Kafka consumer method to receive the WebSocket messages published by any replica and send them to the local clients
+     * Each instance uses a unique consumer group so that every replica receives all messages
+     *
+     * @param delivery: Record with the delivery attributes as headers and the serialized message as value
+     */
+    @KafkaListener(topics = "${notification.websocket.fan-out.topic:notification-deliveries}",
+            groupId = "${spring.kafka.consumer.group-id}-deliveries-${random.uuid}",
+            containerFactory = "byteArrayKafkaListenerContainerFactory",
+            autoStartup = "#{'${notification.websocket.broker:simple}'.equalsIgnoreCase('kafka')}")
+    public void consume(ConsumerRecord<String, byte[]> delivery) {
+        List<String> destinations = headers(delivery, HEADER_DESTINATION);
+        if (destinations.isEmpty() || delivery.value() == null) {
+            log.error("WebSocket delivery error - Missing destination or message. Delivery is discarded! Offset: {}", delivery.offset());
+            return;
+        }
+
+        webSocketFanOutService.deliver(WebSocketDeliveryDto.builder()
+                .id(header(delivery, HEADER_ID))
+                .origin(header(delivery, HEADER_ORIGIN))
+                .destinations(destinations)
+                .users(headers(delivery, HEADER_USER))
+                .contentType(header(delivery, HEADER_CONTENT_TYPE))
+                .sentAt(parseSentAt(header(delivery, HEADER_SENT_AT), delivery.timestamp()))
+                .perUser(Boolean.parseBoolean(header(delivery, HEADER_PER_USER)))
+                .payload(delivery.value())
+                .build());
+    }
+
+    private static String header(ConsumerRecord<String, byte[]> delivery, String name) {
+        Header header = delivery.headers().lastHeader(name);
+        return header == null ? null : new String(header.value(), StandardCharsets.UTF_8);
+    }
+
+    private static List<String> headers(ConsumerRecord<String, byte[]> delivery, String name) {
+        List<String> values = new ArrayList<>();
+        delivery.headers().headers(name).forEach(header -> values.add(new String(header.value(), StandardCharsets.UTF_8)));
+        return values;
+    }
+
+    /*
+     * Helper method to parse the publication time - Falls back to the record timestamp
+     */
+    private static long parseSentAt(String sentAt, long recordTimestamp) {
+        try {
+            return sentAt == null ? recordTimestamp : Long.parseLong(sentAt);
+        } catch (NumberFormatException e) {
+            return recordTimestamp;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package gr.atc.t4m.mapper;
+
+import gr.atc.t4m.dto.EventMappingDto;
+import gr.atc.t4m.dto.operations.EventMappingCreationDto;
+import gr.atc.t4m.model.EventMapping;
+
+import java.util.HashSet;
+
+/*
+ * Mapper between Event Mapping models and DTOs - User Roles are copied so DTOs never expose the persistent collection
+ */
+public class EventMappingMapper {
+
+    private EventMappingMapper() {}
+
+    /**
+     * Convert an Event Mapping to an EventMappingDto
+     *
+     * @param eventMapping : Event Mapping
+     * @return EventMappingDto
+     */
+    public static EventMappingDto toDto(EventMapping eventMapping) {
+        if (eventMapping == null)
+            return null;
+
+        EventMappingDto dto = new EventMappingDto();
+        dto.setId(eventMapping.getId());
+        dto.setTopic(eventMapping.getTopic());
+        dto.setDescription(eventMapping.getDescription());
+        dto.setUserRoles(eventMapping.getUserRoles() == null ? null : new HashSet<>(eventMapping.getUserRoles()));
+        return dto;
+    }
+
+    /**
+     * Convert an EventMappingCreationDto to a new (not persisted) Event Mapping
+     *
+     * @param eventMapping : EventMappingCreationDto
+     * @return EventMapping
+     */
+    public static EventMapping toEntity(EventMappingCreationDto eventMapping) {
+        if (eventMapping == null)
+            return null;
+
+        EventMapping entity = new EventMapping();
+        entity.setTopic(eventMapping.topic());
+        entity.setDescription(eventMapping.description());
+        entity.setUserRoles(eventMapping.userRoles() == null ? null : new HashSet<>(eventMapping.userRoles()));
+        return entity;
+    }
+}
@@ -0,0 +1,59 @@
+package gr.atc.t4m.mapper;
+
+import gr.atc.t4m.dto.NotificationDto;
+import gr.atc.t4m.model.Notification;
+import gr.atc.t4m.model.NotificationEvent;
+
+/*
+ * Mapper between Notification models and DTOs - Plain getters / setters so no reflection or intermediate objects are involved
+ */
+public class NotificationMapper {
+
+    private NotificationMapper() {}
+
+    /**
+     * Convert a Notification along with the content of its event to a NotificationDto
+     *
+     * @param notification : Notification
+     * @return NotificationDto
+     */
+    public static NotificationDto toDto(Notification notification) {
+        if (notification == null)
+            return null;
+
+        NotificationDto dto = new NotificationDto();
+        dto.setId(notification.getId());
+        dto.setUserId(notification.getUserId());
+        dto.setUser(notification.getUser());
+        dto.setNotificationStatus(notification.getNotificationStatus());
+        dto.setTimestamp(notification.getTimestamp());
+
+        NotificationEvent event = notification.getEvent();
+        if (event != null) {
+            dto.setSourceComponent(event.getSourceComponent());
+            dto.setType(event.getType());
+            dto.setDescription(event.getDescription());
+            dto.setPriority(event.getPriority());
+        }
+        return dto;
+    }
+
+    /**
+     * Convert the content of a NotificationDto to a new (not persisted) NotificationEvent
+     *
+     * @param notification : NotificationDto
+     * @return NotificationEvent
+     */
+    public static NotificationEvent toEvent(NotificationDto notification) {
+        if (notification == null)
+            return null;
+
+        NotificationEvent event = new NotificationEvent();
+        event.setSourceComponent(notification.getSourceComponent());
+        event.setType(notification.getType());
+        event.setDescription(notification.getDescription());
+        event.setTimestamp(notification.getTimestamp());
+        event.setPriority(notification.getPriority());
+        return event;
+    }
+}
@@ -0,0 +1,90 @@
+package gr.atc.t4m.migration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Migrates Notifications of the legacy denormalized 'notifications' table (one full copy per recipient)
+ * to the normalized 'notification_event' / 'notification_recipient' tables.
+ * Rows sharing the same content are merged into a single event, while Notification IDs are preserved.
+ * Unread counters of the migrated recipients are added in the same transaction, since counters are seeded only once by Flyway.
+ * The legacy table is renamed to 'notifications_legacy' afterward so the migration is executed only once.
+ */
+@Component
+@ConditionalOnProperty(name = "notification.migration.legacy.enabled", havingValue = "true")
+@Order(1)
+@Slf4j
+public class LegacyNotificationMigrator implements ApplicationRunner {
+
+    static final String LEGACY_TABLE_EXISTS = "SELECT to_regclass('notifications') IS NOT NULL";
+
+    static final String MIGRATE_NOTIFICATIONS = """
+            WITH legacy_events AS (
+                SELECT DISTINCT source_component, type, description, timestamp, priority
+                FROM notifications
+            ), events AS (
+                INSERT INTO notification_event (id, source_component, type, description, timestamp, priority)
+                SELECT nextval('notification_event_seq'), source_component, type, description, timestamp, priority
+                FROM legacy_events
+                RETURNING id, source_component, type, description, timestamp, priority
+            )
+            INSERT INTO notification_recipient (id, event_id, user_id, user_name, notification_status, timestamp)
+            SELECT n.id, e.id, n.user_id, n.user_name, n.notification_status, n.timestamp
+            FROM notifications n
+            JOIN events e ON e.source_component = n.source_component
+                AND e.type = n.type
+                AND e.timestamp = n.timestamp
+                AND e.description IS NOT DISTINCT FROM n.description
+                AND e.priority IS NOT DISTINCT FROM n.priority
+            """;
+
+    static final String ADD_LEGACY_UNREAD_COUNTS = """
+            INSERT INTO notification_unread_counter (user_id, unread_count)
+            SELECT user_id, count(*) FROM notifications WHERE notification_status = 'Unread' GROUP BY user_id
+            ON CONFLICT (user_id) DO UPDATE SET unread_count = notification_unread_counter.unread_count + EXCLUDED.unread_count
+            """;
+
+    static final String ARCHIVE_LEGACY_TABLE = "ALTER TABLE notifications RENAME TO notifications_legacy";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public LegacyNotificationMigrator(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        migrateLegacyNotifications();
+    }
+
+    /**
+     * Migrate legacy Notifications if the legacy table exists
+     *
+     * @return Number of migrated Notifications
+     */
+    public int migrateLegacyNotifications() {
+        if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(LEGACY_TABLE_EXISTS, Boolean.class))) {
+            log.debug("No legacy Notifications table found - Migration is skipped");
+            return 0;
+        }
+
+        Integer migrated = transactionTemplate.execute(status -> {
+            int rows = jdbcTemplate.update(MIGRATE_NOTIFICATIONS);
+            jdbcTemplate.update(ADD_LEGACY_UNREAD_COUNTS);
+            jdbcTemplate.execute(ARCHIVE_LEGACY_TABLE);
+            return rows;
+        });
+        log.info("Migrated {} legacy Notifications to the normalized schema", migrated);
+        return migrated == null ? 0 : migrated;
+    }
+}
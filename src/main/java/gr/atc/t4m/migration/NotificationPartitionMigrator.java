@@ -0,0 +1,128 @@
+package gr.atc.t4m.migration;
+
+import gr.atc.t4m.config.properties.PartitioningProperties;
+import gr.atc.t4m.service.interfaces.IPartitionService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.DatabasePopulatorUtils;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.Objects;
+
+/**
+ * Converts the 'notification_recipient' heap table to a table partitioned by month on 'timestamp'.
+ * Existing rows are copied to the monthly partitions and the inbox indexes migration is re-applied on the partitioned table.
+ * The whole conversion runs in a single transaction and is skipped when the table is already partitioned.
+ */
+@Component
+@ConditionalOnProperty(name = "notification.partitioning.enabled", havingValue = "true")
+@Order(2)
+@Slf4j
+public class NotificationPartitionMigrator implements ApplicationRunner {
+
+    static final String UNPARTITIONED_TABLE = "notification_recipient_unpartitioned";
+
+    private static final String INBOX_INDEXES = "db/migration/V2__create_inbox_indexes.sql";
+
+    private static final String TABLE_EXISTS = "SELECT to_regclass('notification_recipient') IS NOT NULL";
+
+    private static final String RENAME_TABLE = "ALTER TABLE notification_recipient RENAME TO " + UNPARTITIONED_TABLE;
+
+    // The partition key must be part of the primary key of a partitioned table - Constraint names differ from the ones of the heap table which still exists
+    private static final String CREATE_PARTITIONED_TABLE = """
+            CREATE TABLE notification_recipient (
+                id BIGINT NOT NULL,
+                event_id BIGINT NOT NULL,
+                user_id VARCHAR(50) NOT NULL,
+                user_name VARCHAR(50) NOT NULL,
+                notification_status VARCHAR(10) NOT NULL,
+                timestamp TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+                CONSTRAINT pk_notification_recipient_partitioned PRIMARY KEY (id, timestamp),
+                CONSTRAINT fk_notification_recipient_partitioned_event FOREIGN KEY (event_id) REFERENCES notification_event (id)
+            ) PARTITION BY RANGE (timestamp)
+            """;
+
+    private static final String OLDEST_TIMESTAMP = "SELECT min(timestamp) FROM " + UNPARTITIONED_TABLE;
+
+    private static final String COPY_NOTIFICATIONS = """
+            INSERT INTO notification_recipient (id, event_id, user_id, user_name, notification_status, timestamp)
+            SELECT id, event_id, user_id, user_name, notification_status, timestamp FROM\s""" + UNPARTITIONED_TABLE;
+
+    private static final String DROP_UNPARTITIONED_TABLE = "DROP TABLE " + UNPARTITIONED_TABLE;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final IPartitionService partitionService;
+
+    private final PartitioningProperties partitioningProperties;
+
+    private final Clock clock;
+
+    @Autowired
+    public NotificationPartitionMigrator(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                         IPartitionService partitionService, PartitioningProperties partitioningProperties) {
+        this(jdbcTemplate, transactionManager, partitionService, partitioningProperties, Clock.systemUTC());
+    }
+
+    NotificationPartitionMigrator(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                  IPartitionService partitionService, PartitioningProperties partitioningProperties, Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.partitionService = partitionService;
+        this.partitioningProperties = partitioningProperties;
+        this.clock = clock;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        migrateToPartitionedTable();
+    }
+
+    /**
+     * Convert the recipients table to a partitioned table if it is not partitioned yet
+     *
+     * @return Number of migrated Notifications
+     */
+    public int migrateToPartitionedTable() {
+        if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(TABLE_EXISTS, Boolean.class)) || partitionService.isPartitioned()) {
+            log.debug("Notifications table is missing or already partitioned - Migration is skipped");
+            return 0;
+        }
+
+        Integer migrated = transactionTemplate.execute(status -> {
+            jdbcTemplate.execute(RENAME_TABLE);
+            jdbcTemplate.execute(CREATE_PARTITIONED_TABLE);
+
+            YearMonth currentMonth = YearMonth.now(clock);
+            OffsetDateTime oldest = jdbcTemplate.queryForObject(OLDEST_TIMESTAMP, OffsetDateTime.class);
+            YearMonth firstMonth = oldest == null ? currentMonth : YearMonth.from(oldest.withOffsetSameInstant(ZoneOffset.UTC));
+            partitionService.createPartitions(firstMonth.isAfter(currentMonth) ? currentMonth : firstMonth,
+                    currentMonth.plusMonths(partitioningProperties.premakeMonths()));
+
+            int rows = jdbcTemplate.update(COPY_NOTIFICATIONS);
+            jdbcTemplate.execute(DROP_UNPARTITIONED_TABLE);
+
+            // Indexes created on the parent table are propagated to all current and future partitions
+            DatabasePopulatorUtils.execute(new ResourceDatabasePopulator(new ClassPathResource(INBOX_INDEXES)),
+                    Objects.requireNonNull(jdbcTemplate.getDataSource()));
+            return rows;
+        });
+        log.info("Migrated {} Notifications to the partitioned table", migrated);
+        return migrated == null ? 0 : migrated;
+    }
+}
@@ -6,19 +6,33 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
+/**
+ * Delivery of a Notification to a single recipient - Content is stored once in the referenced NotificationEvent
+ */
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
-@Entity(name = "notifications")
+@Entity(name = "notification_recipient")
 public class Notification {
 
+    // Ids are allocated in blocks of 50 (pooled-lo optimizer) so batched inserts do not fetch the sequence for every row
+    // The sequence of the legacy 'notifications' table is reused so existing Notification IDs remain valid
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notifications_seq")
+    @SequenceGenerator(name = "notifications_seq", sequenceName = "notifications_seq", allocationSize = 50)
     private Long id;
 
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @ManyToOne(fetch = FetchType.LAZY, optional = false, cascade = CascadeType.PERSIST)
+    @JoinColumn(name = "event_id", nullable = false)
+    private NotificationEvent event;
+
     @Column(name="user_id", length=50, nullable=false)
     private String userId;
 
@@ -28,18 +42,7 @@ public class Notification {
     @Column(name="notification_status", length=10, nullable=false)
     private String notificationStatus;
 
-    @Column(name="source_component", length=30, nullable=false)
-    private String sourceComponent;
-
-    @Column(name="type", length=30, nullable=false)
-    private String type;
-
-    @Column(name = "description", length=200)
-    private String description;
-
+    // Copy of the event's timestamp so per-user queries can be sorted without joining the event
     @Column(name = "timestamp", nullable=false)
     private OffsetDateTime timestamp;
-
-    @Column(name = "priority", length=10)
-    private String priority;
 }
@@ -0,0 +1,40 @@
+package gr.atc.t4m.model;
+
+import java.time.OffsetDateTime;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Content of a Notification - Stored once per event and shared among all its recipients
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity(name = "notification_event")
+public class NotificationEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notification_event_seq")
+    @SequenceGenerator(name = "notification_event_seq", sequenceName = "notification_event_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name="source_component", length=30, nullable=false)
+    private String sourceComponent;
+
+    @Column(name="type", length=30, nullable=false)
+    private String type;
+
+    @Column(name = "description", length=200)
+    private String description;
+
+    @Column(name = "timestamp", nullable=false)
+    private OffsetDateTime timestamp;
+
+    @Column(name = "priority", length=10)
+    private String priority;
+}
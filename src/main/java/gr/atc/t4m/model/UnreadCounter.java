@@ -0,0 +1,25 @@
+package gr.atc.t4m.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Number of Unread Notifications per user - Maintained incrementally along with the Notifications
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity(name = "notification_unread_counter")
+public class UnreadCounter {
+
+    @Id
+    @Column(name="user_id", length=50, nullable=false)
+    private String userId;
+
+    @Column(name="unread_count", nullable=false)
+    private long unreadCount;
+}
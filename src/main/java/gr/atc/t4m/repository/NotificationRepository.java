@@ -1,11 +1,74 @@
 package gr.atc.t4m.repository;
 
 import gr.atc.t4m.model.Notification;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.Optional;
+
+// Conditions on 'timestamp' must compare the plain column (no functions or casts) so they remain prunable when the table is partitioned by month
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
+    @EntityGraph(attributePaths = "event")
+    Optional<Notification> findById(Long id);
+
+    @EntityGraph(attributePaths = "event")
     Page<Notification> findByUserId(String userId, Pageable pageable);
+
+    @EntityGraph(attributePaths = "event")
     Page<Notification> findByUserIdAndNotificationStatus(String userId, String notificationStatus, Pageable pageable);
+
+    // Keyset pagination - Order matches the inbox indexes (user_id, timestamp DESC, id DESC)
+    @EntityGraph(attributePaths = "event")
+    Window<Notification> findByUserIdOrderByTimestampDescIdDesc(String userId, ScrollPosition position, Limit limit);
+
+    @EntityGraph(attributePaths = "event")
+    Window<Notification> findByUserIdAndNotificationStatusOrderByTimestampDescIdDesc(String userId, String notificationStatus, ScrollPosition position, Limit limit);
+
+    long countByUserId(String userId);
+
+    // Single notification operations - Conditional on the current status so that the unread counter changes only once per notification
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE notification_recipient n SET n.notificationStatus = :status WHERE n.id = :id AND n.userId = :userId AND n.notificationStatus = :currentStatus")
+    int updateStatusByIdAndUserIdAndStatus(@Param("id") Long id, @Param("userId") String userId, @Param("currentStatus") String currentStatus, @Param("status") String status);
+
+    // Not marked as @Modifying since the deleted row is returned as a result set - Read-write transaction required explicitly
+    @Transactional
+    @Query(value = "DELETE FROM notification_recipient WHERE id = :id AND user_id = :userId RETURNING notification_status", nativeQuery = true)
+    Optional<String> deleteByIdAndUserIdReturningStatus(@Param("id") Long id, @Param("userId") String userId);
+
+    // Bulk operations - Always scoped to the inbox of the user
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE notification_recipient n SET n.notificationStatus = :status WHERE n.userId = :userId AND n.notificationStatus <> :status")
+    int updateStatusByUserId(@Param("userId") String userId, @Param("status") String status);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE notification_recipient n SET n.notificationStatus = :status WHERE n.userId = :userId AND n.notificationStatus <> :status AND n.id IN :ids")
+    int updateStatusByUserIdAndIdIn(@Param("userId") String userId, @Param("status") String status, @Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE notification_recipient n SET n.notificationStatus = :status WHERE n.userId = :userId AND n.notificationStatus <> :status AND n.timestamp < :before")
+    int updateStatusByUserIdAndTimestampBefore(@Param("userId") String userId, @Param("status") String status, @Param("before") OffsetDateTime before);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM notification_recipient n WHERE n.userId = :userId")
+    int deleteAllByUserId(@Param("userId") String userId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM notification_recipient n WHERE n.userId = :userId AND n.id IN :ids")
+    int deleteAllByUserIdAndIdIn(@Param("userId") String userId, @Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM notification_recipient n WHERE n.userId = :userId AND n.timestamp < :before")
+    int deleteAllByUserIdAndTimestampBefore(@Param("userId") String userId, @Param("before") OffsetDateTime before);
 }
@@ -0,0 +1,7 @@
+package gr.atc.t4m.repository;
+
+import gr.atc.t4m.model.UnreadCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface UnreadCounterRepository extends JpaRepository<UnreadCounter, String> {
+}
@@ -0,0 +1,67 @@
+package gr.atc.t4m.security;
+
+import gr.atc.t4m.utils.JwtUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.NonNull;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.stereotype.Component;
+
+/*
+ * Authenticates STOMP sessions with the JWT of the 'Authorization' header of the CONNECT frame. The Principal of the
+ * session is named after the User ID, so that '/user/queue/...' destinations of a User ID reach exactly its sessions.
+ * Connections without a token remain anonymous and receive only broadcast destinations, while invalid tokens are rejected.
+ */
+@Component
+@Slf4j
+public class JwtChannelInterceptor implements ChannelInterceptor {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtDecoder jwtDecoder;
+
+    private final JwtAuthConverter jwtAuthConverter;
+
+    public JwtChannelInterceptor(JwtDecoder jwtDecoder, JwtAuthConverter jwtAuthConverter) {
+        this.jwtDecoder = jwtDecoder;
+        this.jwtAuthConverter = jwtAuthConverter;
+    }
+
+    @Override
+    public Message<?> preSend(@NonNull Message<?> message, @NonNull MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || !StompCommand.CONNECT.equals(accessor.getCommand()))
+            return message;
+
+        String authorization = accessor.getFirstNativeHeader(HttpHeaders.AUTHORIZATION);
+        if (authorization == null || !authorization.startsWith(BEARER_PREFIX)) {
+            log.debug("STOMP session {} connected without token", accessor.getSessionId());
+            return message;
+        }
+
+        try {
+            Jwt jwt = jwtDecoder.decode(authorization.substring(BEARER_PREFIX.length()));
+            String userId = JwtUtils.extractUserId(jwt);
+            if (userId == null)
+                throw new BadCredentialsException("JWT token does not contain a User ID");
+
+            AbstractAuthenticationToken authentication = jwtAuthConverter.convert(jwt);
+            accessor.setUser(new JwtAuthenticationToken(jwt, authentication.getAuthorities(), userId));
+            return message;
+        } catch (JwtException e) {
+            log.warn("STOMP session {} rejected - Invalid JWT token: {}", accessor.getSessionId(), e.getMessage());
+            throw new BadCredentialsException("Invalid JWT token", e);
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package gr.atc.t4m.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.*;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+ * Caches the Component's JWT Token (Client credentials) until shortly before it expires.
+ * Concurrent callers never trigger duplicate token requests and the token is refreshed in the background before expiration.
+ */
+@Component
+@Slf4j
+public class KeycloakTokenManager {
+
+    private static final String TOKEN = "access_token";
+    private static final String EXPIRES_IN = "expires_in";
+    private static final String METRIC_CACHE = "keycloak.token.cache";
+    private static final String METRIC_REFRESH = "keycloak.token.refresh";
+
+    private final RestTemplate restTemplate;
+
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    private final Clock clock;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Counter hitCounter;
+
+    private final Counter missCounter;
+
+    private volatile CachedToken cachedToken;
+
+    @Value("${keycloak.token-uri}")
+    private String tokenUri;
+
+    @Value("${keycloak.client}")
+    private String client;
+
+    @Value("${keycloak.client.secret}")
+    private String clientSecret;
+
+    // Token is considered expired this long before its actual expiration
+    @Value("${keycloak.token.expiry-skew:PT10S}")
+    private Duration expirySkew = Duration.ofSeconds(10);
+
+    // Token is refreshed in the background this long before its actual expiration
+    @Value("${keycloak.token.refresh-ahead:PT60S}")
+    private Duration refreshAhead = Duration.ofSeconds(60);
+
+    @Autowired
+    public KeycloakTokenManager(RestTemplate restTemplate, MeterRegistry meterRegistry) {
+        this(restTemplate, meterRegistry, Clock.systemUTC());
+    }
+
+    KeycloakTokenManager(RestTemplate restTemplate, MeterRegistry meterRegistry, Clock clock) {
+        this.restTemplate = restTemplate;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+        this.hitCounter = Counter.builder(METRIC_CACHE)
+                .description("Component JWT Token cache lookups")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder(METRIC_CACHE)
+                .description("Component JWT Token cache lookups")
+                .tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Retrieve a valid JWT Token to access Keycloak resources - Requested from Keycloak only if the cached one is missing or expired
+     *
+     * @return Token or null if it can not be retrieved
+     */
+    public String getAccessToken() {
+        CachedToken token = cachedToken;
+        if (isValid(token)) {
+            hitCounter.increment();
+            return token.value();
+        }
+
+        missCounter.increment();
+        refreshLock.lock();
+        try {
+            // Another caller may have refreshed the token while waiting for the lock
+            token = cachedToken;
+            if (isValid(token))
+                return token.value();
+
+            return refreshToken();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * Refresh proactively the cached token when it is close to expiration
+     */
+    @Scheduled(fixedDelayString = "${keycloak.token.refresh-check-interval:PT10S}")
+    public void refreshIfExpiring() {
+        CachedToken token = cachedToken;
+        if (token == null || clock.instant().isBefore(token.expiresAt().minus(refreshAhead)))
+            return;
+
+        // Skip if a refresh is already in progress
+        if (!refreshLock.tryLock())
+            return;
+        try {
+            log.debug("Component JWT Token is about to expire - Refreshing");
+            refreshToken();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * Invalidate the cached token (e.g. after a 401 response) only if it is still the rejected one
+     * Concurrent callers rejected with the same token must not discard a token that has already been refreshed
+     *
+     * @param rejectedToken : Token rejected by the remote service
+     */
+    public void invalidate(String rejectedToken) {
+        refreshLock.lock();
+        try {
+            CachedToken token = cachedToken;
+            if (token != null && token.value().equals(rejectedToken))
+                cachedToken = null;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /*
+     * Helper method to request a new Token from Keycloak and cache it - Should be called holding the refresh lock
+     */
+    private String refreshToken() {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
+        try {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
+
+            MultiValueMap<String, String> map = new LinkedMultiValueMap<>();
+            map.add("client_id", client);
+            map.add("client_secret", clientSecret);
+            map.add("grant_type", "client_credentials");
+
+            HttpEntity<MultiValueMap<String, String>> entity = new HttpEntity<>(map, headers);
+            ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
+                    tokenUri,
+                    HttpMethod.POST,
+                    entity,
+                    new ParameterizedTypeReference<>() {
+                    }
+            );
+
+            Optional<Map<String, Object>> body = Optional.of(response)
+                    .filter(resp -> resp.getStatusCode().is2xxSuccessful())
+                    .map(ResponseEntity::getBody)
+                    .filter(b -> b.get(TOKEN) != null);
+            if (body.isEmpty())
+                return null;
+
+            String token = body.get().get(TOKEN).toString();
+            cachedToken = new CachedToken(token, clock.instant().plusSeconds(parseExpiresIn(body.get().get(EXPIRES_IN))));
+            outcome = "success";
+            return token;
+        } catch (RestClientException e) {
+            log.error("Rest Client error during authenticating the client: Error: {}", e.getMessage());
+            return null;
+        } finally {
+            sample.stop(Timer.builder(METRIC_REFRESH)
+                    .description("Latency of Component JWT Token requests to Keycloak")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    /*
+     * Helper method to parse the 'expires_in' attribute (seconds). Tokens without it are not reused
+     */
+    private long parseExpiresIn(Object expiresIn) {
+        if (expiresIn instanceof Number number)
+            return number.longValue();
+        try {
+            return expiresIn == null ? 0 : Long.parseLong(expiresIn.toString());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private boolean isValid(CachedToken token) {
+        return token != null && clock.instant().isBefore(token.expiresAt().minus(expirySkew));
+    }
+
+    private record CachedToken(String value, Instant expiresAt) { }
+}
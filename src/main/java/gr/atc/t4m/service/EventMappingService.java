@@ -1,20 +1,26 @@
 package gr.atc.t4m.service;
 
+import gr.atc.t4m.config.properties.EventMappingCacheProperties;
 import gr.atc.t4m.dto.EventMappingDto;
 import gr.atc.t4m.dto.operations.EventMappingCreationDto;
+import gr.atc.t4m.mapper.EventMappingMapper;
 import gr.atc.t4m.model.EventMapping;
 import gr.atc.t4m.repository.EventMappingRepository;
 import gr.atc.t4m.service.interfaces.IEventMappingService;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.MappingException;
-import org.modelmapper.ModelMapper;
+import org.springframework.dao.DataAccessException;
+import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import static gr.atc.t4m.exception.CustomExceptions.*;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
@@ -22,49 +28,58 @@ public class EventMappingService implements IEventMappingService {
 
     private final EventMappingRepository eventMappingRepository;
 
-    private final ModelMapper modelMapper;
+    private final KafkaTemplate<String, String> kafkaTemplate;
 
-    private static final String MAPPING_EXCEPTION = "Unable to convert Event Mapping model to DTO or vice versa";
+    private final EventMappingCacheProperties cacheProperties;
+
+    // Copy-on-write cache of the User Roles per topic - Readers never lock, writers replace the whole immutable map
+    private volatile Map<String, Set<String>> userRolesPerTopic = Map.of();
 
     private static final String GLOBAL_ROLES = "ALL";
 
-    public EventMappingService(EventMappingRepository eventMappingRepository, ModelMapper modelMapper) {
+    public EventMappingService(EventMappingRepository eventMappingRepository, KafkaTemplate<String, String> kafkaTemplate,
+                               EventMappingCacheProperties cacheProperties) {
         this.eventMappingRepository = eventMappingRepository;
-        this.modelMapper = modelMapper;
+        this.kafkaTemplate = kafkaTemplate;
+        this.cacheProperties = cacheProperties;
+    }
+
+    /**
+     * Preload the User Roles of all Event Mappings - On failure topics are loaded on their first event
+     */
+    @PostConstruct
+    void preloadEventMappings() {
+        try {
+            refreshEventMappingsCache();
+        } catch (DataAccessException e) {
+            log.warn("Unable to preload Event Mappings - Error: {}", e.getMessage());
+        }
     }
 
     /**
      * Create a new Event Mapping
      *
      * @param eventMapping : EventMappingDto
-     * @throws MappingException : if mapping fails
+     * @throws ResourceAlreadyExists : if a mapping for the topic already exists
      */
     @Override
     public void storeEventMapping(EventMappingCreationDto eventMapping) {
-        try {
-            Optional<EventMapping> existingEventMapping = eventMappingRepository.findByTopic(eventMapping.topic());
-            if (existingEventMapping.isPresent())
-                throw new ResourceAlreadyExists("Event Mapping with topic " + eventMapping.topic() + " already exists");
+        Optional<EventMapping> existingEventMapping = eventMappingRepository.findByTopic(eventMapping.topic());
+        if (existingEventMapping.isPresent())
+            throw new ResourceAlreadyExists("Event Mapping with topic " + eventMapping.topic() + " already exists");
 
-            eventMappingRepository.save(modelMapper.map(eventMapping, EventMapping.class));
-        } catch (MappingException e){
-            throw new ModelMappingException(MAPPING_EXCEPTION);
-        }
+        eventMappingRepository.save(EventMappingMapper.toEntity(eventMapping));
+        onEventMappingsChanged(eventMapping.topic());
     }
 
     /**
      * Return a list of all Event Mappings
      *
-     * @throws MappingException : if mapping fails
      * @return List<EventMappingDto>
      */
     @Override
     public List<EventMappingDto> retrieveAllEventMappings() {
-        try{
-            return eventMappingRepository.findAll().stream().map(mapping -> modelMapper.map(mapping, EventMappingDto.class)).toList();
-        } catch (MappingException e){
-            throw new ModelMappingException(MAPPING_EXCEPTION);
-        }
+        return eventMappingRepository.findAll().stream().map(EventMappingMapper::toDto).toList();
     }
 
     /**
@@ -75,15 +90,38 @@ public class EventMappingService implements IEventMappingService {
      */
     @Override
     public EventMappingDto retrieveEventMappingByTopic(String topic) {
-        try {
-            Optional<EventMapping> eventMapping = eventMappingRepository.findByTopic(topic);
-            if (eventMapping.isEmpty())
-                throw new ResourceNotFoundException("Event Mapping with topic " + topic + " not found");
+        return eventMappingRepository.findByTopic(topic)
+                .map(EventMappingMapper::toDto)
+                .orElseThrow(() -> new ResourceNotFoundException("Event Mapping with topic " + topic + " not found"));
+    }
 
-            return modelMapper.map(eventMapping,EventMappingDto.class);
-        } catch (MappingException e){
-            throw new ModelMappingException(MAPPING_EXCEPTION);
-        }
+    /**
+     * Return the User Roles mapped to a topic from the in-memory cache - The database is queried only for unknown topics
+     *
+     * @param topic : Topic Name
+     * @throws ResourceNotFoundException : if mapping not found
+     * @return Set<String>
+     */
+    @Override
+    public Set<String> retrieveUserRolesByTopic(String topic) {
+        Set<String> userRoles = userRolesPerTopic.get(topic);
+        if (userRoles != null)
+            return userRoles;
+
+        // Mapping created after the last refresh (e.g. by another instance before its invalidation was received)
+        EventMapping eventMapping = eventMappingRepository.findByTopic(topic)
+                .orElseThrow(() -> new ResourceNotFoundException("Event Mapping with topic " + topic + " not found"));
+        return cacheUserRoles(eventMapping);
+    }
+
+    /**
+     * Reload the User Roles of all Event Mappings in the in-memory cache
+     */
+    @Override
+    public synchronized void refreshEventMappingsCache() {
+        userRolesPerTopic = eventMappingRepository.findAll().stream()
+                .collect(Collectors.toUnmodifiableMap(EventMapping::getTopic, EventMappingService::copyUserRoles));
+        log.debug("Event Mappings cache refreshed with {} topics", userRolesPerTopic.size());
     }
 
     /**
@@ -98,6 +136,7 @@ public class EventMappingService implements IEventMappingService {
             throw new ResourceNotFoundException("Event Mapping with id " + mappingId + " not found");
         }
         eventMappingRepository.deleteById(mappingId);
+        onEventMappingsChanged(null);
     }
 
     /**
@@ -123,6 +162,7 @@ public class EventMappingService implements IEventMappingService {
             eventMappingToUpdate.setUserRoles(eventMapping.getUserRoles());
 
         eventMappingRepository.save(eventMappingToUpdate);
+        onEventMappingsChanged(eventMappingToUpdate.getTopic());
     }
 
     @Override
@@ -143,4 +183,34 @@ public class EventMappingService implements IEventMappingService {
             log.error("Error creating default mapping for topic {}: {}", topic, e.getMessage(), e);
         }
     }
+
+    /*
+     * Helper method to add the User Roles of a single Event Mapping to the cache
+     */
+    private synchronized Set<String> cacheUserRoles(EventMapping eventMapping) {
+        Set<String> userRoles = copyUserRoles(eventMapping);
+        Map<String, Set<String>> updatedUserRolesPerTopic = new HashMap<>(userRolesPerTopic);
+        updatedUserRolesPerTopic.put(eventMapping.getTopic(), userRoles);
+        userRolesPerTopic = Map.copyOf(updatedUserRolesPerTopic);
+        return userRoles;
+    }
+
+    /*
+     * Helper method to refresh the local cache and notify the other instances that Event Mappings have changed
+     */
+    private void onEventMappingsChanged(String topic) {
+        refreshEventMappingsCache();
+        if (!cacheProperties.invalidationEnabled())
+            return;
+
+        kafkaTemplate.send(cacheProperties.invalidationTopic(), topic == null ? "" : topic)
+                .whenComplete((result, ex) -> {
+                    if (ex != null)
+                        log.error("Unable to publish Event Mappings invalidation - Error: {}", ex.getMessage());
+                });
+    }
+
+    private static Set<String> copyUserRoles(EventMapping eventMapping) {
+        return eventMapping.getUserRoles() == null ? Set.of() : Set.copyOf(eventMapping.getUserRoles());
+    }
 }
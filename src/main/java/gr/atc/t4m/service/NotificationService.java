@@ -1,33 +1,44 @@
 package gr.atc.t4m.service;
 
 import gr.atc.t4m.dto.NotificationDto;
+import gr.atc.t4m.dto.NotificationRecipientsDto;
 import gr.atc.t4m.dto.UserDto;
 import gr.atc.t4m.dto.UserManagerResponse;
 import gr.atc.t4m.enums.NotificationStatus;
+import gr.atc.t4m.mapper.NotificationMapper;
 import gr.atc.t4m.model.Notification;
+import gr.atc.t4m.model.NotificationEvent;
 import gr.atc.t4m.repository.NotificationRepository;
+import gr.atc.t4m.security.KeycloakTokenManager;
 import gr.atc.t4m.service.interfaces.INotificationService;
+import gr.atc.t4m.service.interfaces.IRecipientCacheService;
+import gr.atc.t4m.service.interfaces.IUnreadCounterService;
+import jakarta.validation.ValidationException;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.MappingException;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.*;
 import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
-import org.springframework.util.LinkedMultiValueMap;
-import org.springframework.util.MultiValueMap;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
 import static gr.atc.t4m.exception.CustomExceptions.*;
 
+import java.time.Duration;
+import java.time.OffsetDateTime;
 import java.util.*;
+import java.util.concurrent.*;
 
 @Service
 @Slf4j
@@ -35,30 +46,34 @@ public class NotificationService implements INotificationService {
 
     private final NotificationRepository notificationRepository;
 
-    private final ModelMapper modelMapper;
+    private final RestTemplate restTemplate;
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final KeycloakTokenManager tokenManager;
 
-    @Value("${keycloak.token-uri}")
-    private String tokenUri;
+    private final IRecipientCacheService recipientCacheService;
+
+    private final IUnreadCounterService unreadCounterService;
 
     @Value("${user.manager.component.url}")
     private String userManagerUrl;
 
-    @Value("${keycloak.client}")
-    private String client;
-
-    @Value("${keycloak.client.secret}")
-    private String clientSecret;
+    // Overall deadline for retrieving the Users of all requested roles
+    @Value("${user.manager.roles.request-deadline:10s}")
+    private Duration userRolesRequestDeadline = Duration.ofSeconds(10);
 
-    private static final String MAPPING_EXCEPTION = "Unable to convert Notification model to DTO";
     private static final String SUPER_ADMIN_ROLE = "SUPER_ADMIN";
-    private static final String TOKEN = "access_token";
+    private static final String GLOBAL_USER_ROLES = "ALL";
+    private static final Set<String> EVENT_ATTRIBUTES = Set.of("sourceComponent", "type", "description", "priority");
     private static final String JWT_ERROR = "Unable to retrieve Component's JWT Token - Client credentials";
 
-    public NotificationService(NotificationRepository notificationRepository, ModelMapper modelMapper) {
+    public NotificationService(NotificationRepository notificationRepository, RestTemplate restTemplate,
+                               KeycloakTokenManager tokenManager, IRecipientCacheService recipientCacheService,
+                               IUnreadCounterService unreadCounterService) {
         this.notificationRepository = notificationRepository;
-        this.modelMapper = modelMapper;
+        this.restTemplate = restTemplate;
+        this.tokenManager = tokenManager;
+        this.recipientCacheService = recipientCacheService;
+        this.unreadCounterService = unreadCounterService;
     }
 
     /**
@@ -69,10 +84,14 @@ public class NotificationService implements INotificationService {
      * @throws ForbiddenAccessException : if the user is not allowed to delete this notification
      */
     @Override
+    @Transactional
     public void deleteNotificationById(Long notificationId, String userId) {
-        validateAndGetNotification(notificationId, userId);
+        Notification notification = validateAndGetNotification(notificationId, userId);
 
-        notificationRepository.deleteById(notificationId);
+        // The status is taken from the deleted row itself, so concurrent requests cannot decrement the counter twice
+        notificationRepository.deleteByIdAndUserIdReturningStatus(notificationId, notification.getUserId())
+                .filter(NotificationStatus.UNREAD.toString()::equals)
+                .ifPresent(status -> unreadCounterService.decrementUnreadCount(notification.getUserId()));
     }
 
     /**
@@ -83,11 +102,84 @@ public class NotificationService implements INotificationService {
      * @throws ForbiddenAccessException : if the user is not allowed to update this notification
      */
     @Override
+    @Transactional
     public void updateNotificationStatusToRead(Long notificationId, String userId) {
         Notification notification = validateAndGetNotification(notificationId, userId);
 
-        notification.setNotificationStatus(NotificationStatus.READ.toString());
-        notificationRepository.save(notification);
+        // Only the request that actually changes the status from 'UNREAD' decrements the counter
+        int updated = notificationRepository.updateStatusByIdAndUserIdAndStatus(notificationId, notification.getUserId(),
+                NotificationStatus.UNREAD.toString(), NotificationStatus.READ.toString());
+        if (updated == 1)
+            unreadCounterService.decrementUnreadCount(notification.getUserId());
+    }
+
+    /**
+     * Update the status of multiple Notifications of a User to 'READ' with a single statement
+     * Notifications are selected by ID, by timestamp or all of them only if explicitly requested
+     *
+     * @param userId : User ID
+     * @param notificationIds : IDs of the notifications to be updated (Optional)
+     * @param before : Notifications created before this timestamp are updated (Optional)
+     * @param all : Whether all notifications of the user are updated
+     * @return Number of updated notifications
+     * @throws ValidationException : if none or more than one of the selection criteria are provided
+     */
+    @Override
+    @Transactional
+    public int updateNotificationsStatusToRead(String userId, List<Long> notificationIds, OffsetDateTime before, boolean all) {
+        String status = NotificationStatus.READ.toString();
+        int updated;
+        if (isBulkSelectionByIds(notificationIds, before, all))
+            updated = notificationRepository.updateStatusByUserIdAndIdIn(userId, status, notificationIds);
+        else if (before != null)
+            updated = notificationRepository.updateStatusByUserIdAndTimestampBefore(userId, status, before);
+        else
+            updated = notificationRepository.updateStatusByUserId(userId, status);
+
+        if (updated > 0)
+            unreadCounterService.reconcileUnreadCount(userId);
+        return updated;
+    }
+
+    /**
+     * Delete multiple Notifications of a User with a single statement
+     * Notifications are selected by ID, by timestamp or all of them only if explicitly requested
+     *
+     * @param userId : User ID
+     * @param notificationIds : IDs of the notifications to be deleted (Optional)
+     * @param before : Notifications created before this timestamp are deleted (Optional)
+     * @param all : Whether all notifications of the user are deleted
+     * @return Number of deleted notifications
+     * @throws ValidationException : if none or more than one of the selection criteria are provided
+     */
+    @Override
+    @Transactional
+    public int deleteNotifications(String userId, List<Long> notificationIds, OffsetDateTime before, boolean all) {
+        int deleted;
+        if (isBulkSelectionByIds(notificationIds, before, all))
+            deleted = notificationRepository.deleteAllByUserIdAndIdIn(userId, notificationIds);
+        else if (before != null)
+            deleted = notificationRepository.deleteAllByUserIdAndTimestampBefore(userId, before);
+        else
+            deleted = notificationRepository.deleteAllByUserId(userId);
+
+        if (deleted > 0)
+            unreadCounterService.reconcileUnreadCount(userId);
+        return deleted;
+    }
+
+    /*
+     * Helper method to validate the selection criteria of bulk operations - Returns whether Notifications are selected by ID
+     * Exactly one criterion is required, so that missing or empty IDs never select the whole inbox of the User
+     */
+    private boolean isBulkSelectionByIds(List<Long> notificationIds, OffsetDateTime before, boolean all) {
+        boolean hasIds = notificationIds != null && !notificationIds.isEmpty();
+        int criteria = (hasIds ? 1 : 0) + (before != null ? 1 : 0) + (all ? 1 : 0);
+        if (criteria == 0)
+            throw new ValidationException("Notifications must be selected by IDs, by timestamp or explicitly with 'all=true'");
+        if (criteria > 1)
+            throw new ValidationException("Notifications can be selected either by IDs, by timestamp or all of them");
+        return hasIds;
     }
 
     /**
@@ -99,7 +191,7 @@ public class NotificationService implements INotificationService {
      */
     @Override
     public Page<NotificationDto> retrieveAllNotificationsPerUserId(String userId, Pageable pageable) {
-        Page<Notification> notifications = notificationRepository.findByUserId(userId, pageable);
+        Page<Notification> notifications = notificationRepository.findByUserId(userId, resolveSortAttributes(pageable));
 
         List<NotificationDto> notificationDtos = convertPageOfNotificationsToListOfDto(notifications);
 
@@ -116,7 +208,7 @@ public class NotificationService implements INotificationService {
      */
     @Override
     public Page<NotificationDto> retrieveUnreadNotificationsPerUserId(String userId, Pageable pageable) {
-        Page<Notification> notifications = notificationRepository.findByUserIdAndNotificationStatus(userId, NotificationStatus.UNREAD.toString(), pageable);
+        Page<Notification> notifications = notificationRepository.findByUserIdAndNotificationStatus(userId, NotificationStatus.UNREAD.toString(), resolveSortAttributes(pageable));
 
         List<NotificationDto> notificationDtos = convertPageOfNotificationsToListOfDto(notifications);
 
@@ -124,13 +216,63 @@ public class NotificationService implements INotificationService {
 
     }
 
+    /**
+     * Retrieve Notifications for a specific User ID after a keyset position (newest first)
+     *
+     * @param userId   : User ID
+     * @param position : keyset position of the last Notification retrieved
+     * @param limit    : maximum number of Notifications
+     * @return Window<NotificationDto> : Window of notifications
+     */
+    @Override
+    public Window<NotificationDto> retrieveAllNotificationsPerUserId(String userId, ScrollPosition position, int limit) {
+        return notificationRepository.findByUserIdOrderByTimestampDescIdDesc(userId, position, Limit.of(limit))
+                .map(NotificationMapper::toDto);
+    }
+
+    /**
+     * Retrieve Unread Notifications for a specific User ID after a keyset position (newest first)
+     *
+     * @param userId   : User ID
+     * @param position : keyset position of the last Notification retrieved
+     * @param limit    : maximum number of Notifications
+     * @return Window<NotificationDto> : Window of notifications
+     */
+    @Override
+    public Window<NotificationDto> retrieveUnreadNotificationsPerUserId(String userId, ScrollPosition position, int limit) {
+        return notificationRepository.findByUserIdAndNotificationStatusOrderByTimestampDescIdDesc(userId, NotificationStatus.UNREAD.toString(), position, Limit.of(limit))
+                .map(NotificationMapper::toDto);
+    }
+
+    /**
+     * Count all Notifications for a specific User ID
+     *
+     * @param userId : User ID
+     * @return Number of notifications
+     */
+    @Override
+    public long countAllNotificationsPerUserId(String userId) {
+        return notificationRepository.countByUserId(userId);
+    }
+
+    /**
+     * Count Unread Notifications for a specific User ID - Served by the incrementally maintained counter
+     *
+     * @param userId : User ID
+     * @return Number of unread notifications
+     */
+    @Override
+    public long countUnreadNotificationsPerUserId(String userId) {
+        return unreadCounterService.retrieveUnreadCount(userId);
+    }
+
     /*
      * Helper method to convert a Page of Notifications to a List of NotificationDtos
      */
     List<NotificationDto> convertPageOfNotificationsToListOfDto(Page<Notification> notifications){
         return notifications.getContent()
                 .stream()
-                .map(notification -> modelMapper.map(notification, NotificationDto.class))
+                .map(NotificationMapper::toDto)
                 .toList();
     }
 
@@ -145,13 +287,7 @@ public class NotificationService implements INotificationService {
     @Override
     public NotificationDto retrieveNotificationById(Long notificationId, String userId) {
         Notification notification = validateAndGetNotification(notificationId, userId);
-
-        try {
-            return modelMapper.map(notification, NotificationDto.class);
-        } catch (MappingException e) {
-            log.error(MAPPING_EXCEPTION + " for notification: {}", notificationId);
-            throw new ModelMappingException(MAPPING_EXCEPTION);
-        }
+        return NotificationMapper.toDto(notification);
     }
 
     /**
@@ -161,29 +297,82 @@ public class NotificationService implements INotificationService {
      * @param notification : Notification to be created
      */
     @Override
+    @Transactional
     public void createNotificationsForEachUser(List<UserDto> users, NotificationDto notification) {
-        try {
-            List<Notification> notificationToSave = new ArrayList<>();
-            for (UserDto user : users) {
-                Notification newNotification = modelMapper.map(notification, Notification.class);
-                newNotification.setUserId(user.userId());
-                newNotification.setUser(user.firstName() + " " + user.lastName());
+        List<Notification> notificationsToSave = generateNotificationsPerUser(users, notification);
+        notificationRepository.saveAll(notificationsToSave);
+        unreadCounterService.incrementUnreadCounts(extractUnreadRecipients(notificationsToSave));
+    }
 
-                notificationToSave.add(newNotification);
-            }
+    /**
+     * Create Notifications for each User for a batch of Events - All rows are stored with a single saveAll
+     *
+     * @param notifications : List of Notifications along with their recipients
+     */
+    @Override
+    @Transactional
+    public void createNotificationsInBatch(List<NotificationRecipientsDto> notifications) {
+        List<Notification> notificationsToSave = new ArrayList<>();
+        for (NotificationRecipientsDto entry : notifications)
+            notificationsToSave.addAll(generateNotificationsPerUser(entry.recipients(), entry.notification()));
+
+        if (!notificationsToSave.isEmpty()) {
+            notificationRepository.saveAll(notificationsToSave);
+            unreadCounterService.incrementUnreadCounts(extractUnreadRecipients(notificationsToSave));
+        }
+    }
 
-            // Include SUPER_ADMIN role in the Notification
-            Notification newNotification = modelMapper.map(notification, Notification.class);
-            newNotification.setUserId(SUPER_ADMIN_ROLE);
-            newNotification.setUser("SUPER_ADMIN");
-            notificationToSave.add(newNotification);
+    /*
+     * Helper method to generate a Notification per recipient plus one for the SUPER_ADMIN role - All of them reference a single NotificationEvent
+     */
+    private List<Notification> generateNotificationsPerUser(List<UserDto> users, NotificationDto notification) {
+        NotificationEvent event = NotificationMapper.toEvent(notification);
 
+        List<Notification> notificationToSave = new ArrayList<>();
+        for (UserDto user : users)
+            notificationToSave.add(generateNotificationForRecipient(event, notification, user.userId(), user.firstName() + " " + user.lastName()));
 
-            notificationRepository.saveAll(notificationToSave);
-        } catch (MappingException e) {
-            log.error(MAPPING_EXCEPTION);
-        }
+        // Include SUPER_ADMIN role in the Notification
+        notificationToSave.add(generateNotificationForRecipient(event, notification, SUPER_ADMIN_ROLE, "SUPER_ADMIN"));
+
+        return notificationToSave;
+    }
+
+    private Notification generateNotificationForRecipient(NotificationEvent event, NotificationDto notification, String userId, String user) {
+        return Notification.builder()
+                .event(event)
+                .userId(userId)
+                .user(user)
+                .notificationStatus(notification.getNotificationStatus())
+                .timestamp(notification.getTimestamp())
+                .build();
+    }
+
+    /*
+     * Helper method to locate the recipients of Unread Notifications - One entry per Notification
+     */
+    private List<String> extractUnreadRecipients(List<Notification> notifications) {
+        return notifications.stream()
+                .filter(this::isUnread)
+                .map(Notification::getUserId)
+                .toList();
+    }
 
+    private boolean isUnread(Notification notification) {
+        return NotificationStatus.UNREAD.toString().equals(notification.getNotificationStatus());
+    }
+
+    /*
+     * Helper method to translate sort attributes of NotificationDto to the respective entity paths
+     */
+    private Pageable resolveSortAttributes(Pageable pageable) {
+        if (pageable.getSort().isUnsorted())
+            return pageable;
+
+        Sort sort = Sort.by(pageable.getSort().stream()
+                .map(order -> EVENT_ATTRIBUTES.contains(order.getProperty()) ? order.withProperty("event." + order.getProperty()) : order)
+                .toList());
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort);
     }
 
     /**
@@ -201,6 +390,62 @@ public class NotificationService implements INotificationService {
     )
     @Override
     public List<UserDto> retrieveUserIdsPerOrganization(String organization) {
+        return recipientCacheService.retrieveRecipients(organization, GLOBAL_USER_ROLES, () -> requestUsersPerOrganization(organization));
+    }
+
+    /**
+     * Retrieve Users for a Set of UserRoles within an Organization
+     *
+     * @param userRoles : Set of User Roles
+     * @param organization : Organization
+     * @return List<UserDto>
+     */
+    // As the Kafka Event message reaches both Notif. Service and User Manager, the latter should first create the Organization
+    // And Then the Notification Service request the resource. Thus, we introduce here a retry mechanism only for 404 errors
+    @Retryable(
+            value = { ResourceNotFoundException.class }, // retry only on 404
+            maxAttempts = 3,
+            backoff = @Backoff(delay = 1000, multiplier = 2) // exponential backoff
+    )
+    @Override
+    public List<UserDto> retrieveUserIdsPerUserRolesAndOrganization(Set<String> userRoles, String organization) {
+        // Retrieve User Ids per role concurrently - Each role on its own virtual thread
+        List<String> roles = List.copyOf(userRoles);
+        List<Callable<List<UserDto>>> requests = roles.stream()
+                .<Callable<List<UserDto>>>map(role -> () -> recipientCacheService.retrieveRecipients(organization, role,
+                        () -> requestUsersPerUserRoleAndOrganization(role, organization)))
+                .toList();
+
+        // Merge results and remove duplicate users (users with multiple of the requested roles)
+        Map<String, UserDto> usersPerId = new LinkedHashMap<>();
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            List<Future<List<UserDto>>> results = executor.invokeAll(requests, userRolesRequestDeadline.toMillis(), TimeUnit.MILLISECONDS);
+            for (int i = 0; i < results.size(); i++) {
+                try {
+                    results.get(i).get().forEach(user -> usersPerId.putIfAbsent(user.userId(), user));
+                } catch (CancellationException e) {
+                    log.error("Unable to locate Users for Role: {} - Deadline of {} ms exceeded", roles.get(i), userRolesRequestDeadline.toMillis());
+                } catch (ExecutionException e) {
+                    // Propagate 404 errors so the retry mechanism is applied
+                    if (e.getCause() instanceof ResourceNotFoundException notFoundException)
+                        throw notFoundException;
+                    log.error("Unable to locate Users for Role: {} - Error: {}", roles.get(i), e.getCause().getMessage());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Interrupted while locating Users for Roles: {}", roles);
+        } finally {
+            executor.shutdownNow();
+        }
+        return new ArrayList<>(usersPerId.values());
+    }
+
+    /*
+     * Helper method to request from User Manager the Users of an Organization
+     */
+    private List<UserDto> requestUsersPerOrganization(String organization) {
         // Retrieve Component's JWT Token - Client credentials
         String token = retrieveComponentJwtToken();
         if (token == null){
@@ -210,18 +455,8 @@ public class NotificationService implements INotificationService {
 
         // Retrieve User Ids
         try {
-            HttpHeaders headers = new HttpHeaders();
-            headers.setBearerAuth(token);
-
-            HttpEntity<Void> entity = new HttpEntity<>(headers);
-            // Retrieve User Ids per role
             String requestUri = userManagerUrl.concat("/api/users/pilots/").concat(organization);
-            ResponseEntity<UserManagerResponse> response = restTemplate.exchange(
-                    requestUri,
-                    HttpMethod.GET,
-                    entity,
-                    UserManagerResponse.class
-            );
+            ResponseEntity<UserManagerResponse> response = requestUserManager(requestUri, token);
 
             log.info("Response: {}", response.getBody());
             return Optional.of(response)
@@ -241,61 +476,68 @@ public class NotificationService implements INotificationService {
         }
     }
 
-    /**
-     * Retrieve Users for a Set of UserRoles within an Organization
-     *
-     * @param userRoles : Set of User Roles
-     * @param organization : Organization
-     * @return List<UserDto>
+    /*
+     * Helper method to request from User Manager the Users with a specific User Role within an Organization
      */
-    // As the Kafka Event message reaches both Notif. Service and User Manager, the latter should first create the Organization
-    // And Then the Notification Service request the resource. Thus, we introduce here a retry mechanism only for 404 errors
-    @Retryable(
-            value = { ResourceNotFoundException.class }, // retry only on 404
-            maxAttempts = 3,
-            backoff = @Backoff(delay = 1000, multiplier = 2) // exponential backoff
-    )
-    @Override
-    public List<UserDto> retrieveUserIdsPerUserRolesAndOrganization(Set<String> userRoles, String organization) {
+    private List<UserDto> requestUsersPerUserRoleAndOrganization(String role, String organization) {
         // Retrieve Component's JWT Token - Client credentials
         String token = retrieveComponentJwtToken();
         if (token == null){
             return Collections.emptyList();
         }
 
+        try {
+            String requestUri = userManagerUrl.concat("/api/users/pilots/").concat(organization).concat("/roles/").concat(role);
+            ResponseEntity<UserManagerResponse> response = requestUserManager(requestUri, token);
+
+            // Parse response and retrieve user Ids
+            return Optional.of(response)
+                    .filter(resp -> resp.getStatusCode().is2xxSuccessful())
+                    .map(ResponseEntity::getBody)
+                    .map(UserManagerResponse::getData)
+                    .orElse(Collections.emptyList());
+        } catch (RestClientException e) {
+            if (e instanceof HttpClientErrorException ex) {
+                if (ex.getStatusCode().value() == 404) {
+                    throw new ResourceNotFoundException("Organization or Role not found yet in Keycloak..");
+                }
+            }
+            log.error("Unable to locate Users for Role: {} - Error: {}", role, e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
+    /*
+     * Helper method to request Users from User Manager with the Component's JWT Token. If the cached Token is rejected
+     * (e.g. revoked or Keycloak restarted before its expiration) it is invalidated and the request is retried once with a new one
+     */
+    private ResponseEntity<UserManagerResponse> requestUserManager(String requestUri, String token) {
+        try {
+            return exchangeWithToken(requestUri, token);
+        } catch (HttpClientErrorException e) {
+            if (e.getStatusCode().value() != 401)
+                throw e;
+
+            log.warn("Component's JWT Token was rejected by User Manager - Retrying with a new Token");
+            tokenManager.invalidate(token);
+            String refreshedToken = retrieveComponentJwtToken();
+            if (refreshedToken == null)
+                throw e;
+            return exchangeWithToken(requestUri, refreshedToken);
+        }
+    }
+
+    private ResponseEntity<UserManagerResponse> exchangeWithToken(String requestUri, String token) {
         HttpHeaders headers = new HttpHeaders();
         headers.setBearerAuth(token);
 
         HttpEntity<Void> entity = new HttpEntity<>(headers);
-        // Retrieve User Ids per role
-        List<UserDto> allUsers = new ArrayList<>();
-        userRoles.forEach(role -> {
-            try {
-                ResponseEntity<UserManagerResponse> response = restTemplate.exchange(
-                        userManagerUrl.concat("/api/users/pilots/").concat(organization).concat("/roles/").concat(role),
-                        HttpMethod.GET,
-                        entity,
-                        UserManagerResponse.class
-                );
-
-                // Parse response and retrieve user Ids
-                List<UserDto> users = Optional.of(response)
-                        .filter(resp -> resp.getStatusCode().is2xxSuccessful())
-                        .map(ResponseEntity::getBody)
-                        .map(UserManagerResponse::getData)
-                        .orElse(Collections.emptyList());
-
-                allUsers.addAll(users);
-            } catch (RestClientException e) {
-                if (e instanceof HttpClientErrorException ex) {
-                    if (ex.getStatusCode().value() == 404) {
-                        throw new ResourceNotFoundException("Organization or Role not found yet in Keycloak..");
-                    }
-                }
-                log.error("Unable to locate Users for Role: {} - Error: {}", role, e.getMessage());
-            }
-        });
-        return allUsers;
+        return restTemplate.exchange(
+                requestUri,
+                HttpMethod.GET,
+                entity,
+                UserManagerResponse.class
+        );
     }
 
     /*
@@ -318,38 +560,11 @@ public class NotificationService implements INotificationService {
     }
 
     /**
-     * Generate a JWT Token to access Keycloak resources
+     * Retrieve a JWT Token to access Keycloak resources - Cached until shortly before its expiration
      *
      * @return Token
      */
     String retrieveComponentJwtToken(){
-        try {
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
-
-            MultiValueMap<String, String> map = new LinkedMultiValueMap<>();
-            map.add("client_id", client);
-            map.add("client_secret", clientSecret);
-            map.add("grant_type", "client_credentials");
-
-            HttpEntity<MultiValueMap<String, String>> entity = new HttpEntity<>(map, headers);
-            ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
-                    tokenUri,
-                    HttpMethod.POST,
-                    entity,
-                    new ParameterizedTypeReference<>() {
-                    }
-            );
-
-            return Optional.of(response)
-                    .filter(resp -> resp.getStatusCode().is2xxSuccessful())
-                    .map(ResponseEntity::getBody)
-                    .filter(body -> body.get(TOKEN) != null)
-                    .map(body -> body.get(TOKEN).toString())
-                    .orElse(null);
-        }  catch (RestClientException e) {
-            log.error("Rest Client error during authenticating the client: Error: {}", e.getMessage());
-            return null;
-        }
+        return tokenManager.getAccessToken();
     }
 }
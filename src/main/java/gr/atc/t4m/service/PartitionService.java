@@ -0,0 +1,179 @@
+package gr.atc.t4m.service;
+
+import gr.atc.t4m.config.properties.PartitioningProperties;
+import gr.atc.t4m.service.interfaces.IPartitionService;
+import gr.atc.t4m.service.interfaces.IRetentionService;
+import gr.atc.t4m.service.interfaces.IUnreadCounterService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Maintains the monthly range partitions of the 'notification_recipient' table.
+ * Partitions are created ahead of time and expired partitions are dropped as a whole instead of deleting rows one by one.
+ */
+@Service
+@Slf4j
+public class PartitionService implements IPartitionService {
+
+    static final String PARENT_TABLE = "notification_recipient";
+    static final String PARTITION_PREFIX = PARENT_TABLE + "_p";
+    static final String DEFAULT_PARTITION = PARENT_TABLE + "_default";
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    static final String IS_PARTITIONED = "SELECT coalesce((SELECT relkind = 'p' FROM pg_class WHERE oid = to_regclass('" + PARENT_TABLE + "')), false)";
+
+    private static final String LIST_PARTITIONS = """
+            SELECT c.relname FROM pg_inherits i
+            JOIN pg_class c ON c.oid = i.inhrelid
+            WHERE i.inhparent = to_regclass('""" + PARENT_TABLE + "')";
+
+    // Bounds (UTC) are generated from YearMonth values, so they are safe to be inlined in the DDL statement
+    private static final String CREATE_PARTITION = "CREATE TABLE IF NOT EXISTS %s PARTITION OF " + PARENT_TABLE + " FOR VALUES FROM ('%s 00:00:00+00') TO ('%s 00:00:00+00')";
+
+    private static final String CREATE_DEFAULT_PARTITION = "CREATE TABLE IF NOT EXISTS " + DEFAULT_PARTITION + " PARTITION OF " + PARENT_TABLE + " DEFAULT";
+
+    private static final String DROP_PARTITION = "DROP TABLE IF EXISTS %s";
+
+    private final PartitioningProperties partitioningProperties;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final IRetentionService retentionService;
+
+    private final IUnreadCounterService unreadCounterService;
+
+    private final Clock clock;
+
+    @Autowired
+    public PartitionService(PartitioningProperties partitioningProperties, JdbcTemplate jdbcTemplate,
+                            IRetentionService retentionService, IUnreadCounterService unreadCounterService) {
+        this(partitioningProperties, jdbcTemplate, retentionService, unreadCounterService, Clock.systemUTC());
+    }
+
+    PartitionService(PartitioningProperties partitioningProperties, JdbcTemplate jdbcTemplate,
+                     IRetentionService retentionService, IUnreadCounterService unreadCounterService, Clock clock) {
+        this.partitioningProperties = partitioningProperties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.retentionService = retentionService;
+        this.unreadCounterService = unreadCounterService;
+        this.clock = clock;
+    }
+
+    /**
+     * Check whether the recipients table is partitioned
+     *
+     * @return True if 'notification_recipient' is a partitioned table
+     */
+    @Override
+    public boolean isPartitioned() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(IS_PARTITIONED, Boolean.class));
+    }
+
+    /**
+     * Create the monthly partitions between the given months (inclusive) and the default partition if missing
+     *
+     * @param from : First month
+     * @param to : Last month
+     * @return Number of created partitions
+     */
+    @Override
+    public int createPartitions(YearMonth from, YearMonth to) {
+        Set<String> existing = new HashSet<>(jdbcTemplate.queryForList(LIST_PARTITIONS, String.class));
+        if (!existing.contains(DEFAULT_PARTITION))
+            jdbcTemplate.execute(CREATE_DEFAULT_PARTITION);
+
+        int created = 0;
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            String partition = partitionName(month);
+            if (existing.contains(partition))
+                continue;
+
+            jdbcTemplate.execute(CREATE_PARTITION.formatted(partition,
+                    month.atDay(1), month.plusMonths(1).atDay(1)));
+            created++;
+        }
+
+        if (created > 0)
+            log.info("Created {} Notification partitions between {} and {}", created, from, to);
+        return created;
+    }
+
+    /**
+     * Drop the monthly partitions that are older than the retention period
+     *
+     * @return Names of the dropped partitions
+     */
+    @Override
+    public List<String> dropExpiredPartitions() {
+        if (partitioningProperties.retentionMonths() == 0)
+            return List.of();
+
+        YearMonth oldestRetained = YearMonth.now(clock).minusMonths(partitioningProperties.retentionMonths());
+        List<String> dropped = new ArrayList<>();
+        for (String partition : jdbcTemplate.queryForList(LIST_PARTITIONS, String.class)) {
+            YearMonth month = partitionMonth(partition);
+            if (month != null && month.isBefore(oldestRetained)) {
+                jdbcTemplate.execute(DROP_PARTITION.formatted(partition));
+                dropped.add(partition);
+            }
+        }
+
+        if (!dropped.isEmpty())
+            log.info("Dropped expired Notification partitions: {}", dropped);
+        return dropped;
+    }
+
+    /**
+     * Create the upcoming partitions and drop expired ones - Events left without recipients are removed and Unread counters reconciled
+     */
+    @Override
+    @Scheduled(cron = "${notification.partitioning.cron:0 0 1 * * *}")
+    public void maintainPartitions() {
+        if (!partitioningProperties.enabled() || !isPartitioned())
+            return;
+
+        try {
+            YearMonth now = YearMonth.now(clock);
+            createPartitions(now, now.plusMonths(partitioningProperties.premakeMonths()));
+
+            if (!dropExpiredPartitions().isEmpty()) {
+                retentionService.purgeOrphanEvents();
+                unreadCounterService.reconcileUnreadCounts();
+            }
+        } catch (DataAccessException e) {
+            log.error("Unable to maintain Notification partitions - Error: {}", e.getMessage());
+        }
+    }
+
+    static String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + month.format(PARTITION_SUFFIX);
+    }
+
+    /*
+     * Helper method to resolve the month of a partition from its name - Returns null for the default partition
+     */
+    static YearMonth partitionMonth(String partition) {
+        if (!partition.startsWith(PARTITION_PREFIX))
+            return null;
+
+        try {
+            return YearMonth.parse(partition.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
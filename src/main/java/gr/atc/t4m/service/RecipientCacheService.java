@@ -0,0 +1,78 @@
+package gr.atc.t4m.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import gr.atc.t4m.config.properties.RecipientCacheProperties;
+import gr.atc.t4m.dto.UserDto;
+import gr.atc.t4m.service.interfaces.IRecipientCacheService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+@Service
+@Slf4j
+public class RecipientCacheService implements IRecipientCacheService {
+
+    private final Cache<RecipientKey, List<UserDto>> recipientsCache;
+
+    private final boolean enabled;
+
+    public RecipientCacheService(RecipientCacheProperties cacheProperties, MeterRegistry meterRegistry) {
+        this.enabled = cacheProperties.enabled();
+        this.recipientsCache = Caffeine.newBuilder()
+                .expireAfterWrite(cacheProperties.ttl())
+                .maximumSize(cacheProperties.maxSize())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, recipientsCache, "notification.recipients");
+    }
+
+    /**
+     * Retrieve the Users of an Organization with a specific User Role - Loader is invoked only on cache miss
+     * Concurrent requests for the same key wait for a single load. Empty results are not cached so that
+     * a transient User Manager failure is retried on the next event.
+     *
+     * @param organization : Organization
+     * @param userRole : User Role (or 'ALL' for all users of the organization)
+     * @param loader : Retrieves the Users from User Manager
+     * @return List<UserDto>
+     */
+    @Override
+    public List<UserDto> retrieveRecipients(String organization, String userRole, Supplier<List<UserDto>> loader) {
+        if (!enabled)
+            return loader.get();
+
+        List<UserDto> users = recipientsCache.get(new RecipientKey(organization, userRole), key -> {
+            List<UserDto> loadedUsers = loader.get();
+            return (loadedUsers == null || loadedUsers.isEmpty()) ? null : List.copyOf(loadedUsers);
+        });
+        return users == null ? Collections.emptyList() : users;
+    }
+
+    /**
+     * Invalidate all cached entries of an Organization
+     *
+     * @param organization : Organization
+     */
+    @Override
+    public void invalidateOrganization(String organization) {
+        recipientsCache.asMap().keySet().removeIf(key -> key.organization().equals(organization));
+        log.info("Recipients cache invalidated for organization: {}", organization);
+    }
+
+    /**
+     * Invalidate all cached entries
+     */
+    @Override
+    public void invalidateAll() {
+        recipientsCache.invalidateAll();
+        log.info("Recipients cache invalidated");
+    }
+
+    private record RecipientKey(String organization, String userRole) { }
+}
@@ -0,0 +1,223 @@
+package gr.atc.t4m.service;
+
+import gr.atc.t4m.config.properties.RetentionProperties;
+import gr.atc.t4m.config.properties.RetentionProperties.Action;
+import gr.atc.t4m.config.properties.RetentionProperties.Policy;
+import gr.atc.t4m.service.interfaces.IRetentionService;
+import gr.atc.t4m.service.interfaces.IUnreadCounterService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@Slf4j
+public class RetentionService implements IRetentionService {
+
+    private static final String METRIC_PURGED = "notification.retention.purged";
+    private static final String METRIC_DURATION = "notification.retention.duration";
+    private static final String METRIC_FAILURES = "notification.retention.failures";
+    private static final String ORPHAN_EVENTS_POLICY = "orphan-events";
+
+    // Chunk of recipient rows matching a policy - Rows locked by other transactions are skipped and handled by the next run
+    private static final String SELECT_CHUNK = """
+            SELECT r.id FROM notification_recipient r
+            JOIN notification_event e ON e.id = r.event_id
+            WHERE %s
+            ORDER BY r.id
+            LIMIT ?
+            FOR UPDATE OF r SKIP LOCKED
+            """;
+
+    private static final String DELETE_CHUNK = """
+            WITH chunk AS (%s)
+            DELETE FROM notification_recipient r USING chunk c WHERE r.id = c.id
+            """;
+
+    private static final String ARCHIVE_CHUNK = """
+            WITH chunk AS (%s), moved AS (
+                DELETE FROM notification_recipient r USING chunk c, notification_event e
+                WHERE r.id = c.id AND e.id = r.event_id
+                RETURNING r.id, r.user_id, r.user_name, r.notification_status, e.source_component, e.type, e.description, r.timestamp, e.priority
+            ), archived AS (
+                INSERT INTO notification_archive (id, user_id, user_name, notification_status, source_component, type, description, timestamp, priority, archived_at)
+                SELECT id, user_id, user_name, notification_status, source_component, type, description, timestamp, priority, now() FROM moved
+                ON CONFLICT (id) DO NOTHING
+            )
+            SELECT count(*) FROM moved
+            """;
+
+    private static final String DELETE_ORPHAN_EVENTS_CHUNK = """
+            DELETE FROM notification_event WHERE id IN (
+                SELECT e.id FROM notification_event e
+                WHERE NOT EXISTS (SELECT 1 FROM notification_recipient r WHERE r.event_id = e.id)
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED)
+            """;
+
+    private final RetentionProperties retentionProperties;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final IUnreadCounterService unreadCounterService;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Clock clock;
+
+    @Autowired
+    public RetentionService(RetentionProperties retentionProperties, JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                            IUnreadCounterService unreadCounterService, MeterRegistry meterRegistry) {
+        this(retentionProperties, jdbcTemplate, transactionManager, unreadCounterService, meterRegistry, Clock.systemUTC());
+    }
+
+    RetentionService(RetentionProperties retentionProperties, JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                     IUnreadCounterService unreadCounterService, MeterRegistry meterRegistry, Clock clock) {
+        this.retentionProperties = retentionProperties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.unreadCounterService = unreadCounterService;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+    }
+
+    /**
+     * Apply all configured retention policies, remove events without recipients and reconcile the Unread counters
+     */
+    @Override
+    @Scheduled(cron = "${notification.retention.cron:0 30 2 * * *}")
+    public void applyRetentionPolicies() {
+        if (!retentionProperties.enabled() || retentionProperties.policies().isEmpty())
+            return;
+
+        long purged = 0;
+        for (Policy policy : retentionProperties.policies()) {
+            try {
+                purged += applyRetentionPolicy(policy);
+            } catch (DataAccessException e) {
+                failuresCounter(policy.name()).increment();
+                log.error("Retention policy '{}' failed - Error: {}", policy.name(), e.getMessage());
+            }
+        }
+
+        if (purged > 0) {
+            long events = purgeOrphanEvents();
+            unreadCounterService.reconcileUnreadCounts();
+            log.info("Retention completed - {} notifications and {} events purged", purged, events);
+        }
+    }
+
+    /**
+     * Apply a single retention policy in chunks - Each chunk is committed in its own transaction to keep locks short
+     *
+     * @param policy : Retention policy
+     * @return Number of purged notifications
+     */
+    @Override
+    public long applyRetentionPolicy(Policy policy) {
+        List<Object> arguments = new ArrayList<>();
+        String chunkQuery = SELECT_CHUNK.formatted(generateConditions(policy, arguments));
+        arguments.add(retentionProperties.chunkSize());
+        // Archived chunks are counted by their deleted rows, since rows already in the archive are not inserted again
+        ChunkStatement chunkStatement = policy.action() == Action.ARCHIVE
+                ? () -> jdbcTemplate.queryForObject(ARCHIVE_CHUNK.formatted(chunkQuery), Integer.class, arguments.toArray())
+                : () -> jdbcTemplate.update(DELETE_CHUNK.formatted(chunkQuery), arguments.toArray());
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        long purged = processInChunks(chunkStatement);
+        sample.stop(durationTimer(policy.name()));
+        purgedCounter(policy.name(), policy.action()).increment(purged);
+
+        log.debug("Retention policy '{}' purged {} notifications", policy.name(), purged);
+        return purged;
+    }
+
+    /**
+     * Delete events that are no longer referenced by any recipient in chunks
+     *
+     * @return Number of deleted events
+     */
+    @Override
+    public long purgeOrphanEvents() {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        long events = processInChunks(() -> jdbcTemplate.update(DELETE_ORPHAN_EVENTS_CHUNK, retentionProperties.chunkSize()));
+        sample.stop(durationTimer(ORPHAN_EVENTS_POLICY));
+        purgedCounter(ORPHAN_EVENTS_POLICY, Action.DELETE).increment(events);
+        return events;
+    }
+
+    /*
+     * Helper method to generate the conditions of a policy - Arguments are appended in order of appearance
+     */
+    private String generateConditions(Policy policy, List<Object> arguments) {
+        List<String> conditions = new ArrayList<>();
+        conditions.add("r.timestamp < ?");
+        arguments.add(OffsetDateTime.now(clock).minus(policy.olderThan()).withOffsetSameInstant(ZoneOffset.UTC));
+
+        if (policy.status() != null) {
+            conditions.add("r.notification_status = ?");
+            arguments.add(policy.status().toString());
+        }
+        if (policy.priority() != null) {
+            conditions.add("e.priority = ?");
+            arguments.add(policy.priority().toString());
+        }
+        return String.join(" AND ", conditions);
+    }
+
+    /*
+     * Helper method to execute a chunked statement until a chunk smaller than the chunk size is processed
+     */
+    private long processInChunks(ChunkStatement chunkStatement) {
+        long total = 0;
+        int processed;
+        do {
+            Integer rows = transactionTemplate.execute(status -> chunkStatement.execute());
+            processed = rows == null ? 0 : rows;
+            total += processed;
+        } while (processed >= retentionProperties.chunkSize());
+        return total;
+    }
+
+    private Counter purgedCounter(String policy, Action action) {
+        return Counter.builder(METRIC_PURGED)
+                .description("Notifications purged by retention policies")
+                .tag("policy", policy)
+                .tag("action", action.name().toLowerCase())
+                .register(meterRegistry);
+    }
+
+    private Counter failuresCounter(String policy) {
+        return Counter.builder(METRIC_FAILURES)
+                .description("Retention policy runs aborted by a database error")
+                .tag("policy", policy)
+                .register(meterRegistry);
+    }
+
+    private Timer durationTimer(String policy) {
+        return Timer.builder(METRIC_DURATION)
+                .description("Duration of retention policies")
+                .tag("policy", policy)
+                .register(meterRegistry);
+    }
+
+    @FunctionalInterface
+    private interface ChunkStatement {
+        int execute();
+    }
+}
@@ -0,0 +1,203 @@
+package gr.atc.t4m.service;
+
+import gr.atc.t4m.dto.UnreadCountDto;
+import gr.atc.t4m.model.UnreadCounter;
+import gr.atc.t4m.repository.UnreadCounterRepository;
+import gr.atc.t4m.service.interfaces.IUnreadCounterService;
+import gr.atc.t4m.service.interfaces.IWebSocketService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+public class UnreadCounterService implements IUnreadCounterService {
+
+    static final String ADJUST_UNREAD_COUNT = """
+            INSERT INTO notification_unread_counter (user_id, unread_count) VALUES (?, GREATEST(?, 0))
+            ON CONFLICT (user_id) DO UPDATE SET unread_count = GREATEST(notification_unread_counter.unread_count + EXCLUDED.unread_count, 0)
+            """;
+
+    static final String DECREMENT_UNREAD_COUNT = """
+            UPDATE notification_unread_counter SET unread_count = GREATEST(unread_count - 1, 0) WHERE user_id = ?
+            """;
+
+    static final String RECONCILE_UNREAD_COUNT = """
+            INSERT INTO notification_unread_counter (user_id, unread_count)
+            SELECT ?, count(*) FROM notification_recipient WHERE user_id = ? AND notification_status = 'Unread'
+            ON CONFLICT (user_id) DO UPDATE SET unread_count = EXCLUDED.unread_count
+            """;
+
+    static final String RECONCILE_UNREAD_COUNTS = """
+            INSERT INTO notification_unread_counter (user_id, unread_count)
+            SELECT user_id, count(*) FROM notification_recipient WHERE notification_status = 'Unread' GROUP BY user_id
+            ON CONFLICT (user_id) DO UPDATE SET unread_count = EXCLUDED.unread_count
+            WHERE notification_unread_counter.unread_count <> EXCLUDED.unread_count
+            """;
+
+    static final String RESET_STALE_UNREAD_COUNTS = """
+            UPDATE notification_unread_counter c SET unread_count = 0
+            WHERE c.unread_count <> 0 AND NOT EXISTS (
+                SELECT 1 FROM notification_recipient r WHERE r.user_id = c.user_id AND r.notification_status = 'Unread')
+            """;
+
+    // Transaction-level advisory lock so that only one replica reconciles the counters at a time
+    static final String TRY_RECONCILIATION_LOCK = "SELECT pg_try_advisory_xact_lock(hashtext('notification_unread_counter'))";
+
+    // Transaction resource holding the Users whose counters must be pushed after commit
+    private static final Object PENDING_USER_IDS_KEY = new Object();
+
+    private final UnreadCounterRepository unreadCounterRepository;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final IWebSocketService webSocketService;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public UnreadCounterService(UnreadCounterRepository unreadCounterRepository, JdbcTemplate jdbcTemplate,
+                                IWebSocketService webSocketService, ApplicationEventPublisher eventPublisher) {
+        this.unreadCounterRepository = unreadCounterRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.webSocketService = webSocketService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Retrieve the number of Unread Notifications of a User
+     *
+     * @param userId : User ID
+     * @return Number of unread notifications
+     */
+    @Override
+    public long retrieveUnreadCount(String userId) {
+        return unreadCounterRepository.findById(userId)
+                .map(UnreadCounter::getUnreadCount)
+                .orElse(0L);
+    }
+
+    /**
+     * Increment the Unread counters by one for each occurrence of a User ID - Executed in the caller's transaction
+     *
+     * @param userIds : Recipients of new Unread Notifications
+     */
+    @Override
+    @Transactional
+    public void incrementUnreadCounts(Collection<String> userIds) {
+        if (userIds.isEmpty())
+            return;
+
+        // Sorted so concurrent fan-outs lock the counter rows in the same order
+        Map<String, Long> deltas = userIds.stream()
+                .collect(Collectors.groupingBy(Function.identity(), TreeMap::new, Collectors.counting()));
+        List<Object[]> arguments = deltas.entrySet().stream()
+                .map(entry -> new Object[]{entry.getKey(), entry.getValue()})
+                .toList();
+        jdbcTemplate.batchUpdate(ADJUST_UNREAD_COUNT, arguments);
+
+        eventPublisher.publishEvent(new UnreadCountChangedEvent(deltas.keySet()));
+    }
+
+    /**
+     * Decrement the Unread counter of a User by one - Executed in the caller's transaction
+     *
+     * @param userId : User ID
+     */
+    @Override
+    @Transactional
+    public void decrementUnreadCount(String userId) {
+        jdbcTemplate.update(DECREMENT_UNREAD_COUNT, userId);
+
+        eventPublisher.publishEvent(new UnreadCountChangedEvent(Set.of(userId)));
+    }
+
+    /**
+     * Recalculate the Unread counter of a User from the stored Notifications - Used after bulk operations
+     *
+     * @param userId : User ID
+     */
+    @Override
+    @Transactional
+    public void reconcileUnreadCount(String userId) {
+        jdbcTemplate.update(RECONCILE_UNREAD_COUNT, userId, userId);
+
+        eventPublisher.publishEvent(new UnreadCountChangedEvent(Set.of(userId)));
+    }
+
+    /**
+     * Periodically recalculate all Unread counters from the stored Notifications to correct any drift
+     * Skipped if another instance is already reconciling, since the lock is held until its transaction is completed
+     */
+    @Override
+    @Scheduled(cron = "${notification.unread-counter.reconciliation-cron:0 0 3 * * *}")
+    @Transactional
+    public void reconcileUnreadCounts() {
+        if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(TRY_RECONCILIATION_LOCK, Boolean.class))) {
+            log.debug("Unread counters are being reconciled by another instance - Reconciliation is skipped");
+            return;
+        }
+
+        int updated = jdbcTemplate.update(RECONCILE_UNREAD_COUNTS);
+        int reset = jdbcTemplate.update(RESET_STALE_UNREAD_COUNTS);
+        if (updated + reset > 0)
+            log.warn("Unread counters reconciled - {} counters corrected", updated + reset);
+    }
+
+    /**
+     * Collect the Users whose Unread counters were modified and push each counter once after the transaction is committed
+     * Bulk operations modify the counters several times per transaction, so the pushes are coalesced per User
+     *
+     * @param event : Users whose counters were modified
+     */
+    @EventListener
+    public void onUnreadCountChanged(UnreadCountChangedEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            notifyUnreadCountChanged(event.userIds());
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        Set<String> pendingUserIds = (Set<String>) TransactionSynchronizationManager.getResource(PENDING_USER_IDS_KEY);
+        if (pendingUserIds == null) {
+            Set<String> userIds = new TreeSet<>();
+            TransactionSynchronizationManager.bindResource(PENDING_USER_IDS_KEY, userIds);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    notifyUnreadCountChanged(userIds);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(PENDING_USER_IDS_KEY);
+                }
+            });
+            pendingUserIds = userIds;
+        }
+        pendingUserIds.addAll(event.userIds());
+    }
+
+    /*
+     * Helper method to push the current Unread counters of the given Users via WebSocket - One push for all Users
+     */
+    void notifyUnreadCountChanged(Set<String> userIds) {
+        Map<String, Long> counters = unreadCounterRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(UnreadCounter::getUserId, UnreadCounter::getUnreadCount));
+
+        webSocketService.notifyUnreadCountsViaWebSocket(userIds.stream()
+                .map(userId -> new UnreadCountDto(userId, counters.getOrDefault(userId, 0L)))
+                .toList());
+    }
+
+    record UnreadCountChangedEvent(Set<String> userIds) { }
+}
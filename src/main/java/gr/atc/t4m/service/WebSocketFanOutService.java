@@ -0,0 +1,358 @@
+package gr.atc.t4m.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import gr.atc.t4m.config.properties.WebSocketProperties;
+import gr.atc.t4m.dto.WebSocketDeliveryDto;
+import gr.atc.t4m.service.interfaces.IWebSocketFanOutService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Service;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Fans out WebSocket messages to all replicas through a Kafka topic, without an external STOMP broker.
+ * The publishing replica delivers to its own clients directly, while every other replica consumes the delivery
+ * (unique consumer group per replica) and sends it through its local broker. Payloads are transferred as the bytes
+ * serialized by the publisher and sent as they are by every replica. Deliveries are deduplicated by ID,
+ * dropped when older than the configured age and handed to a bounded executor, so a slow local broker slows down
+ * the Kafka listener instead of queuing messages without limit.
+ */
+@Service
+@Slf4j
+public class WebSocketFanOutService implements IWebSocketFanOutService {
+
+    public static final String HEADER_ID = "delivery-id";
+    public static final String HEADER_ORIGIN = "delivery-origin";
+    public static final String HEADER_DESTINATION = "delivery-destination";
+    public static final String HEADER_USER = "delivery-user";
+    public static final String HEADER_CONTENT_TYPE = "delivery-content-type";
+    public static final String HEADER_SENT_AT = "delivery-sent-at";
+    public static final String HEADER_PER_USER = "delivery-per-user";
+
+    private static final String METRIC_DELIVERIES = "notification.websocket.fanout.deliveries";
+    private static final String METRIC_LATENCY = "notification.websocket.fanout.latency";
+    private static final String METRIC_PENDING = "notification.websocket.fanout.pending";
+    private static final String TEXT_PLAIN_UTF8 = "text/plain;charset=UTF-8";
+
+    // Bounds the size of the user headers of a delivery record
+    static final int MAX_USERS_PER_DELIVERY = 1000;
+
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private final SimpMessagingTemplate messagingTemplate;
+
+    // Users with a session on this replica
+    private final SimpUserRegistry simpUserRegistry;
+
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    private final MeterRegistry meterRegistry;
+
+    private final WebSocketProperties.FanOut fanOutProperties;
+
+    private final boolean enabled;
+
+    private final Cache<String, Boolean> deliveredIds;
+
+    private final ThreadPoolExecutor deliveryExecutor;
+
+    private final Timer latencyTimer;
+
+    private final Clock clock;
+
+    /*
+     * The template is derived from the auto-configured producer factory with a byte array value serializer - It is not
+     * declared as a bean, since any KafkaTemplate bean replaces the auto-configured String template
+     */
+    @Autowired
+    public WebSocketFanOutService(SimpMessagingTemplate messagingTemplate, SimpUserRegistry simpUserRegistry, ProducerFactory<String, byte[]> producerFactory,
+                                  ObjectMapper objectMapper, WebSocketProperties webSocketProperties, MeterRegistry meterRegistry) {
+        this(messagingTemplate, simpUserRegistry,
+                new KafkaTemplate<>(producerFactory, Map.of(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class)),
+                objectMapper, webSocketProperties, meterRegistry, Clock.systemUTC());
+    }
+
+    WebSocketFanOutService(SimpMessagingTemplate messagingTemplate, SimpUserRegistry simpUserRegistry, KafkaTemplate<String, byte[]> kafkaTemplate,
+                           ObjectMapper objectMapper, WebSocketProperties webSocketProperties, MeterRegistry meterRegistry, Clock clock) {
+        this.messagingTemplate = messagingTemplate;
+        this.simpUserRegistry = simpUserRegistry;
+        this.kafkaTemplate = kafkaTemplate;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.fanOutProperties = webSocketProperties.fanOut();
+        this.enabled = webSocketProperties.isKafkaFanOut();
+        this.clock = clock;
+        this.deliveredIds = Caffeine.newBuilder()
+                .maximumSize(fanOutProperties.dedupCapacity())
+                .expireAfterWrite(fanOutProperties.maxAge().multipliedBy(2))
+                .build();
+        this.deliveryExecutor = new ThreadPoolExecutor(fanOutProperties.deliveryThreads(), fanOutProperties.deliveryThreads(),
+                0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(fanOutProperties.maxPending()),
+                Thread.ofVirtual().name("websocket-fanout-", 0).factory(), new ThreadPoolExecutor.CallerRunsPolicy());
+        this.latencyTimer = Timer.builder(METRIC_LATENCY)
+                .description("Latency from publishing a WebSocket message on a replica until it is sent by another replica")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PENDING, deliveryExecutor, executor -> executor.getQueue().size())
+                .description("WebSocket deliveries of other replicas waiting to be sent locally")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Publish a WebSocket message so that the other replicas send it to their clients - No-op unless the Kafka fan-out mode is enabled
+     * A message is published once for all of its destinations and recipients, in records of at most MAX_USERS_PER_DELIVERY
+     * users, and every replica sends it only to the recipients with a local session
+     *
+     * @param destinations : WebSocket destinations (e.g. '/topic/notifications/{role}' or '/queue/notifications' for users)
+     * @param userIds : Recipient User IDs for user destinations, empty for broadcasts
+     * @param payload : String message, pre-encoded UTF-8 payload or object serialized as JSON
+     */
+    @Override
+    public void publish(Collection<String> destinations, Collection<String> userIds, Object payload) {
+        if (!enabled || destinations.isEmpty())
+            return;
+
+        byte[] value;
+        String contentType;
+        if (payload instanceof String message) {
+            value = message.getBytes(StandardCharsets.UTF_8);
+            contentType = TEXT_PLAIN_UTF8;
+        } else if (payload instanceof byte[] encoded) {
+            // Pre-encoded payloads are UTF-8 text sent with the content type of String messages
+            value = encoded;
+            contentType = TEXT_PLAIN_UTF8;
+        } else {
+            try {
+                value = objectMapper.writeValueAsBytes(payload);
+                contentType = MimeTypeUtils.APPLICATION_JSON_VALUE;
+            } catch (JsonProcessingException e) {
+                log.error("Unable to serialize WebSocket message for fan-out - Error: {}", e.getMessage());
+                deliveryCounter("failed").increment();
+                return;
+            }
+        }
+
+        List<String> destinationList = List.copyOf(destinations);
+        if (userIds.isEmpty()) {
+            publishRecord(destinationList, List.of(), value, contentType, false);
+            return;
+        }
+
+        List<String> recipients = List.copyOf(userIds);
+        for (int from = 0; from < recipients.size(); from += MAX_USERS_PER_DELIVERY)
+            publishRecord(destinationList, recipients.subList(from, Math.min(from + MAX_USERS_PER_DELIVERY, recipients.size())), value, contentType, false);
+    }
+
+    /**
+     * Publish a different WebSocket message per user to a user destination - No-op unless the Kafka fan-out mode is enabled
+     * The messages of all users are published together as one JSON object keyed by User ID, in records of at most
+     * MAX_USERS_PER_DELIVERY users, and every replica sends each message only to the recipients with a local session
+     *
+     * @param destination : User destination (e.g. '/queue/unread-count')
+     * @param payloads : Message per User ID, serialized as JSON
+     */
+    @Override
+    public void publishPerUser(String destination, Map<String, ?> payloads) {
+        if (!enabled || payloads.isEmpty())
+            return;
+
+        List<String> recipients = List.copyOf(payloads.keySet());
+        for (int from = 0; from < recipients.size(); from += MAX_USERS_PER_DELIVERY) {
+            Map<String, Object> chunk = new LinkedHashMap<>();
+            recipients.subList(from, Math.min(from + MAX_USERS_PER_DELIVERY, recipients.size()))
+                    .forEach(userId -> chunk.put(userId, payloads.get(userId)));
+            try {
+                publishRecord(List.of(destination), List.copyOf(chunk.keySet()), objectMapper.writeValueAsBytes(chunk),
+                        MimeTypeUtils.APPLICATION_JSON_VALUE, true);
+            } catch (JsonProcessingException e) {
+                log.error("Unable to serialize WebSocket messages for fan-out - Error: {}", e.getMessage());
+                deliveryCounter("failed").increment();
+            }
+        }
+    }
+
+    /**
+     * Send a WebSocket message published by another replica to the local clients
+     *
+     * @param delivery : Fanned out WebSocket message
+     * @return True if the message is scheduled to be sent, false if it is discarded (own, duplicate or expired)
+     */
+    @Override
+    public boolean deliver(WebSocketDeliveryDto delivery) {
+        // The publishing replica has already delivered to its own clients
+        if (instanceId.equals(delivery.origin())) {
+            deliveryCounter("local").increment();
+            return false;
+        }
+
+        if (delivery.id() == null || deliveredIds.asMap().putIfAbsent(delivery.id(), Boolean.TRUE) != null) {
+            deliveryCounter("duplicate").increment();
+            return false;
+        }
+
+        if (clock.millis() - delivery.sentAt() > fanOutProperties.maxAge().toMillis()) {
+            deliveryCounter("expired").increment();
+            return false;
+        }
+
+        deliveryExecutor.execute(() -> sendLocally(delivery));
+        return true;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        deliveryExecutor.shutdown();
+        kafkaTemplate.destroy();
+    }
+
+    String getInstanceId() {
+        return instanceId;
+    }
+
+    /*
+     * Helper method to publish one delivery record
+     * Broadcasts to a single destination are keyed by destination and single user deliveries by user, so the order of
+     * their messages is kept, while deliveries for several destinations or users are spread over the partitions by their ID
+     */
+    private void publishRecord(List<String> destinations, List<String> userIds, byte[] value, String contentType, boolean perUser) {
+        String id = UUID.randomUUID().toString();
+        String key;
+        if (userIds.isEmpty())
+            key = destinations.size() == 1 ? destinations.getFirst() : id;
+        else
+            key = userIds.size() == 1 ? userIds.getFirst() : id;
+
+        ProducerRecord<String, byte[]> delivery = new ProducerRecord<>(fanOutProperties.topic(), key, value);
+        addHeader(delivery, HEADER_ID, id);
+        addHeader(delivery, HEADER_ORIGIN, instanceId);
+        destinations.forEach(destination -> addHeader(delivery, HEADER_DESTINATION, destination));
+        userIds.forEach(userId -> addHeader(delivery, HEADER_USER, userId));
+        addHeader(delivery, HEADER_CONTENT_TYPE, contentType);
+        addHeader(delivery, HEADER_SENT_AT, String.valueOf(clock.millis()));
+        if (perUser)
+            addHeader(delivery, HEADER_PER_USER, Boolean.TRUE.toString());
+
+        kafkaTemplate.send(delivery).whenComplete((result, ex) -> {
+            if (ex != null) {
+                log.error("Unable to publish WebSocket message for fan-out - Error: {}", ex.getMessage());
+                deliveryCounter("failed").increment();
+            } else {
+                deliveryCounter("published").increment();
+            }
+        });
+    }
+
+    /*
+     * Helper method to send the already serialized payload through the local broker without any conversion or copy
+     * User deliveries are sent only to the recipients with a session on this replica
+     */
+    private void sendLocally(WebSocketDeliveryDto delivery) {
+        if (delivery.perUser()) {
+            sendLocallyPerUser(delivery);
+            return;
+        }
+
+        try {
+            Message<byte[]> message = createMessage(delivery.payload(), delivery.contentType());
+
+            if (delivery.users().isEmpty())
+                delivery.destinations().forEach(destination -> messagingTemplate.send(destination, message));
+            else
+                delivery.users().stream()
+                        .filter(userId -> simpUserRegistry.getUser(userId) != null)
+                        .forEach(userId -> delivery.destinations().forEach(destination -> messagingTemplate.send(
+                                messagingTemplate.getUserDestinationPrefix() + userId.replace("/", "%2F") + destination, message)));
+
+            latencyTimer.record(Duration.ofMillis(Math.max(clock.millis() - delivery.sentAt(), 0)));
+            deliveryCounter("delivered").increment();
+        } catch (MessagingException e) {
+            log.error("Unable to send fanned out WebSocket message to {} - Error: {}", delivery.destinations(), e.getMessage());
+            deliveryCounter("failed").increment();
+        }
+    }
+
+    /*
+     * Helper method to send to each local recipient its own message out of the JSON object keyed by User ID
+     */
+    private void sendLocallyPerUser(WebSocketDeliveryDto delivery) {
+        try {
+            JsonNode payloads = objectMapper.readTree(delivery.payload());
+            for (String userId : delivery.users()) {
+                JsonNode payload = payloads.get(userId);
+                if (payload == null || simpUserRegistry.getUser(userId) == null)
+                    continue;
+
+                Message<byte[]> message = createMessage(objectMapper.writeValueAsBytes(payload), MimeTypeUtils.APPLICATION_JSON_VALUE);
+                delivery.destinations().forEach(destination -> messagingTemplate.send(
+                        messagingTemplate.getUserDestinationPrefix() + userId.replace("/", "%2F") + destination, message));
+            }
+
+            latencyTimer.record(Duration.ofMillis(Math.max(clock.millis() - delivery.sentAt(), 0)));
+            deliveryCounter("delivered").increment();
+        } catch (IOException | MessagingException e) {
+            log.error("Unable to send fanned out WebSocket messages to {} - Error: {}", delivery.destinations(), e.getMessage());
+            deliveryCounter("failed").increment();
+        }
+    }
+
+    private static Message<byte[]> createMessage(byte[] payload, String contentType) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setContentType(MimeType.valueOf(contentType == null ? TEXT_PLAIN_UTF8 : contentType));
+        Message<byte[]> message = MessageBuilder.createMessage(payload, accessor.getMessageHeaders());
+        accessor.setImmutable();
+        return message;
+    }
+
+    private static void addHeader(ProducerRecord<String, byte[]> delivery, String name, String value) {
+        if (value != null)
+            delivery.headers().add(name, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Counter deliveryCounter(String outcome) {
+        return Counter.builder(METRIC_DELIVERIES)
+                .description("WebSocket messages fanned out through Kafka per outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -1,22 +1,53 @@
 package gr.atc.t4m.service;
 
 
+import gr.atc.t4m.dto.UnreadCountDto;
+import gr.atc.t4m.service.interfaces.IWebSocketFanOutService;
 import gr.atc.t4m.service.interfaces.IWebSocketService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.messaging.Message;
 import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
 import org.springframework.scheduling.annotation.Async;
+import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Service;
+import org.springframework.util.MimeType;
 
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 @Service
 @AllArgsConstructor
 @Slf4j
 public class WebSocketService implements IWebSocketService {
 
+    private static final String METRIC_SEND = "notification.pipeline.websocket.send";
+    private static final String USER_DESTINATION = "/user/queue/notifications";
+    private static final String USER_QUEUE = "/queue/notifications";
+    private static final String TOPIC_PREFIX = "/topic/notifications/";
+    private static final String UNREAD_COUNT_QUEUE = "/queue/unread-count";
+    private static final MimeType PAYLOAD_CONTENT_TYPE = new MimeType("text", "plain", StandardCharsets.UTF_8);
+
     private final SimpMessagingTemplate messagingTemplate;
 
+    private final MeterRegistry meterRegistry;
+
+    // Users with open sessions - Includes the users of the other replicas in relay mode
+    private final SimpUserRegistry simpUserRegistry;
+
+    // Replicates the messages to the clients of the other replicas when the Kafka fan-out mode is enabled
+    private final IWebSocketFanOutService webSocketFanOutService;
+
     /**
      * Notify all users through WebSocket
      *
@@ -25,12 +56,18 @@ public class WebSocketService implements IWebSocketService {
      */
     @Async
     public void notifyUsersAndRolesViaWebSocket(String message, String topicName){
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
         try {
-            String websocketTopic = "/topic/notifications/" + topicName;
+            String websocketTopic = TOPIC_PREFIX + topicName;
             log.info("Notifying websocket topic: {}", websocketTopic);
             messagingTemplate.convertAndSend(websocketTopic, message);
+            webSocketFanOutService.publish(List.of(websocketTopic), List.of(), message);
         } catch (MessagingException e) {
+            outcome = "failure";
             log.error("Error in sending data via websockets - {}", e.getMessage());
+        } finally {
+            sample.stop(sendTimer(topicName, outcome));
         }
     }
 
@@ -43,12 +80,129 @@ public class WebSocketService implements IWebSocketService {
      */
     @Async
     public void notifyUserViaWebSocket(String userId, String message) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
         try {
             String websocketTopic = "/user/" + userId + "/queue/notifications";
             log.info("Notifying user: {} on websocket topic: {}", userId, websocketTopic);
-            messagingTemplate.convertAndSendToUser(userId, "/queue/notifications", message);
+            messagingTemplate.convertAndSendToUser(userId, USER_QUEUE, message);
+            webSocketFanOutService.publish(List.of(USER_QUEUE), List.of(userId), message);
         } catch (MessagingException e) {
+            outcome = "failure";
             log.error("Error in sending data to user via websockets - {}", e.getMessage());
+        } finally {
+            // User IDs are not used as tag values to keep the number of time series bounded
+            sample.stop(sendTimer(USER_DESTINATION, outcome));
+        }
+    }
+
+    /**
+     * Notify topics and users through WebSocket with a payload serialized once per event
+     * The same pre-encoded message is sent to every destination without any further conversion or copy of the payload
+     * Users without an open session are skipped locally - They retrieve their Notifications through the REST API
+     * In the Kafka fan-out mode the payload is published once for all topics and once for all users
+     *
+     * @param payload : Serialized message (UTF-8)
+     * @param topicNames : Topic Names for organizations or user roles
+     * @param userIds : User IDs of the recipients
+     */
+    @Async
+    public void notifyViaWebSocket(byte[] payload, Collection<String> topicNames, Collection<String> userIds) {
+        Message<byte[]> message = createPreEncodedMessage(payload);
+
+        List<String> websocketTopics = topicNames.stream().map(topicName -> TOPIC_PREFIX + topicName).toList();
+        for (String topicName : topicNames) {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            String outcome = "success";
+            try {
+                String websocketTopic = TOPIC_PREFIX + topicName;
+                log.info("Notifying websocket topic: {}", websocketTopic);
+                messagingTemplate.send(websocketTopic, message);
+            } catch (MessagingException e) {
+                outcome = "failure";
+                log.error("Error in sending data via websockets - {}", e.getMessage());
+            } finally {
+                sample.stop(sendTimer(topicName, outcome));
+            }
+        }
+        // Published once for all topics - Every replica sends it to its subscribers of each topic
+        webSocketFanOutService.publish(websocketTopics, List.of(), payload);
+
+        if (userIds.isEmpty())
+            return;
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        int sent = 0;
+        for (String userId : userIds) {
+            try {
+                if (simpUserRegistry.getUser(userId) != null) {
+                    messagingTemplate.send(userDestination(userId), message);
+                    sent++;
+                }
+            } catch (MessagingException e) {
+                outcome = "failure";
+                log.error("Error in sending data to user {} via websockets - {}", userId, e.getMessage());
+            }
         }
+        // Published once for all recipients - Every replica sends it to the recipients with a local session
+        webSocketFanOutService.publish(List.of(USER_QUEUE), userIds, payload);
+        log.info("Notified {} of {} users on websocket destination: {}", sent, userIds.size(), USER_DESTINATION);
+        sample.stop(sendTimer(USER_DESTINATION, outcome));
+    }
+
+    /**
+     * Notify users about their number of Unread Notifications through WebSocket - A single task for all users of a change
+     * Users without an open session are skipped locally. In the Kafka fan-out mode all counters are published in one record
+     * and every replica sends them to its own connected users
+     *
+     * @param unreadCounts : User IDs along with their number of Unread Notifications
+     */
+    @Async
+    public void notifyUnreadCountsViaWebSocket(Collection<UnreadCountDto> unreadCounts) {
+        int sent = 0;
+        for (UnreadCountDto unreadCount : unreadCounts) {
+            try {
+                if (simpUserRegistry.getUser(unreadCount.userId()) != null) {
+                    messagingTemplate.convertAndSendToUser(unreadCount.userId(), UNREAD_COUNT_QUEUE, unreadCount);
+                    sent++;
+                }
+            } catch (MessagingException e) {
+                log.error("Error in sending unread count to user {} via websockets - {}", unreadCount.userId(), e.getMessage());
+            }
+        }
+
+        Map<String, UnreadCountDto> unreadCountsPerUser = new LinkedHashMap<>();
+        unreadCounts.forEach(unreadCount -> unreadCountsPerUser.put(unreadCount.userId(), unreadCount));
+        webSocketFanOutService.publishPerUser(UNREAD_COUNT_QUEUE, unreadCountsPerUser);
+        log.debug("Notified {} of {} users about their unread count", sent, unreadCounts.size());
+    }
+
+    /*
+     * Helper method to wrap an already serialized payload into an immutable message - Sending it through the template
+     * only copies its headers to set the destination, so neither conversion nor copy of the payload takes place.
+     * The content type matches the one of String messages so that clients receive identical frames.
+     */
+    private static Message<byte[]> createPreEncodedMessage(byte[] payload) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setContentType(PAYLOAD_CONTENT_TYPE);
+        Message<byte[]> message = MessageBuilder.createMessage(payload, accessor.getMessageHeaders());
+        accessor.setImmutable();
+        return message;
+    }
+
+    /*
+     * Helper method to build the user destination of a User ID - Resolved to the sessions of the user by the user destination handler
+     */
+    private String userDestination(String userId) {
+        return messagingTemplate.getUserDestinationPrefix() + userId.replace("/", "%2F") + USER_QUEUE;
+    }
+
+    private Timer sendTimer(String destination, String outcome) {
+        return Timer.builder(METRIC_SEND)
+                .description("Duration of sending a Notification to a WebSocket destination")
+                .tag("destination", destination)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
     }
 }
@@ -5,6 +5,7 @@ import gr.atc.t4m.dto.operations.EventMappingCreationDto;
 import jakarta.validation.Valid;
 
 import java.util.List;
+import java.util.Set;
 
 public interface IEventMappingService {
     void storeEventMapping(EventMappingCreationDto eventMapping);
@@ -13,6 +14,10 @@ public interface IEventMappingService {
 
     EventMappingDto retrieveEventMappingByTopic(String topic);
 
+    Set<String> retrieveUserRolesByTopic(String topic);
+
+    void refreshEventMappingsCache();
+
     void deleteEventMappingById(Long mappingId);
 
     void updateEventMappingById(@Valid EventMappingDto eventMapping);
@@ -1,10 +1,14 @@
 package gr.atc.t4m.service.interfaces;
 
 import gr.atc.t4m.dto.NotificationDto;
+import gr.atc.t4m.dto.NotificationRecipientsDto;
 import gr.atc.t4m.dto.UserDto;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Set;
 
@@ -17,10 +21,24 @@ public interface INotificationService {
 
     Page<NotificationDto> retrieveUnreadNotificationsPerUserId(String userId, Pageable pageable);
 
+    Window<NotificationDto> retrieveAllNotificationsPerUserId(String userId, ScrollPosition position, int limit);
+
+    Window<NotificationDto> retrieveUnreadNotificationsPerUserId(String userId, ScrollPosition position, int limit);
+
+    long countAllNotificationsPerUserId(String userId);
+
+    long countUnreadNotificationsPerUserId(String userId);
+
     NotificationDto retrieveNotificationById(Long notificationId, String userId);
 
+    int updateNotificationsStatusToRead(String userId, List<Long> notificationIds, OffsetDateTime before, boolean all);
+
+    int deleteNotifications(String userId, List<Long> notificationIds, OffsetDateTime before, boolean all);
+
     void createNotificationsForEachUser(List<UserDto> users, NotificationDto notification);
 
+    void createNotificationsInBatch(List<NotificationRecipientsDto> notifications);
+
     List<UserDto> retrieveUserIdsPerOrganization(String organization);
 
     List<UserDto> retrieveUserIdsPerUserRolesAndOrganization(Set<String> userRoles, String organization);
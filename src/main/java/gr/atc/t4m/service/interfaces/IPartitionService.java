@@ -0,0 +1,14 @@
+package gr.atc.t4m.service.interfaces;
+
+import java.time.YearMonth;
+import java.util.List;
+
+public interface IPartitionService {
+    boolean isPartitioned();
+
+    int createPartitions(YearMonth from, YearMonth to);
+
+    List<String> dropExpiredPartitions();
+
+    void maintainPartitions();
+}
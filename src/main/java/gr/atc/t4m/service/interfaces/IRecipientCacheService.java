@@ -0,0 +1,14 @@
+package gr.atc.t4m.service.interfaces;
+
+import gr.atc.t4m.dto.UserDto;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+public interface IRecipientCacheService {
+    List<UserDto> retrieveRecipients(String organization, String userRole, Supplier<List<UserDto>> loader);
+
+    void invalidateOrganization(String organization);
+
+    void invalidateAll();
+}
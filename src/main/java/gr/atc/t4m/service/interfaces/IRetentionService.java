@@ -0,0 +1,11 @@
+package gr.atc.t4m.service.interfaces;
+
+import gr.atc.t4m.config.properties.RetentionProperties;
+
+public interface IRetentionService {
+    void applyRetentionPolicies();
+
+    long applyRetentionPolicy(RetentionProperties.Policy policy);
+
+    long purgeOrphanEvents();
+}
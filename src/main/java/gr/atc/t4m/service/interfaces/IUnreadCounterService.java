@@ -0,0 +1,15 @@
+package gr.atc.t4m.service.interfaces;
+
+import java.util.Collection;
+
+public interface IUnreadCounterService {
+    long retrieveUnreadCount(String userId);
+
+    void incrementUnreadCounts(Collection<String> userIds);
+
+    void decrementUnreadCount(String userId);
+
+    void reconcileUnreadCount(String userId);
+
+    void reconcileUnreadCounts();
+}
@@ -0,0 +1,17 @@
+package gr.atc.t4m.service.interfaces;
+
+import gr.atc.t4m.dto.WebSocketDeliveryDto;
+
+import java.util.Collection;
+import java.util.Map;
+
+public interface IWebSocketFanOutService {
+
+    boolean isEnabled();
+
+    void publish(Collection<String> destinations, Collection<String> userIds, Object payload);
+
+    void publishPerUser(String destination, Map<String, ?> payloads);
+
+    boolean deliver(WebSocketDeliveryDto delivery);
+}
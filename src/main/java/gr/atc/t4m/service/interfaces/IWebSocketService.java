@@ -1,8 +1,16 @@
 package gr.atc.t4m.service.interfaces;
 
+import gr.atc.t4m.dto.UnreadCountDto;
+
+import java.util.Collection;
+
 public interface IWebSocketService {
 
     void notifyUsersAndRolesViaWebSocket(String message, String topicName);
 
     void notifyUserViaWebSocket(String userId, String message);
+
+    void notifyViaWebSocket(byte[] payload, Collection<String> topicNames, Collection<String> userIds);
+
+    void notifyUnreadCountsViaWebSocket(Collection<UnreadCountDto> unreadCounts);
 }
@@ -0,0 +1,61 @@
+package gr.atc.t4m.utils;
+
+import jakarta.validation.ValidationException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Map;
+
+/*
+ * Utility class to convert the position of a Notification in the inbox (timestamp, id) to an opaque cursor and vice versa
+ */
+public class CursorUtils {
+
+    private static final String TIMESTAMP = "timestamp";
+    private static final String ID = "id";
+    private static final String SEPARATOR = ",";
+    private static final String INVALID_CURSOR = "Invalid cursor";
+
+    private CursorUtils() {}
+
+    /**
+     * Encode the position of a Notification to an opaque cursor
+     *
+     * @param timestamp Timestamp of the Notification
+     * @param id ID of the Notification
+     * @return Cursor
+     */
+    public static String encode(OffsetDateTime timestamp, Long id) {
+        String position = timestamp.toInstant() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor to a keyset scroll position - Missing cursor corresponds to the start of the inbox
+     *
+     * @param cursor Cursor
+     * @return KeysetScrollPosition
+     * @throws ValidationException if the cursor is malformed
+     */
+    public static KeysetScrollPosition decode(String cursor) {
+        if (cursor == null || cursor.isBlank())
+            return ScrollPosition.keyset();
+
+        try {
+            String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(SEPARATOR);
+            if (position.length != 2)
+                throw new ValidationException(INVALID_CURSOR);
+
+            OffsetDateTime timestamp = Instant.parse(position[0]).atOffset(ZoneOffset.UTC);
+            return ScrollPosition.forward(Map.of(TIMESTAMP, timestamp, ID, Long.parseLong(position[1])));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ValidationException(INVALID_CURSOR);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package gr.atc.t4m.utils;
+
+/*
+ * Utility class to convert organization names to the Identity Manager specific format
+ */
+public class OrganizationUtils {
+
+    private OrganizationUtils() {}
+
+    /**
+     * Convert organization to Identity Manager specific format (e.g. ' test org ' -> 'TEST-ORG')
+     *
+     * @param organization Organization name
+     * @return Formatted organization
+     */
+    public static String formatOrganization(String organization) {
+        if (organization == null)
+            return null;
+        return String.join("-", organization.trim().toUpperCase().split("\\s+"));
+    }
+}
@@ -0,0 +1,71 @@
+-- Baseline schema of the Notification Service
+-- Statements use IF NOT EXISTS so databases previously created by Hibernate (ddl-auto=update) are baselined without changes
+-- Sequences are incremented by 50 to match the allocation size of the entities (pooled-lo optimizer)
+
+-- Event Mappings
+CREATE SEQUENCE IF NOT EXISTS event_mappings_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS event_mappings (
+    id BIGINT NOT NULL,
+    topic VARCHAR(50) NOT NULL,
+    description VARCHAR(200),
+    CONSTRAINT pk_event_mappings PRIMARY KEY (id),
+    CONSTRAINT uk_event_mappings_topic UNIQUE (topic)
+);
+
+-- The primary key also serves the lookup of the roles per Event Mapping
+CREATE TABLE IF NOT EXISTS event_mapping_user_roles (
+    event_mapping_id BIGINT NOT NULL,
+    user_roles VARCHAR(255) NOT NULL,
+    CONSTRAINT pk_event_mapping_user_roles PRIMARY KEY (event_mapping_id, user_roles),
+    CONSTRAINT fk_event_mapping_user_roles_mapping FOREIGN KEY (event_mapping_id) REFERENCES event_mappings (id)
+);
+
+-- Notification content, stored once per event
+CREATE SEQUENCE IF NOT EXISTS notification_event_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS notification_event (
+    id BIGINT NOT NULL,
+    source_component VARCHAR(30) NOT NULL,
+    type VARCHAR(30) NOT NULL,
+    description VARCHAR(200),
+    timestamp TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    priority VARCHAR(10),
+    CONSTRAINT pk_notification_event PRIMARY KEY (id)
+);
+
+-- Notification per recipient - The sequence of the legacy 'notifications' table is reused so existing IDs remain valid
+CREATE SEQUENCE IF NOT EXISTS notifications_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS notification_recipient (
+    id BIGINT NOT NULL,
+    event_id BIGINT NOT NULL,
+    user_id VARCHAR(50) NOT NULL,
+    user_name VARCHAR(50) NOT NULL,
+    notification_status VARCHAR(10) NOT NULL,
+    timestamp TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_notification_recipient PRIMARY KEY (id),
+    CONSTRAINT fk_notification_recipient_event FOREIGN KEY (event_id) REFERENCES notification_event (id)
+);
+
+-- Unread Notifications per user
+CREATE TABLE IF NOT EXISTS notification_unread_counter (
+    user_id VARCHAR(50) NOT NULL,
+    unread_count BIGINT NOT NULL,
+    CONSTRAINT pk_notification_unread_counter PRIMARY KEY (user_id)
+);
+
+-- Notifications archived by the retention policies
+CREATE TABLE IF NOT EXISTS notification_archive (
+    id BIGINT NOT NULL,
+    user_id VARCHAR(50) NOT NULL,
+    user_name VARCHAR(50) NOT NULL,
+    notification_status VARCHAR(10) NOT NULL,
+    source_component VARCHAR(30) NOT NULL,
+    type VARCHAR(30) NOT NULL,
+    description VARCHAR(200),
+    timestamp TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    priority VARCHAR(10),
+    archived_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_notification_archive PRIMARY KEY (id)
+);
@@ -0,0 +1,26 @@
+-- Indexes for the user inbox queries
+-- Indexes on 'notification_recipient' are defined on the parent table, so they are propagated to all partitions when it is partitioned
+
+-- All Notifications of a user ordered by timestamp (GET /api/notifications)
+-- Recipient columns are included so the inbox page and its count are served by index-only scans
+CREATE INDEX IF NOT EXISTS idx_notification_recipient_user_timestamp
+    ON notification_recipient (user_id, timestamp DESC, id DESC)
+    INCLUDE (event_id, user_name, notification_status);
+
+-- Unread Notifications of a user ordered by timestamp (GET /api/notifications/unread)
+CREATE INDEX IF NOT EXISTS idx_notification_recipient_user_unread
+    ON notification_recipient (user_id, timestamp DESC, id DESC)
+    INCLUDE (event_id, user_name)
+    WHERE notification_status = 'Unread';
+
+-- Recipients per event (joins and event clean-up)
+CREATE INDEX IF NOT EXISTS idx_notification_recipient_event
+    ON notification_recipient (event_id);
+
+-- Notifications older than a point in time (retention policies and SUPER_ADMIN listing ordered by timestamp)
+CREATE INDEX IF NOT EXISTS idx_notification_recipient_timestamp
+    ON notification_recipient (timestamp, id);
+
+-- Archived Notifications of a user ordered by timestamp
+CREATE INDEX IF NOT EXISTS idx_notification_archive_user_timestamp
+    ON notification_archive (user_id, timestamp DESC);
@@ -0,0 +1,5 @@
+-- Seed the Unread counters once from the stored Notifications
+-- Counters are maintained incrementally afterward, so existing counters are left untouched
+INSERT INTO notification_unread_counter (user_id, unread_count)
+SELECT user_id, count(*) FROM notification_recipient WHERE notification_status = 'Unread' GROUP BY user_id
+ON CONFLICT (user_id) DO NOTHING;
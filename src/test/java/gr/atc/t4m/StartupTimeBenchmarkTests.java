@@ -0,0 +1,89 @@
+package gr.atc.t4m;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.kafka.KafkaContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the startup time of the application when Hibernate updates the schema (ddl-auto=update)
+ * and when the schema is managed by the Flyway migrations and only validated by Hibernate (ddl-auto=validate).
+ * Executed only when the 'benchmarks' system property is set: mvn test -Dbenchmarks=true -Dtest=StartupTimeBenchmarkTests
+ * The number of measured startups per mode can be adjusted with -Dbenchmarks.startups (default 5)
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+@DisplayName("Startup Time Benchmark Tests")
+class StartupTimeBenchmarkTests {
+
+    private static final int STARTUPS = Integer.getInteger("benchmarks.startups", 5);
+
+    private final PostgreSQLContainer<?> postgresContainer = new PostgreSQLContainer<>(DockerImageName.parse("postgres:latest"));
+
+    private final KafkaContainer kafkaContainer = new KafkaContainer(DockerImageName.parse("apache/kafka-native:latest"));
+
+    @BeforeAll
+    void startContainers() {
+        postgresContainer.start();
+        kafkaContainer.start();
+
+        // Create the schema once so both modes start against an existing database, as in production
+        start("spring.flyway.enabled=true", "spring.jpa.hibernate.ddl-auto=validate").close();
+    }
+
+    @AfterAll
+    void stopContainers() {
+        kafkaContainer.stop();
+        postgresContainer.stop();
+    }
+
+    @DisplayName("Benchmark : Startup time with ddl-auto=update and with Flyway migrations")
+    @Test
+    void startupTime() {
+        double updateMedian = measureMedian("spring.flyway.enabled=false", "spring.jpa.hibernate.ddl-auto=update");
+        double validateMedian = measureMedian("spring.flyway.enabled=true", "spring.jpa.hibernate.ddl-auto=validate");
+        double noneMedian = measureMedian("spring.flyway.enabled=true", "spring.jpa.hibernate.ddl-auto=none");
+
+        System.out.printf("Startup time (median of %d): ddl-auto=update = %.0f ms, Flyway + validate = %.0f ms, Flyway + none = %.0f ms%n",
+                STARTUPS, updateMedian, validateMedian, noneMedian);
+        assertThat(noneMedian).isPositive();
+    }
+
+    private double measureMedian(String... properties) {
+        // Warm up
+        start(properties).close();
+
+        long[] durations = new long[STARTUPS];
+        for (int i = 0; i < STARTUPS; i++) {
+            long start = System.nanoTime();
+            ConfigurableApplicationContext context = start(properties);
+            durations[i] = System.nanoTime() - start;
+            context.close();
+        }
+        Arrays.sort(durations);
+        return durations[STARTUPS / 2] / 1_000_000.0;
+    }
+
+    private ConfigurableApplicationContext start(String... properties) {
+        return new SpringApplicationBuilder(T4mNotificationServiceApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=" + postgresContainer.getJdbcUrl(),
+                        "spring.datasource.username=" + postgresContainer.getUsername(),
+                        "spring.datasource.password=" + postgresContainer.getPassword(),
+                        "spring.kafka.bootstrap-servers=" + kafkaContainer.getBootstrapServers())
+                .properties(properties)
+                .run();
+    }
+}
@@ -3,6 +3,7 @@ package gr.atc.t4m;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
 import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.DynamicPropertyRegistrar;
 import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.kafka.KafkaContainer;
 import org.testcontainers.utility.DockerImageName;
@@ -22,4 +23,10 @@ public class TestcontainersConfiguration {
 		return new PostgreSQLContainer<>(DockerImageName.parse("postgres:latest"));
 	}
 
+	// The Kafka consumer factories are built from 'spring.kafka.bootstrap-servers' (KafkaProperties) and not from the service connection
+	@Bean
+	public DynamicPropertyRegistrar kafkaBootstrapServersRegistrar(KafkaContainer kafkaContainer) {
+		return registry -> registry.add("spring.kafka.bootstrap-servers", kafkaContainer::getBootstrapServers);
+	}
+
 }
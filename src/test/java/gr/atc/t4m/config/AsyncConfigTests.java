@@ -0,0 +1,143 @@
+package gr.atc.t4m.config;
+
+import gr.atc.t4m.config.properties.AsyncProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AsyncConfigTests {
+
+    private ThreadPoolTaskExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        if (executor != null)
+            executor.shutdown();
+    }
+
+    @DisplayName("Async Properties : Defaults are applied when values are missing")
+    @Test
+    void givenMissingValues_whenCreateProperties_thenApplyDefaults() {
+        // When
+        AsyncProperties properties = new AsyncProperties(0, 0, 0, null, false, null, null);
+
+        // Then
+        assertThat(properties.corePoolSize()).isEqualTo(8);
+        assertThat(properties.maxPoolSize()).isEqualTo(16);
+        assertThat(properties.queueCapacity()).isEqualTo(1000);
+        assertThat(properties.rejectionPolicy()).isEqualTo(AsyncProperties.RejectionPolicy.CALLER_RUNS);
+        assertThat(properties.awaitTermination()).isEqualTo(Duration.ofSeconds(10));
+    }
+
+    @DisplayName("Async Executor : Pool and queue limits are applied from properties")
+    @Test
+    void givenProperties_whenCreateExecutor_thenApplyLimits() {
+        // When
+        executor = new AsyncConfig(properties(AsyncProperties.RejectionPolicy.CALLER_RUNS)).asyncTaskExecutor();
+
+        // Then
+        assertThat(executor.getCorePoolSize()).isEqualTo(1);
+        assertThat(executor.getMaxPoolSize()).isEqualTo(1);
+        assertThat(executor.getQueueCapacity()).isEqualTo(1);
+        assertThat(executor.getThreadNamePrefix()).isEqualTo("t4m-async-");
+    }
+
+    @DisplayName("Async Executor : Caller runs the task once the queue is full and the rejection is counted")
+    @Test
+    void givenFullQueue_whenCallerRunsPolicy_thenTaskRunsOnCallerAndRejectionIsCounted() throws InterruptedException {
+        // Given
+        AsyncConfig asyncConfig = new AsyncConfig(properties(AsyncProperties.RejectionPolicy.CALLER_RUNS));
+        executor = asyncConfig.asyncTaskExecutor();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        asyncConfig.asyncExecutorMetrics().bindTo(meterRegistry);
+        CountDownLatch release = blockExecutor(() -> { });
+
+        // When
+        AtomicReference<Thread> runner = new AtomicReference<>();
+        executor.execute(() -> runner.set(Thread.currentThread()));
+        release.countDown();
+
+        // Then
+        assertThat(runner.get()).isEqualTo(Thread.currentThread());
+        FunctionCounter rejected = meterRegistry.get("executor.rejected").tags("name", "async", "policy", "caller_runs").functionCounter();
+        assertThat(rejected.count()).isEqualTo(1);
+    }
+
+    @DisplayName("Async Executor : Oldest queued task is discarded once the queue is full")
+    @Test
+    void givenFullQueue_whenDiscardOldestPolicy_thenOldestTaskIsDiscarded() throws InterruptedException {
+        // Given
+        executor = new AsyncConfig(properties(AsyncProperties.RejectionPolicy.DISCARD_OLDEST)).asyncTaskExecutor();
+        CountDownLatch oldest = new CountDownLatch(1);
+        CountDownLatch release = blockExecutor(oldest::countDown);
+
+        // When
+        CountDownLatch newest = new CountDownLatch(1);
+        executor.execute(newest::countDown);
+        release.countDown();
+
+        // Then
+        assertThat(newest.await(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(oldest.getCount()).isEqualTo(1);
+    }
+
+    @DisplayName("Async Metrics : Only the rejected tasks counter is registered on top of the Spring Boot executor metrics")
+    @Test
+    void givenMeterRegistry_whenBindMetrics_thenRegisterOnlyRejectedCounter() {
+        // Given
+        AsyncConfig asyncConfig = new AsyncConfig(properties(AsyncProperties.RejectionPolicy.CALLER_RUNS));
+        executor = asyncConfig.asyncTaskExecutor();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        // When
+        asyncConfig.asyncExecutorMetrics().bindTo(meterRegistry);
+
+        // Then
+        assertThat(meterRegistry.getMeters())
+                .extracting(meter -> meter.getId().getName())
+                .containsExactly("executor.rejected");
+    }
+
+    @DisplayName("Async Properties : Max pool size lower than the core pool size is raised to the core pool size")
+    @Test
+    void givenMaxPoolSizeBelowCorePoolSize_whenCreateProperties_thenUseCorePoolSize() {
+        // When
+        AsyncProperties properties = new AsyncProperties(8, 4, 0, null, false, null, null);
+
+        // Then
+        assertThat(properties.maxPoolSize()).isEqualTo(8);
+    }
+
+    private static AsyncProperties properties(AsyncProperties.RejectionPolicy rejectionPolicy) {
+        return new AsyncProperties(1, 1, 1, Duration.ofSeconds(60), false, rejectionPolicy, Duration.ofSeconds(1));
+    }
+
+    /*
+     * Helper method to occupy the single worker and fill the queue with the given task until the returned latch is released
+     */
+    private CountDownLatch blockExecutor(Runnable queuedTask) throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertThat(started.await(1, TimeUnit.SECONDS)).isTrue();
+        executor.execute(queuedTask);
+        return release;
+    }
+}
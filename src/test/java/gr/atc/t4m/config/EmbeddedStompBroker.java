@@ -0,0 +1,50 @@
+package gr.atc.t4m.config;
+
+import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
+import org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+
+/**
+ * In-memory ActiveMQ Artemis broker with a STOMP acceptor, standing in for the external broker of the relay mode.
+ * '/topic/' destinations are multicast (pub-sub) and '/queue/' destinations anycast, as in RabbitMQ.
+ */
+class EmbeddedStompBroker implements AutoCloseable {
+
+    private final EmbeddedActiveMQ server = new EmbeddedActiveMQ();
+
+    private final int port;
+
+    EmbeddedStompBroker() throws Exception {
+        this.port = freePort();
+        server.setConfiguration(new ConfigurationImpl()
+                .setPersistenceEnabled(false)
+                .setSecurityEnabled(false)
+                .setJournalDirectory("target/artemis/journal")
+                .setBindingsDirectory("target/artemis/bindings")
+                .setLargeMessagesDirectory("target/artemis/large-messages")
+                .setPagingDirectory("target/artemis/paging")
+                .addAcceptorConfiguration("stomp", "tcp://localhost:" + port
+                        + "?protocols=STOMP;anycastPrefix=/queue/;multicastPrefix=/topic/"));
+        server.start();
+    }
+
+    int port() {
+        return port;
+    }
+
+    @Override
+    public void close() throws Exception {
+        server.stop();
+    }
+
+    private static int freePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
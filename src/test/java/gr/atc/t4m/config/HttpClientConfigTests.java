@@ -0,0 +1,85 @@
+package gr.atc.t4m.config;
+
+import gr.atc.t4m.config.properties.HttpClientProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HttpClientConfigTests {
+
+    private HttpClientConfig httpClientConfig;
+
+    private PoolingHttpClientConnectionManager connectionManager;
+
+    @BeforeEach
+    void setUp() {
+        HttpClientProperties properties = new HttpClientProperties(30, 10, Duration.ofSeconds(1), Duration.ofSeconds(3),
+                Duration.ofSeconds(1), Duration.ofSeconds(20), Duration.ofSeconds(30), Duration.ofSeconds(2));
+        httpClientConfig = new HttpClientConfig(properties);
+        connectionManager = httpClientConfig.httpClientConnectionManager();
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionManager.close();
+    }
+
+    @DisplayName("HTTP Client Properties : Defaults are applied when values are missing")
+    @Test
+    void givenMissingValues_whenCreateProperties_thenApplyDefaults() {
+        // When
+        HttpClientProperties properties = new HttpClientProperties(0, 0, null, null, null, null, null, null);
+
+        // Then
+        assertThat(properties.maxConnections()).isEqualTo(50);
+        assertThat(properties.maxConnectionsPerRoute()).isEqualTo(20);
+        assertThat(properties.connectTimeout()).isEqualTo(Duration.ofSeconds(2));
+        assertThat(properties.readTimeout()).isEqualTo(Duration.ofSeconds(5));
+        assertThat(properties.keepAlive()).isEqualTo(Duration.ofSeconds(30));
+    }
+
+    @DisplayName("Connection Manager : Pool limits are applied from properties")
+    @Test
+    void givenProperties_whenCreateConnectionManager_thenApplyPoolLimits() {
+        // Then
+        assertThat(connectionManager.getMaxTotal()).isEqualTo(30);
+        assertThat(connectionManager.getDefaultMaxPerRoute()).isEqualTo(10);
+    }
+
+    @DisplayName("Rest Template : Backed by the pooled HTTP Client")
+    @Test
+    void givenHttpClient_whenCreateRestTemplate_thenUseHttpComponentsFactory() {
+        // When
+        RestTemplate restTemplate = httpClientConfig.restTemplate(new RestTemplateBuilder(),
+                httpClientConfig.httpClient(connectionManager));
+
+        // Then
+        assertThat(restTemplate.getRequestFactory()).isInstanceOf(HttpComponentsClientHttpRequestFactory.class);
+    }
+
+    @DisplayName("Pool Metrics : Connection pool gauges are registered")
+    @Test
+    void givenMeterRegistry_whenBindPoolMetrics_thenRegisterGauges() {
+        // Given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        // When
+        httpClientConfig.httpClientPoolMetrics(connectionManager).bindTo(meterRegistry);
+
+        // Then
+        Gauge maxTotal = meterRegistry.find("httpcomponents.httpclient.pool.total.max").tag("httpclient", "t4m-http-client").gauge();
+        assertThat(maxTotal).isNotNull();
+        assertThat(maxTotal.value()).isEqualTo(30.0);
+    }
+}
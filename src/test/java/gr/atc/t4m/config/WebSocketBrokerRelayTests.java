@@ -0,0 +1,141 @@
+package gr.atc.t4m.config;
+
+import gr.atc.t4m.TestcontainersConfiguration;
+import gr.atc.t4m.service.interfaces.IWebSocketService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.messaging.converter.StringMessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.messaging.simp.stomp.ReactorNettyTcpStompClient;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.lang.reflect.Type;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Broker relay mode against an embedded STOMP broker - Messages published by any replica reach the clients of all replicas.
+ * Another replica is simulated by a STOMP client connected directly to the broker.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "notification.websocket.broker=relay")
+@Import(TestcontainersConfiguration.class)
+@DisplayName("WebSocket Broker Relay Tests")
+class WebSocketBrokerRelayTests {
+
+    private static final String DESTINATION = "/topic/notifications/TEST-ORG";
+
+    private static EmbeddedStompBroker broker;
+
+    @MockitoBean
+    private JwtDecoder jwtDecoder;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private IWebSocketService webSocketService;
+
+    private WebSocketStompClient webSocketClient;
+
+    private ReactorNettyTcpStompClient brokerClient;
+
+    @DynamicPropertySource
+    static void brokerProperties(DynamicPropertyRegistry registry) throws Exception {
+        broker = new EmbeddedStompBroker();
+        registry.add("notification.websocket.relay.host", () -> "localhost");
+        registry.add("notification.websocket.relay.port", broker::port);
+    }
+
+    @AfterAll
+    static void stopBroker() throws Exception {
+        if (broker != null)
+            broker.close();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (webSocketClient != null)
+            webSocketClient.stop();
+        if (brokerClient != null)
+            brokerClient.shutdown();
+    }
+
+    @DisplayName("Broker Relay : Notification sent by this replica is delivered through the broker")
+    @Test
+    void givenSubscriberOnBroker_whenNotifyViaWebSocket_thenMessageIsDelivered() throws Exception {
+        // Given
+        BlockingQueue<String> received = new LinkedBlockingQueue<>();
+        subscribe(connectToBroker(), received);
+
+        // When
+        webSocketService.notifyUsersAndRolesViaWebSocket("Test notification", "TEST-ORG");
+
+        // Then
+        assertThat(received.poll(10, TimeUnit.SECONDS)).isEqualTo("Test notification");
+    }
+
+    @DisplayName("Broker Relay : Notification sent by another replica is delivered to clients of this replica")
+    @Test
+    void givenClientOnThisReplica_whenOtherReplicaPublishes_thenMessageIsDelivered() throws Exception {
+        // Given
+        BlockingQueue<String> received = new LinkedBlockingQueue<>();
+        subscribe(connectToApplication(), received);
+
+        // When
+        connectToBroker().send(DESTINATION, "Notification from another replica");
+
+        // Then
+        assertThat(received.poll(10, TimeUnit.SECONDS)).isEqualTo("Notification from another replica");
+    }
+
+    private StompSession connectToApplication() throws Exception {
+        webSocketClient = new WebSocketStompClient(new StandardWebSocketClient());
+        webSocketClient.setMessageConverter(new StringMessageConverter());
+        return webSocketClient.connectAsync("ws://localhost:" + port + "/notifications/websocket", new StompSessionHandlerAdapter() {})
+                .get(10, TimeUnit.SECONDS);
+    }
+
+    private StompSession connectToBroker() throws Exception {
+        brokerClient = new ReactorNettyTcpStompClient("localhost", broker.port());
+        brokerClient.setMessageConverter(new StringMessageConverter());
+        return brokerClient.connectAsync(new StompSessionHandlerAdapter() {}).get(10, TimeUnit.SECONDS);
+    }
+
+    /*
+     * Helper method to subscribe and wait for the broker to confirm the subscription
+     */
+    private void subscribe(StompSession session, BlockingQueue<String> received) throws Exception {
+        session.setAutoReceipt(true);
+        CompletableFuture<Void> subscribed = new CompletableFuture<>();
+        session.subscribe(DESTINATION, new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return String.class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                received.add((String) payload);
+            }
+        }).addReceiptTask(() -> subscribed.complete(null));
+        subscribed.get(10, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,130 @@
+package gr.atc.t4m.config;
+
+import gr.atc.t4m.config.properties.WebSocketProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.SessionLimitExceededException;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+class WebSocketSessionMetricsTests {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private WebSocketSessionMetrics webSocketSessionMetrics;
+
+    private WebSocketHandler delegate;
+
+    private WebSocketHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        webSocketSessionMetrics = new WebSocketSessionMetrics(meterRegistry, new WebSocketProperties(null, null, null, null, null));
+        delegate = mock(WebSocketHandler.class);
+        handler = webSocketSessionMetrics.decorate(delegate);
+    }
+
+    @DisplayName("Session Metrics : Open sessions are counted and the delegate is invoked")
+    @Test
+    void givenOpenedAndClosedSessions_whenDecorated_thenCountOpenSessions() throws Exception {
+        // Given
+        WebSocketSession first = mockSession("first");
+        WebSocketSession second = mockSession("second");
+
+        // When
+        handler.afterConnectionEstablished(first);
+        handler.afterConnectionEstablished(second);
+        handler.afterConnectionClosed(first, CloseStatus.NORMAL);
+
+        // Then
+        assertThat(meterRegistry.get("notification.websocket.sessions").gauge().value()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("notification.websocket.sessions.dropped").counters())
+                .allSatisfy(counter -> assertThat(counter.count()).isZero());
+        verify(delegate).afterConnectionEstablished(argThat(session -> session.getId().equals("second")));
+        verify(delegate).afterConnectionClosed(first, CloseStatus.NORMAL);
+    }
+
+    @DisplayName("Session Metrics : Sessions closed as not reliable without a blocked send are counted as not reliable")
+    @Test
+    void givenUnresponsiveSession_whenClosedAsNotReliable_thenCountNotReliableSession() throws Exception {
+        // Given
+        WebSocketSession session = mockSession("session");
+        handler.afterConnectionEstablished(session);
+
+        // When
+        handler.afterConnectionClosed(session, CloseStatus.SESSION_NOT_RELIABLE);
+
+        // Then
+        assertThat(webSocketSessionMetrics.getOpenSessions()).isZero();
+        assertThat(droppedSessions("not-reliable")).isEqualTo(1);
+        assertThat(droppedSessions("buffer-overflow")).isZero();
+    }
+
+    @DisplayName("Session Metrics : Sessions closed as not reliable while a send is blocked are counted as buffer overflow")
+    @Test
+    void givenSlowConsumerSession_whenBufferOverflows_thenCountBufferOverflowSession() throws Exception {
+        // Given
+        WebSocketSession session = mockSession("session");
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            sending.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(session).sendMessage(any());
+
+        ArgumentCaptor<WebSocketSession> sessionCaptor = ArgumentCaptor.forClass(WebSocketSession.class);
+        handler.afterConnectionEstablished(session);
+        verify(delegate).afterConnectionEstablished(sessionCaptor.capture());
+        WebSocketSession decoratedSession = new ConcurrentWebSocketSessionDecorator(sessionCaptor.getValue(), 60_000, 10);
+        Thread sender = Thread.ofVirtual().start(() -> sendQuietly(decoratedSession, "blocked"));
+        sending.await(5, TimeUnit.SECONDS);
+
+        // When - The buffered message exceeds the buffer size limit while the first send is blocked
+        assertThatThrownBy(() -> decoratedSession.sendMessage(new TextMessage("exceeds the buffer size limit")))
+                .isInstanceOf(SessionLimitExceededException.class);
+        handler.afterConnectionClosed(session, CloseStatus.SESSION_NOT_RELIABLE);
+        release.countDown();
+        sender.join();
+
+        // Then
+        assertThat(droppedSessions("buffer-overflow")).isEqualTo(1);
+        assertThat(droppedSessions("not-reliable")).isZero();
+        assertThat(droppedSessions("send-time-limit")).isZero();
+    }
+
+    private double droppedSessions(String reason) {
+        return meterRegistry.get("notification.websocket.sessions.dropped").tag("reason", reason).counter().count();
+    }
+
+    private static WebSocketSession mockSession(String id) {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn(id);
+        when(session.isOpen()).thenReturn(true);
+        return session;
+    }
+
+    private static void sendQuietly(WebSocketSession session, String payload) {
+        try {
+            session.sendMessage(new TextMessage(payload));
+        } catch (Exception ignored) {
+            // The outcome of the blocked send is irrelevant
+        }
+    }
+}
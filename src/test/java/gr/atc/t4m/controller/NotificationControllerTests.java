@@ -5,7 +5,9 @@ import gr.atc.t4m.dto.NotificationDto;
 import gr.atc.t4m.enums.NotificationStatus;
 import gr.atc.t4m.enums.Priority;
 import gr.atc.t4m.service.interfaces.INotificationService;
+import gr.atc.t4m.utils.CursorUtils;
 import gr.atc.t4m.utils.JwtUtils;
+import jakarta.validation.ValidationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -16,13 +18,16 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.MediaType;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.Arrays;
 import java.util.Collections;
@@ -30,6 +35,7 @@ import java.util.List;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -478,4 +484,184 @@ class NotificationControllerTests {
         }
     }
 
-}
\ No newline at end of file
+    //========================= Cursor Pagination Tests ================================
+
+    @DisplayName("Get All Notifications With Cursor : Success with next cursor")
+    @Test
+    void whenRetrieveAllNotificationsWithCursor_thenReturnNotificationsAndNextCursor() throws Exception {
+        // Given
+        try (MockedStatic<JwtUtils> jwtUtilsMock = mockStatic(JwtUtils.class)) {
+            jwtUtilsMock.when(() -> JwtUtils.extractPilotRole(any(Jwt.class))).thenReturn("USER");
+            jwtUtilsMock.when(() -> JwtUtils.extractUserId(any(Jwt.class))).thenReturn("user123");
+
+            Window<NotificationDto> window = Window.from(List.of(sampleNotification), ScrollPosition::offset, true);
+            when(notificationService.retrieveAllNotificationsPerUserId(eq("user123"), any(ScrollPosition.class), eq(1)))
+                    .thenReturn(window);
+
+            // When & Then
+            mockMvc.perform(get("/api/notifications/cursor")
+                            .with(jwt().jwt(mockJwt))
+                            .param("limit", "1"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.success").value(true))
+                    .andExpect(jsonPath("$.data.results", hasSize(1)))
+                    .andExpect(jsonPath("$.data.hasNext").value(true))
+                    .andExpect(jsonPath("$.data.nextCursor").value(CursorUtils.encode(sampleNotification.getTimestamp(), sampleNotification.getId())))
+                    .andExpect(jsonPath("$.data.totalElements").doesNotExist());
+
+            verify(notificationService, never()).countAllNotificationsPerUserId(anyString());
+        }
+    }
+
+    @DisplayName("Get Unread Notifications With Cursor : Last window with total for SUPER_ADMIN")
+    @Test
+    void whenRetrieveUnreadNotificationsWithCursorAndTotal_thenReturnTotalWithoutNextCursor() throws Exception {
+        // Given
+        try (MockedStatic<JwtUtils> jwtUtilsMock = mockStatic(JwtUtils.class)) {
+            jwtUtilsMock.when(() -> JwtUtils.extractPilotRole(any(Jwt.class))).thenReturn("SUPER_ADMIN");
+            jwtUtilsMock.when(() -> JwtUtils.extractUserId(any(Jwt.class))).thenReturn("user123");
+
+            String cursor = CursorUtils.encode(sampleNotification.getTimestamp(), 5L);
+            Window<NotificationDto> window = Window.from(List.of(sampleNotification), ScrollPosition::offset, false);
+            when(notificationService.retrieveUnreadNotificationsPerUserId(eq("SUPER_ADMIN"), any(ScrollPosition.class), eq(10)))
+                    .thenReturn(window);
+            when(notificationService.countUnreadNotificationsPerUserId("SUPER_ADMIN")).thenReturn(6L);
+
+            // When & Then
+            mockMvc.perform(get("/api/notifications/unread/cursor")
+                            .with(jwt().jwt(mockJwt))
+                            .param("after", cursor)
+                            .param("includeTotal", "true"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.results", hasSize(1)))
+                    .andExpect(jsonPath("$.data.hasNext").value(false))
+                    .andExpect(jsonPath("$.data.nextCursor").doesNotExist())
+                    .andExpect(jsonPath("$.data.totalElements").value(6));
+        }
+    }
+
+    @DisplayName("Get All Notifications With Cursor : Invalid cursor")
+    @Test
+    void givenInvalidCursor_whenRetrieveAllNotificationsWithCursor_thenReturnBadRequest() throws Exception {
+        // Given
+        try (MockedStatic<JwtUtils> jwtUtilsMock = mockStatic(JwtUtils.class)) {
+            jwtUtilsMock.when(() -> JwtUtils.extractPilotRole(any(Jwt.class))).thenReturn("USER");
+            jwtUtilsMock.when(() -> JwtUtils.extractUserId(any(Jwt.class))).thenReturn("user123");
+
+            // When & Then
+            mockMvc.perform(get("/api/notifications/cursor")
+                            .with(jwt().jwt(mockJwt))
+                            .param("after", "not-a-cursor"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.success").value(false));
+
+            verify(notificationService, never()).retrieveAllNotificationsPerUserId(anyString(), any(ScrollPosition.class), anyInt());
+        }
+    }
+
+    //========================= Unread Count Tests ================================
+
+    @DisplayName("Get Unread Notifications Count : Success")
+    @Test
+    void whenRetrieveUnreadNotificationsCount_thenReturnCount() throws Exception {
+        // Given
+        try (MockedStatic<JwtUtils> jwtUtilsMock = mockStatic(JwtUtils.class)) {
+            jwtUtilsMock.when(() -> JwtUtils.extractPilotRole(any(Jwt.class))).thenReturn("USER");
+            jwtUtilsMock.when(() -> JwtUtils.extractUserId(any(Jwt.class))).thenReturn("user123");
+
+            when(notificationService.countUnreadNotificationsPerUserId("user123")).thenReturn(7L);
+
+            // When & Then
+            mockMvc.perform(get("/api/notifications/unread/count")
+                            .with(jwt().jwt(mockJwt)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.success").value(true))
+                    .andExpect(jsonPath("$.data.userId").value("user123"))
+                    .andExpect(jsonPath("$.data.unreadCount").value(7));
+        }
+    }
+
+    //========================= Bulk Operations Tests ================================
+
+    @DisplayName("Update Notifications Status To Read : Success by IDs")
+    @Test
+    void givenIds_whenUpdateNotificationsStatusToRead_thenReturnAffectedCount() throws Exception {
+        // Given
+        try (MockedStatic<JwtUtils> jwtUtilsMock = mockStatic(JwtUtils.class)) {
+            jwtUtilsMock.when(() -> JwtUtils.extractPilotRole(any(Jwt.class))).thenReturn("USER");
+            jwtUtilsMock.when(() -> JwtUtils.extractUserId(any(Jwt.class))).thenReturn("user123");
+
+            when(notificationService.updateNotificationsStatusToRead("user123", List.of(1L, 2L), null, false)).thenReturn(2);
+
+            // When & Then
+            mockMvc.perform(put("/api/notifications/read")
+                            .with(jwt().jwt(mockJwt))
+                            .param("ids", "1", "2"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.success").value(true))
+                    .andExpect(jsonPath("$.message").value("Notifications status updated successfully"))
+                    .andExpect(jsonPath("$.data.affectedNotifications").value(2));
+        }
+    }
+
+    @DisplayName("Update Notifications Status To Read : Both IDs and timestamp provided")
+    @Test
+    void givenIdsAndTimestamp_whenUpdateNotificationsStatusToRead_thenReturnBadRequest() throws Exception {
+        // Given
+        try (MockedStatic<JwtUtils> jwtUtilsMock = mockStatic(JwtUtils.class)) {
+            jwtUtilsMock.when(() -> JwtUtils.extractPilotRole(any(Jwt.class))).thenReturn("USER");
+            jwtUtilsMock.when(() -> JwtUtils.extractUserId(any(Jwt.class))).thenReturn("user123");
+
+            when(notificationService.updateNotificationsStatusToRead(eq("user123"), any(), any(), anyBoolean()))
+                    .thenThrow(new ValidationException("Notifications can be selected either by IDs or by timestamp"));
+
+            // When & Then
+            mockMvc.perform(put("/api/notifications/read")
+                            .with(jwt().jwt(mockJwt))
+                            .param("ids", "1")
+                            .param("before", "2025-01-01T00:00:00Z"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.success").value(false));
+        }
+    }
+
+    @DisplayName("Delete Notifications : Success before timestamp for SUPER_ADMIN")
+    @Test
+    void givenTimestampAndSuperAdmin_whenDeleteNotifications_thenReturnAffectedCount() throws Exception {
+        // Given
+        try (MockedStatic<JwtUtils> jwtUtilsMock = mockStatic(JwtUtils.class)) {
+            jwtUtilsMock.when(() -> JwtUtils.extractPilotRole(any(Jwt.class))).thenReturn("SUPER_ADMIN");
+            jwtUtilsMock.when(() -> JwtUtils.extractUserId(any(Jwt.class))).thenReturn("user123");
+
+            OffsetDateTime before = OffsetDateTime.parse("2025-01-01T00:00:00Z");
+            when(notificationService.deleteNotifications("SUPER_ADMIN", null, before, false)).thenReturn(15);
+
+            // When & Then
+            mockMvc.perform(delete("/api/notifications")
+                            .with(jwt().jwt(mockJwt))
+                            .param("before", "2025-01-01T00:00:00Z"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.message").value("Notifications deleted successfully"))
+                    .andExpect(jsonPath("$.data.affectedNotifications").value(15));
+        }
+    }
+
+    @DisplayName("Delete Notifications : All notifications only with explicit 'all=true'")
+    @Test
+    void givenAllFlag_whenDeleteNotifications_thenDeleteAllNotifications() throws Exception {
+        // Given
+        try (MockedStatic<JwtUtils> jwtUtilsMock = mockStatic(JwtUtils.class)) {
+            jwtUtilsMock.when(() -> JwtUtils.extractPilotRole(any(Jwt.class))).thenReturn("USER");
+            jwtUtilsMock.when(() -> JwtUtils.extractUserId(any(Jwt.class))).thenReturn("user123");
+
+            when(notificationService.deleteNotifications("user123", null, null, true)).thenReturn(4);
+
+            // When & Then
+            mockMvc.perform(delete("/api/notifications")
+                            .with(jwt().jwt(mockJwt))
+                            .param("all", "true"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.affectedNotifications").value(4));
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package gr.atc.t4m.controller;
+
+import gr.atc.t4m.service.interfaces.IRecipientCacheService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(RecipientCacheController.class)
+@DisplayName("Recipient Cache Controller Tests")
+@EnableMethodSecurity
+class RecipientCacheControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private IRecipientCacheService recipientCacheService;
+
+    @DisplayName("Invalidate Recipient Cache : Success for all organizations")
+    @Test
+    @WithMockUser(roles = "SUPER_ADMIN")
+    void givenSuperAdmin_whenInvalidateRecipientCache_thenInvalidateAll() throws Exception {
+        // When & Then
+        mockMvc.perform(delete("/api/recipient-cache")
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.message").value("Recipient cache invalidated successfully"));
+
+        verify(recipientCacheService).invalidateAll();
+        verify(recipientCacheService, never()).invalidateOrganization(any());
+    }
+
+    @DisplayName("Invalidate Recipient Cache : Success for specific organization")
+    @Test
+    @WithMockUser(roles = "SUPER_ADMIN")
+    void givenSuperAdminAndOrganization_whenInvalidateRecipientCache_thenInvalidateOrganization() throws Exception {
+        // When & Then
+        mockMvc.perform(delete("/api/recipient-cache")
+                        .param("organization", "test org")
+                        .with(csrf()))
+                .andExpect(status().isOk());
+
+        verify(recipientCacheService).invalidateOrganization("TEST-ORG");
+        verify(recipientCacheService, never()).invalidateAll();
+    }
+
+    @DisplayName("Invalidate Recipient Cache : Forbidden for non Super-Admins")
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void givenAdmin_whenInvalidateRecipientCache_thenReturnForbidden() throws Exception {
+        // When & Then
+        mockMvc.perform(delete("/api/recipient-cache")
+                        .with(csrf()))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(recipientCacheService);
+    }
+}
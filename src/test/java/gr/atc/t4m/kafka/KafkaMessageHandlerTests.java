@@ -1,10 +1,14 @@
 package gr.atc.t4m.kafka;
 
+import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import gr.atc.t4m.config.ObjectMapperConfig;
 import gr.atc.t4m.config.properties.KafkaProperties;
+import gr.atc.t4m.config.properties.WebSocketProperties;
 import gr.atc.t4m.dto.EventDto;
 import gr.atc.t4m.dto.EventMappingDto;
 import gr.atc.t4m.dto.NotificationDto;
+import gr.atc.t4m.dto.NotificationRecipientsDto;
 import gr.atc.t4m.dto.UserDto;
 import gr.atc.t4m.enums.NotificationStatus;
 import gr.atc.t4m.enums.Priority;
@@ -13,6 +17,8 @@ import gr.atc.t4m.exception.CustomExceptions.ResourceNotFoundException;
 import gr.atc.t4m.service.interfaces.IEventMappingService;
 import gr.atc.t4m.service.interfaces.INotificationService;
 import gr.atc.t4m.service.interfaces.IWebSocketService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -23,6 +29,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.kafka.test.context.EmbeddedKafka;
 import org.springframework.test.context.TestPropertySource;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.util.*;
@@ -59,11 +66,13 @@ public class KafkaMessageHandlerTests {
     private KafkaProperties.Consumer consumer;
 
     private ObjectMapper objectMapper;
+    private SimpleMeterRegistry meterRegistry;
     private KafkaMessageHandler kafkaMessageHandler;
 
     @BeforeEach
     void setUp() {
-        objectMapper = new ObjectMapper();
+        objectMapper = new ObjectMapperConfig().objectMapper();
+        meterRegistry = new SimpleMeterRegistry();
 
         // Mock KafkaProperties
         when(kafkaProperties.consumer()).thenReturn(consumer);
@@ -74,7 +83,9 @@ public class KafkaMessageHandlerTests {
                 eventMappingService,
                 objectMapper,
                 kafkaProperties,
-                webSocketService
+                new WebSocketProperties(null, null, null, null, null),
+                webSocketService,
+                meterRegistry
         );
     }
 
@@ -90,7 +101,7 @@ public class KafkaMessageHandlerTests {
                 .userRoles(userRoles)
                 .build();
 
-        when(eventMappingService.retrieveEventMappingByTopic(topic)).thenReturn(eventMapping);
+        when(eventMappingService.retrieveUserRolesByTopic(topic)).thenReturn(eventMapping.getUserRoles());
         when(notificationService.retrieveUserIdsPerUserRolesAndOrganization(userRoles, "TEST_ORG"))
                 .thenReturn(users);
 
@@ -98,7 +109,7 @@ public class KafkaMessageHandlerTests {
         kafkaMessageHandler.consume(validEvent, topic);
 
         // Then
-        verify(eventMappingService).retrieveEventMappingByTopic(topic);
+        verify(eventMappingService).retrieveUserRolesByTopic(topic);
         verify(notificationService).retrieveUserIdsPerUserRolesAndOrganization(userRoles, "TEST_ORG");
 
         ArgumentCaptor<List<UserDto>> usersCaptor = ArgumentCaptor.forClass(List.class);
@@ -123,7 +134,7 @@ public class KafkaMessageHandlerTests {
         String topic = "test-topic";
         List<UserDto> users = createTestUsers();
 
-        when(eventMappingService.retrieveEventMappingByTopic(topic))
+        when(eventMappingService.retrieveUserRolesByTopic(topic))
                 .thenThrow(new ResourceNotFoundException("Mapping not found"));
         when(notificationService.retrieveUserIdsPerOrganization("TEST_ORG"))
                 .thenReturn(users);
@@ -132,7 +143,7 @@ public class KafkaMessageHandlerTests {
         kafkaMessageHandler.consume(validEvent, topic);
 
         // Then
-        verify(eventMappingService).retrieveEventMappingByTopic(topic);
+        verify(eventMappingService).retrieveUserRolesByTopic(topic);
         verify(eventMappingService).createDefaultNotificationMappingAsync(topic);
         verify(notificationService).retrieveUserIdsPerOrganization("TEST_ORG");
         verify(notificationService).createNotificationsForEachUser(any(), any(NotificationDto.class));
@@ -150,7 +161,7 @@ public class KafkaMessageHandlerTests {
                 .userRoles(userRoles)
                 .build();
 
-        when(eventMappingService.retrieveEventMappingByTopic(topic)).thenReturn(eventMapping);
+        when(eventMappingService.retrieveUserRolesByTopic(topic)).thenReturn(eventMapping.getUserRoles());
         when(notificationService.retrieveUserIdsPerOrganization("TEST_ORG"))
                 .thenReturn(users);
 
@@ -158,7 +169,7 @@ public class KafkaMessageHandlerTests {
         kafkaMessageHandler.consume(validEvent, topic);
 
         // Then
-        verify(eventMappingService).retrieveEventMappingByTopic(topic);
+        verify(eventMappingService).retrieveUserRolesByTopic(topic);
         verify(notificationService).retrieveUserIdsPerOrganization("TEST_ORG");
         verify(notificationService, never()).retrieveUserIdsPerUserRolesAndOrganization(any(), any());
         verify(notificationService).createNotificationsForEachUser(any(), any(NotificationDto.class));
@@ -181,7 +192,7 @@ public class KafkaMessageHandlerTests {
         kafkaMessageHandler.consume(invalidEvent, topic);
 
         // Then
-        verify(eventMappingService, never()).retrieveEventMappingByTopic(any());
+        verify(eventMappingService, never()).retrieveUserRolesByTopic(any());
         verify(notificationService, never()).createNotificationsForEachUser(any(), any());
     }
 
@@ -202,7 +213,7 @@ public class KafkaMessageHandlerTests {
         kafkaMessageHandler.consume(invalidEvent, topic);
 
         // Then
-        verify(eventMappingService, never()).retrieveEventMappingByTopic(any());
+        verify(eventMappingService, never()).retrieveUserRolesByTopic(any());
         verify(notificationService, never()).createNotificationsForEachUser(any(), any());
     }
 
@@ -223,7 +234,7 @@ public class KafkaMessageHandlerTests {
         kafkaMessageHandler.consume(invalidEvent, topic);
 
         // Then
-        verify(eventMappingService, never()).retrieveEventMappingByTopic(any());
+        verify(eventMappingService, never()).retrieveUserRolesByTopic(any());
         verify(notificationService, never()).createNotificationsForEachUser(any(), any());
     }
 
@@ -244,7 +255,7 @@ public class KafkaMessageHandlerTests {
         kafkaMessageHandler.consume(invalidEvent, topic);
 
         // Then
-        verify(eventMappingService, never()).retrieveEventMappingByTopic(any());
+        verify(eventMappingService, never()).retrieveUserRolesByTopic(any());
         verify(notificationService, never()).createNotificationsForEachUser(any(), any());
     }
 
@@ -265,7 +276,7 @@ public class KafkaMessageHandlerTests {
         kafkaMessageHandler.consume(invalidEvent, topic);
 
         // Then
-        verify(eventMappingService, never()).retrieveEventMappingByTopic(any());
+        verify(eventMappingService, never()).retrieveUserRolesByTopic(any());
         verify(notificationService, never()).createNotificationsForEachUser(any(), any());
     }
 
@@ -280,14 +291,14 @@ public class KafkaMessageHandlerTests {
                 .userRoles(userRoles)
                 .build();
 
-        when(eventMappingService.retrieveEventMappingByTopic(topic)).thenReturn(eventMapping);
+        when(eventMappingService.retrieveUserRolesByTopic(topic)).thenReturn(eventMapping.getUserRoles());
         when(notificationService.retrieveUserIdsPerUserRolesAndOrganization(userRoles, "TEST_ORG"))
                 .thenThrow(new ModelMappingException("Mapping error"));
 
         // When & Then - Should not throw exception
         assertDoesNotThrow(() -> kafkaMessageHandler.consume(validEvent, topic));
 
-        verify(eventMappingService).retrieveEventMappingByTopic(topic);
+        verify(eventMappingService).retrieveUserRolesByTopic(topic);
         verify(notificationService, never()).createNotificationsForEachUser(any(), any());
     }
 
@@ -302,14 +313,14 @@ public class KafkaMessageHandlerTests {
                 .userRoles(userRoles)
                 .build();
 
-        when(eventMappingService.retrieveEventMappingByTopic(topic)).thenReturn(eventMapping);
+        when(eventMappingService.retrieveUserRolesByTopic(topic)).thenReturn(eventMapping.getUserRoles());
         when(notificationService.retrieveUserIdsPerUserRolesAndOrganization(userRoles, "TEST_ORG"))
                 .thenThrow(new RuntimeException("Unexpected error"));
 
         // When & Then - Should not throw exception
         assertDoesNotThrow(() -> kafkaMessageHandler.consume(validEvent, topic));
 
-        verify(eventMappingService).retrieveEventMappingByTopic(topic);
+        verify(eventMappingService).retrieveUserRolesByTopic(topic);
         verify(notificationService, never()).createNotificationsForEachUser(any(), any());
     }
 
@@ -331,7 +342,7 @@ public class KafkaMessageHandlerTests {
                 .userRoles(userRoles)
                 .build();
 
-        when(eventMappingService.retrieveEventMappingByTopic(topic)).thenReturn(eventMapping);
+        when(eventMappingService.retrieveUserRolesByTopic(topic)).thenReturn(eventMapping.getUserRoles());
         when(notificationService.retrieveUserIdsPerUserRolesAndOrganization(userRoles, "TEST-ORG"))
                 .thenReturn(users);
 
@@ -354,7 +365,7 @@ public class KafkaMessageHandlerTests {
                 .userRoles(emptyUserRoles)
                 .build();
 
-        when(eventMappingService.retrieveEventMappingByTopic(topic)).thenReturn(eventMapping);
+        when(eventMappingService.retrieveUserRolesByTopic(topic)).thenReturn(eventMapping.getUserRoles());
         when(notificationService.retrieveUserIdsPerOrganization("TEST_ORG"))
                 .thenReturn(users);
 
@@ -362,7 +373,7 @@ public class KafkaMessageHandlerTests {
         kafkaMessageHandler.consume(validEvent, topic);
 
         // Then
-        verify(eventMappingService).retrieveEventMappingByTopic(topic);
+        verify(eventMappingService).retrieveUserRolesByTopic(topic);
         verify(eventMappingService).createDefaultNotificationMappingAsync(topic);
         verify(notificationService).retrieveUserIdsPerOrganization("TEST_ORG");
         verify(notificationService).createNotificationsForEachUser(any(List.class), any(NotificationDto.class));
@@ -386,7 +397,7 @@ public class KafkaMessageHandlerTests {
                 .userRoles(userRoles)
                 .build();
 
-        when(eventMappingService.retrieveEventMappingByTopic(topic)).thenReturn(eventMapping);
+        when(eventMappingService.retrieveUserRolesByTopic(topic)).thenReturn(eventMapping.getUserRoles());
         when(notificationService.retrieveUserIdsPerUserRolesAndOrganization(userRoles, "ANOTHER_ORG"))
                 .thenReturn(users);
 
@@ -408,6 +419,218 @@ public class KafkaMessageHandlerTests {
         assertThat(capturedNotification.getTimestamp()).isNotNull();
     }
 
+    @Test
+    @DisplayName("Batch : Should resolve recipients once per topic and organization and store all notifications together")
+    void givenBatchOfEvents_whenConsumeBatch_thenResolveRecipientsPerGroupAndStoreOnce() {
+        // Given
+        String topic = "test-topic";
+        Set<String> userRoles = Set.of("ADMIN");
+        EventMappingDto eventMapping = EventMappingDto.builder()
+                .userRoles(userRoles)
+                .build();
+        List<ConsumerRecord<String, EventDto>> records = List.of(
+                new ConsumerRecord<>(topic, 0, 0L, null, createValidEvent()),
+                new ConsumerRecord<>(topic, 0, 1L, null, createValidEvent()),
+                new ConsumerRecord<>(topic, 0, 2L, null, createEventForOrganization("OTHER_ORG")));
+
+        when(eventMappingService.retrieveUserRolesByTopic(topic)).thenReturn(eventMapping.getUserRoles());
+        when(notificationService.retrieveUserIdsPerUserRolesAndOrganization(eq(userRoles), anyString()))
+                .thenReturn(createTestUsers());
+
+        // When
+        kafkaMessageHandler.consumeBatch(records);
+
+        // Then
+        verify(eventMappingService, times(1)).retrieveUserRolesByTopic(topic);
+        verify(notificationService, times(1)).retrieveUserIdsPerUserRolesAndOrganization(userRoles, "TEST_ORG");
+        verify(notificationService, times(1)).retrieveUserIdsPerUserRolesAndOrganization(userRoles, "OTHER_ORG");
+
+        ArgumentCaptor<List<NotificationRecipientsDto>> batchCaptor = ArgumentCaptor.forClass(List.class);
+        verify(notificationService, times(1)).createNotificationsInBatch(batchCaptor.capture());
+        verify(notificationService, never()).createNotificationsForEachUser(any(), any());
+        assertThat(batchCaptor.getValue()).hasSize(3);
+        assertThat(meterRegistry.get("notification.pipeline.storage").tags("topic", topic, "mode", "batch").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.find("notification.pipeline.storage").tag("topic", "batch").timer()).isNull();
+    }
+
+    @Test
+    @DisplayName("Batch : Should discard invalid and undeserializable records without affecting the rest")
+    void givenBatchWithInvalidRecords_whenConsumeBatch_thenDiscardOnlyInvalidRecords() {
+        // Given
+        String topic = "test-topic";
+        Set<String> userRoles = Set.of("ALL");
+        EventMappingDto eventMapping = EventMappingDto.builder()
+                .userRoles(userRoles)
+                .build();
+        EventDto invalidEvent = EventDto.builder()
+                .priority("INVALID_PRIORITY")
+                .sourceComponent("TestComponent")
+                .organization("TEST_ORG")
+                .type("TEST_EVENT")
+                .build();
+        List<ConsumerRecord<String, EventDto>> records = List.of(
+                new ConsumerRecord<>(topic, 0, 0L, null, null),
+                new ConsumerRecord<>(topic, 0, 1L, null, invalidEvent),
+                new ConsumerRecord<>(topic, 0, 2L, null, createValidEvent()));
+
+        when(eventMappingService.retrieveUserRolesByTopic(topic)).thenReturn(eventMapping.getUserRoles());
+        when(notificationService.retrieveUserIdsPerOrganization("TEST_ORG")).thenReturn(createTestUsers());
+
+        // When
+        kafkaMessageHandler.consumeBatch(records);
+
+        // Then
+        ArgumentCaptor<List<NotificationRecipientsDto>> batchCaptor = ArgumentCaptor.forClass(List.class);
+        verify(notificationService).createNotificationsInBatch(batchCaptor.capture());
+        assertThat(batchCaptor.getValue()).hasSize(1);
+        verify(webSocketService).notifyViaWebSocket(any(byte[].class), eq(List.of("TEST_ORG", "SUPER_ADMIN")), eq(List.of()));
+    }
+
+    @Test
+    @DisplayName("Batch : Should fall back to per notification storage when the batch write fails")
+    void givenBatchWriteFailure_whenConsumeBatch_thenStoreNotificationsOneByOne() {
+        // Given
+        String topic = "test-topic";
+        Set<String> userRoles = Set.of("ALL");
+        EventMappingDto eventMapping = EventMappingDto.builder()
+                .userRoles(userRoles)
+                .build();
+        List<ConsumerRecord<String, EventDto>> records = List.of(
+                new ConsumerRecord<>(topic, 0, 0L, null, createValidEvent()),
+                new ConsumerRecord<>(topic, 0, 1L, null, createValidEvent()));
+
+        when(eventMappingService.retrieveUserRolesByTopic(topic)).thenReturn(eventMapping.getUserRoles());
+        when(notificationService.retrieveUserIdsPerOrganization("TEST_ORG")).thenReturn(createTestUsers());
+        doThrow(new RuntimeException("Batch insert failed")).when(notificationService).createNotificationsInBatch(any());
+        doThrow(new RuntimeException("Insert failed")).doNothing()
+                .when(notificationService).createNotificationsForEachUser(any(), any(NotificationDto.class));
+
+        // When & Then
+        assertDoesNotThrow(() -> kafkaMessageHandler.consumeBatch(records));
+        verify(notificationService, times(2)).createNotificationsForEachUser(any(), any(NotificationDto.class));
+    }
+
+    @Test
+    @DisplayName("Metrics : Should record the stages of a processed event per topic")
+    void shouldRecordPipelineMetricsForProcessedEvent() {
+        // Given
+        EventDto validEvent = createValidEvent();
+        String topic = "test-topic";
+        Set<String> userRoles = Set.of("ADMIN", "USER");
+
+        when(eventMappingService.retrieveUserRolesByTopic(topic)).thenReturn(userRoles);
+        when(notificationService.retrieveUserIdsPerUserRolesAndOrganization(userRoles, "TEST_ORG"))
+                .thenReturn(createTestUsers());
+
+        // When
+        kafkaMessageHandler.consume(validEvent, topic);
+
+        // Then
+        assertThat(meterRegistry.get("notification.pipeline.events").tags("topic", topic, "outcome", "processed").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("notification.pipeline.mapping.lookup").tag("topic", topic).timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("notification.pipeline.recipients.resolution")
+                .tags("topic", topic, "organization", "TEST_ORG", "roles", "2").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("notification.pipeline.storage").tags("topic", topic, "mode", "single").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("notification.pipeline.storage.rows").tag("topic", topic).counter().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("notification.pipeline.serialization").tag("topic", topic).timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Metrics : Should count invalid and discarded events per topic")
+    void shouldCountInvalidAndDiscardedEvents() {
+        // Given
+        String topic = "test-topic";
+        EventDto invalidEvent = EventDto.builder()
+                .priority(null)
+                .sourceComponent("TestComponent")
+                .organization("TEST_ORG")
+                .type("TEST_EVENT")
+                .build();
+
+        when(eventMappingService.retrieveUserRolesByTopic(topic)).thenReturn(Set.of("ADMIN"));
+        when(notificationService.retrieveUserIdsPerUserRolesAndOrganization(Set.of("ADMIN"), "TEST_ORG"))
+                .thenThrow(new RuntimeException("Unexpected error"));
+
+        // When
+        kafkaMessageHandler.consume(invalidEvent, topic);
+        kafkaMessageHandler.consume(createValidEvent(), topic);
+
+        // Then
+        assertThat(meterRegistry.get("notification.pipeline.events").tags("topic", topic, "outcome", "invalid").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("notification.pipeline.events").tags("topic", topic, "outcome", "discarded").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.find("notification.pipeline.events").tags("outcome", "processed").counter()).isNull();
+    }
+
+    @Test
+    @DisplayName("Metrics : Should count an event as discarded when the Notification cannot be serialized")
+    void givenSerializationFailure_whenConsume_thenCountDiscardedEvent() throws Exception {
+        // Given
+        ObjectMapper failingMapper = spy(objectMapper);
+        doThrow(new JsonMappingException(null, "Serialization failed")).when(failingMapper).writeValueAsBytes(any());
+        KafkaMessageHandler failingHandler = new KafkaMessageHandler(notificationService, eventMappingService, failingMapper, kafkaProperties,
+                new WebSocketProperties(null, null, null, null, null), webSocketService, meterRegistry);
+        String topic = "test-topic";
+        Set<String> userRoles = Set.of("ADMIN", "USER");
+        when(eventMappingService.retrieveUserRolesByTopic(topic)).thenReturn(userRoles);
+        when(notificationService.retrieveUserIdsPerUserRolesAndOrganization(userRoles, "TEST_ORG")).thenReturn(createTestUsers());
+
+        // When
+        failingHandler.consume(createValidEvent(), topic);
+
+        // Then
+        verify(webSocketService, never()).notifyViaWebSocket(any(byte[].class), any(), any());
+        assertThat(meterRegistry.get("notification.pipeline.events").tags("topic", topic, "outcome", "discarded").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.find("notification.pipeline.events").tags("outcome", "processed").counter()).isNull();
+    }
+
+    private EventDto createEventForOrganization(String organization) {
+        return EventDto.builder()
+                .priority(Priority.LOW.toString())
+                .sourceComponent("TestComponent")
+                .organization(organization)
+                .type("TEST_EVENT")
+                .description("Test description")
+                .build();
+    }
+
+    @Test
+    @DisplayName("WebSocket : Should broadcast to role topics by default")
+    void givenDefaultDelivery_whenConsume_thenNotifyRoleTopics() {
+        // Given
+        String topic = "test-topic";
+        Set<String> userRoles = Set.of("ADMIN", "USER");
+        when(eventMappingService.retrieveUserRolesByTopic(topic)).thenReturn(userRoles);
+        when(notificationService.retrieveUserIdsPerUserRolesAndOrganization(userRoles, "TEST_ORG")).thenReturn(createTestUsers());
+
+        // When
+        kafkaMessageHandler.consume(createValidEvent(), topic);
+
+        // Then
+        ArgumentCaptor<byte[]> payloadCaptor = ArgumentCaptor.forClass(byte[].class);
+        ArgumentCaptor<List<String>> topicsCaptor = ArgumentCaptor.forClass(List.class);
+        verify(webSocketService).notifyViaWebSocket(payloadCaptor.capture(), topicsCaptor.capture(), eq(List.of()));
+        assertThat(topicsCaptor.getValue()).containsExactlyInAnyOrder("ADMIN", "USER", "SUPER_ADMIN");
+        assertThat(new String(payloadCaptor.getValue(), StandardCharsets.UTF_8)).contains("\"description\":\"Test description\"");
+    }
+
+    @Test
+    @DisplayName("WebSocket : Should notify only the resolved recipients on their user destinations when user delivery is configured")
+    void givenUserDelivery_whenConsume_thenNotifyRecipientsOnly() {
+        // Given
+        KafkaMessageHandler userHandler = new KafkaMessageHandler(notificationService, eventMappingService, objectMapper, kafkaProperties,
+                new WebSocketProperties(null, null, null, null, WebSocketProperties.Delivery.USER), webSocketService, meterRegistry);
+        String topic = "test-topic";
+        Set<String> userRoles = Set.of("ADMIN", "USER");
+        when(eventMappingService.retrieveUserRolesByTopic(topic)).thenReturn(userRoles);
+        when(notificationService.retrieveUserIdsPerUserRolesAndOrganization(userRoles, "TEST_ORG")).thenReturn(createTestUsers());
+
+        // When
+        userHandler.consume(createValidEvent(), topic);
+
+        // Then
+        verify(webSocketService).notifyViaWebSocket(any(byte[].class), eq(List.of("SUPER_ADMIN")), eq(List.of("id-0", "id-1")));
+    }
+
     private EventDto createValidEvent() {
         return EventDto.builder()
                 .priority(Priority.HIGH.toString())
@@ -0,0 +1,62 @@
+package gr.atc.t4m.kafka;
+
+import gr.atc.t4m.config.ObjectMapperConfig;
+import gr.atc.t4m.service.interfaces.IRecipientCacheService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("User Change Event Handler Tests")
+class UserChangeEventHandlerTests {
+
+    @Mock
+    private IRecipientCacheService recipientCacheService;
+
+    private UserChangeEventHandler userChangeEventHandler;
+
+    @BeforeEach
+    void setUp() {
+        userChangeEventHandler = new UserChangeEventHandler(recipientCacheService, new ObjectMapperConfig().objectMapper());
+    }
+
+    @DisplayName("Consume user change : Cached recipients of the organization are invalidated")
+    @Test
+    void givenUserChangeWithOrganization_whenConsume_thenInvalidateOrganization() {
+        // When
+        userChangeEventHandler.consume("{\"type\":\"USER_UPDATED\",\"organization\":\"test org\"}");
+
+        // Then
+        verify(recipientCacheService).invalidateOrganization("TEST-ORG");
+        verify(recipientCacheService, never()).invalidateAll();
+    }
+
+    @DisplayName("Consume user change : All cached recipients are invalidated when organization is missing")
+    @Test
+    void givenUserChangeWithoutOrganization_whenConsume_thenInvalidateAll() {
+        // When
+        userChangeEventHandler.consume("{\"type\":\"USER_DELETED\"}");
+
+        // Then
+        verify(recipientCacheService).invalidateAll();
+        verify(recipientCacheService, never()).invalidateOrganization(anyString());
+    }
+
+    @DisplayName("Consume user change : All cached recipients are invalidated when message is malformed")
+    @Test
+    void givenMalformedUserChange_whenConsume_thenInvalidateAll() {
+        // When
+        userChangeEventHandler.consume("not-a-json");
+
+        // Then
+        verify(recipientCacheService).invalidateAll();
+        verify(recipientCacheService, never()).invalidateOrganization(anyString());
+    }
+}
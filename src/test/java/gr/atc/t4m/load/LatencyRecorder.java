@@ -0,0 +1,51 @@
+package gr.atc.t4m.load;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fixed capacity recorder of latencies (nanoseconds) that can be written concurrently.
+ * Samples beyond the capacity are counted but not stored.
+ */
+class LatencyRecorder {
+
+    private final String name;
+
+    private final long[] samples;
+
+    private final AtomicInteger count = new AtomicInteger();
+
+    LatencyRecorder(String name, int capacity) {
+        this.name = name;
+        this.samples = new long[capacity];
+    }
+
+    void record(long latencyNanos) {
+        int index = count.getAndIncrement();
+        if (index < samples.length)
+            samples[index] = latencyNanos;
+    }
+
+    int count() {
+        return count.get();
+    }
+
+    /**
+     * Format the number of samples and the p50 / p99 / p99.9 / max latencies in milliseconds
+     */
+    String summary() {
+        int size = Math.min(count.get(), samples.length);
+        if (size == 0)
+            return "%s: no samples".formatted(name);
+
+        long[] sorted = Arrays.copyOf(samples, size);
+        Arrays.sort(sorted);
+        return "%s: samples = %d, p50 = %.1f ms, p99 = %.1f ms, p999 = %.1f ms, max = %.1f ms".formatted(name, size,
+                percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 0.999), sorted[size - 1] / 1_000_000.0);
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1_000_000.0;
+    }
+}
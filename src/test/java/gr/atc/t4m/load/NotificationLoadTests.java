@@ -0,0 +1,267 @@
+package gr.atc.t4m.load;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gr.atc.t4m.TestcontainersConfiguration;
+import gr.atc.t4m.dto.EventDto;
+import gr.atc.t4m.dto.operations.EventMappingCreationDto;
+import gr.atc.t4m.repository.EventMappingRepository;
+import gr.atc.t4m.service.interfaces.IEventMappingService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.messaging.converter.StringMessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * End-to-end load test: Events are published to Kafka at a fixed rate and tracked until their Notifications are stored
+ * in the database and delivered to STOMP clients subscribed to '/topic/notifications/{organization}'.
+ * Keycloak and User Manager are replaced by a local stub serving organizations of the configured size.
+ * Executed only when the 'loadtests' system property is set: mvn test -Dloadtests=true -Dtest=NotificationLoadTests
+ * Load can be adjusted with:
+ * -Dloadtests.rate (events/sec, default 50), -Dloadtests.duration (seconds, default 30),
+ * -Dloadtests.organizations (default 2), -Dloadtests.organization-size (Users per organization, default 100)
+ * and -Dloadtests.subscribers (WebSocket clients per organization, default 2)
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "notification.websocket.delivery=broadcast")
+@Import(TestcontainersConfiguration.class)
+@EnabledIfSystemProperty(named = "loadtests", matches = "true")
+@DisplayName("Notification Load Tests")
+class NotificationLoadTests {
+
+    private static final int RATE = Integer.getInteger("loadtests.rate", 50);
+    private static final int DURATION_SECONDS = Integer.getInteger("loadtests.duration", 30);
+    private static final int ORGANIZATIONS = Integer.getInteger("loadtests.organizations", 2);
+    private static final int ORGANIZATION_SIZE = Integer.getInteger("loadtests.organization-size", 100);
+    private static final int SUBSCRIBERS = Integer.getInteger("loadtests.subscribers", 2);
+
+    private static final String TOPIC = "supply-chain-order-status";
+    private static final String EVENT_PREFIX = "load-test-";
+    private static final String WARMUP_PREFIX = "warmup-";
+    private static final long DRAIN_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(60);
+    private static final long DB_POLL_INTERVAL_MILLIS = 5;
+
+    private static StubUserManagerServer stubServer;
+
+    @MockitoBean
+    private JwtDecoder jwtDecoder;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private IEventMappingService eventMappingService;
+
+    @Autowired
+    private EventMappingRepository eventMappingRepository;
+
+    private final Map<String, Long> sentAt = new ConcurrentHashMap<>();
+
+    private final Set<String> persisted = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong lastPersistedAt = new AtomicLong();
+
+    private final AtomicLong lastDeliveredAt = new AtomicLong();
+
+    @DynamicPropertySource
+    static void stubProperties(DynamicPropertyRegistry registry) throws IOException {
+        stubServer = new StubUserManagerServer(ORGANIZATION_SIZE);
+        registry.add("user.manager.component.url", stubServer::baseUrl);
+        registry.add("keycloak.token-uri", () -> stubServer.baseUrl() + StubUserManagerServer.TOKEN_PATH);
+    }
+
+    @AfterAll
+    static void stopStubServer() {
+        if (stubServer != null)
+            stubServer.close();
+    }
+
+    @DisplayName("Load Test : Throughput and latency from Kafka to database and WebSocket")
+    @Test
+    void loadTest() throws Exception {
+        // Given
+        if (eventMappingRepository.findByTopic(TOPIC).isEmpty())
+            eventMappingService.storeEventMapping(new EventMappingCreationDto(TOPIC, "Load test mapping", Set.of("ALL")));
+
+        List<String> organizations = IntStream.range(0, ORGANIZATIONS).mapToObj(i -> "load org " + i).toList();
+        int events = RATE * DURATION_SECONDS;
+        LatencyRecorder dbLatency = new LatencyRecorder("Ingest -> DB", events);
+        LatencyRecorder webSocketLatency = new LatencyRecorder("Ingest -> WebSocket", events * SUBSCRIBERS);
+        CountDownLatch warmedUp = new CountDownLatch(ORGANIZATIONS * SUBSCRIBERS);
+
+        WebSocketStompClient stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+        stompClient.setMessageConverter(new StringMessageConverter());
+        List<StompSession> sessions = new ArrayList<>();
+        for (String organization : organizations)
+            for (int i = 0; i < SUBSCRIBERS; i++)
+                sessions.add(subscribe(stompClient, organization.toUpperCase().replace(' ', '-'), webSocketLatency, warmedUp));
+
+        // Subscriptions are confirmed and the pipeline is warmed up once every subscriber received an event
+        while (!warmedUp.await(1, TimeUnit.SECONDS))
+            organizations.forEach(organization -> publish(WARMUP_PREFIX + organization, organization));
+
+        AtomicBoolean polling = new AtomicBoolean(true);
+        Thread dbPoller = Thread.ofVirtual().start(() -> pollDatabase(dbLatency, polling));
+
+        // When
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / RATE;
+        long start = System.nanoTime();
+        for (int i = 0; i < events; i++) {
+            LockSupport.parkNanos(start + i * intervalNanos - System.nanoTime());
+            publish(EVENT_PREFIX + i, organizations.get(i % ORGANIZATIONS));
+        }
+        long publishedAt = System.nanoTime();
+
+        long deadline = publishedAt + DRAIN_TIMEOUT_NANOS;
+        while (System.nanoTime() < deadline && (persisted.size() < events || webSocketLatency.count() < events * SUBSCRIBERS))
+            TimeUnit.MILLISECONDS.sleep(100);
+
+        polling.set(false);
+        dbPoller.join();
+        sessions.forEach(StompSession::disconnect);
+        stompClient.stop();
+
+        // Then
+        System.out.printf("Load test: %d events at %d events/sec, %d organizations x %d users, %d subscribers per organization%n",
+                events, RATE, ORGANIZATIONS, ORGANIZATION_SIZE, SUBSCRIBERS);
+        System.out.printf("Publishing: %.0f events/sec, User Manager requests: %d%n",
+                events / seconds(publishedAt - start), stubServer.userRequests());
+        System.out.printf("Ingest -> DB: %.0f events/sec (%.0f notifications/sec)%n",
+                persisted.size() / seconds(lastPersistedAt.get() - start),
+                persisted.size() * (ORGANIZATION_SIZE + 1.0) / seconds(lastPersistedAt.get() - start));
+        System.out.printf("Ingest -> WebSocket: %.0f frames/sec%n",
+                webSocketLatency.count() / seconds(lastDeliveredAt.get() - start));
+        System.out.println(dbLatency.summary());
+        System.out.println(webSocketLatency.summary());
+
+        assertThat(persisted).hasSize(events);
+        assertThat(webSocketLatency.count()).isEqualTo(events * SUBSCRIBERS);
+    }
+
+    /*
+     * Helper method to publish an Event identified by its description - Ingest time is recorded right before sending
+     */
+    private void publish(String description, String organization) {
+        EventDto event = EventDto.builder()
+                .type("Order Status")
+                .description(description)
+                .sourceComponent("Load Test")
+                .organization(organization)
+                .timestamp("2025-01-01T10:00:00Z")
+                .priority("MID")
+                .build();
+        try {
+            String payload = objectMapper.writeValueAsString(event);
+            if (description.startsWith(EVENT_PREFIX))
+                sentAt.put(description, System.nanoTime());
+            kafkaTemplate.send(TOPIC, payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /*
+     * Helper method to connect a STOMP client and record the delivery latency of every Notification it receives
+     */
+    private StompSession subscribe(WebSocketStompClient stompClient, String organization, LatencyRecorder latency, CountDownLatch warmedUp) throws Exception {
+        StompSession session = stompClient.connectAsync("ws://localhost:" + port + "/notifications/websocket", new StompSessionHandlerAdapter() {})
+                .get(10, TimeUnit.SECONDS);
+
+        AtomicBoolean warm = new AtomicBoolean();
+        session.subscribe("/topic/notifications/" + organization, new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return String.class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                long receivedAt = System.nanoTime();
+                String description = description((String) payload);
+                Long sent = sentAt.get(description);
+                if (sent != null) {
+                    latency.record(receivedAt - sent);
+                    lastDeliveredAt.accumulateAndGet(receivedAt, Math::max);
+                } else if (description.startsWith(WARMUP_PREFIX) && warm.compareAndSet(false, true)) {
+                    warmedUp.countDown();
+                }
+            }
+        });
+        return session;
+    }
+
+    /*
+     * Helper method to poll the stored events - An event is stored along with all of its Notifications in a single transaction
+     * The resolution of the DB latency is the poll interval
+     */
+    private void pollDatabase(LatencyRecorder latency, AtomicBoolean polling) {
+        while (polling.get()) {
+            String[] pending = sentAt.keySet().stream().filter(description -> !persisted.contains(description)).toArray(String[]::new);
+            if (pending.length > 0) {
+                List<String> stored = jdbcTemplate.queryForList(
+                        "SELECT description FROM notification_event WHERE description = ANY (?)", String.class, (Object) pending);
+                long storedAt = System.nanoTime();
+                for (String description : stored) {
+                    if (persisted.add(description)) {
+                        latency.record(storedAt - sentAt.get(description));
+                        lastPersistedAt.accumulateAndGet(storedAt, Math::max);
+                    }
+                }
+            }
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(DB_POLL_INTERVAL_MILLIS));
+        }
+    }
+
+    private String description(String payload) {
+        try {
+            return objectMapper.readTree(payload).path("description").asText();
+        } catch (JsonProcessingException e) {
+            return "";
+        }
+    }
+
+    private static double seconds(long nanos) {
+        return Math.max(nanos, 1) / 1_000_000_000.0;
+    }
+}
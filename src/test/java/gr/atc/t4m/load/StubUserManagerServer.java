@@ -0,0 +1,92 @@
+package gr.atc.t4m.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import gr.atc.t4m.dto.UserDto;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/**
+ * Local stub of the Keycloak token endpoint and the User Manager Users endpoints, answering from memory on virtual threads.
+ * Every organization (and every role of it) contains the configured number of Users.
+ */
+class StubUserManagerServer implements AutoCloseable {
+
+    static final String TOKEN_PATH = "/realms/test/protocol/openid-connect/token";
+
+    private static final String USERS_PATH = "/api/users/pilots/";
+
+    private final HttpServer server;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final int organizationSize;
+
+    private final AtomicLong userRequests = new AtomicLong();
+
+    StubUserManagerServer(int organizationSize) throws IOException {
+        this.organizationSize = organizationSize;
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        this.server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        this.server.createContext(TOKEN_PATH, this::handleToken);
+        this.server.createContext(USERS_PATH, this::handleUsers);
+        this.server.start();
+    }
+
+    String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    long userRequests() {
+        return userRequests.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handleToken(HttpExchange exchange) throws IOException {
+        respond(exchange, Map.of("access_token", "stub-token", "expires_in", 3600, "token_type", "Bearer"));
+    }
+
+    /*
+     * Serves both '/api/users/pilots/{organization}' and '/api/users/pilots/{organization}/roles/{role}'
+     */
+    private void handleUsers(HttpExchange exchange) throws IOException {
+        userRequests.incrementAndGet();
+        String[] path = exchange.getRequestURI().getPath().substring(USERS_PATH.length()).split("/");
+        String organization = path[0];
+        String role = path.length > 2 ? path[2] : "USER";
+
+        List<UserDto> users = IntStream.range(0, organizationSize)
+                .mapToObj(i -> UserDto.builder()
+                        .userId(organization + "-user-" + i)
+                        .username(organization.toLowerCase() + ".user" + i)
+                        .firstName("User")
+                        .lastName(String.valueOf(i))
+                        .pilotCode(organization)
+                        .userRole(role)
+                        .build())
+                .toList();
+        respond(exchange, Map.of("data", users, "success", true, "message", "Users retrieved successfully"));
+    }
+
+    private void respond(HttpExchange exchange, Object body) throws IOException {
+        byte[] response = objectMapper.writeValueAsString(body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, response.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(response);
+        }
+    }
+}
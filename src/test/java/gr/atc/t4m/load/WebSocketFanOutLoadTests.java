@@ -0,0 +1,152 @@
+package gr.atc.t4m.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gr.atc.t4m.TestcontainersConfiguration;
+import gr.atc.t4m.config.properties.WebSocketProperties;
+import gr.atc.t4m.service.WebSocketFanOutService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.messaging.converter.StringMessageConverter;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Cross-node WebSocket fan-out load test: Messages are published at a fixed rate by a second, in-process replica and
+ * tracked until STOMP clients connected to this replica receive them through the Kafka delivery topic.
+ * Executed only when the 'loadtests' system property is set: mvn test -Dloadtests=true -Dtest=WebSocketFanOutLoadTests
+ * Load can be adjusted with -Dloadtests.rate (messages/sec, default 200), -Dloadtests.duration (seconds, default 30)
+ * and -Dloadtests.subscribers (WebSocket clients, default 10)
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "notification.websocket.broker=kafka")
+@Import(TestcontainersConfiguration.class)
+@EnabledIfSystemProperty(named = "loadtests", matches = "true")
+@DisplayName("WebSocket Fan-Out Load Tests")
+class WebSocketFanOutLoadTests {
+
+    private static final int RATE = Integer.getInteger("loadtests.rate", 200);
+    private static final int DURATION_SECONDS = Integer.getInteger("loadtests.duration", 30);
+    private static final int SUBSCRIBERS = Integer.getInteger("loadtests.subscribers", 10);
+
+    private static final String DESTINATION = "/topic/notifications/FANOUT-LOAD-TEST";
+    private static final String MESSAGE_PREFIX = "fan-out-";
+    private static final String WARMUP_MESSAGE = "warmup";
+    private static final long DRAIN_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+    @MockitoBean
+    private JwtDecoder jwtDecoder;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ProducerFactory<String, byte[]> producerFactory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private WebSocketProperties webSocketProperties;
+
+    private final Map<String, Long> sentAt = new ConcurrentHashMap<>();
+
+    @DisplayName("Load Test : Latency from publishing on another replica to WebSocket delivery")
+    @Test
+    void fanOutLoadTest() throws Exception {
+        // Given - The other replica has no local clients, so its local broker is irrelevant
+        WebSocketFanOutService otherReplica = new WebSocketFanOutService(mock(SimpMessagingTemplate.class), mock(SimpUserRegistry.class),
+                producerFactory, objectMapper, webSocketProperties, new SimpleMeterRegistry());
+
+        int messages = RATE * DURATION_SECONDS;
+        LatencyRecorder latency = new LatencyRecorder("Replica -> Replica WebSocket", messages * SUBSCRIBERS);
+        CountDownLatch warmedUp = new CountDownLatch(SUBSCRIBERS);
+
+        WebSocketStompClient stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+        stompClient.setMessageConverter(new StringMessageConverter());
+        List<StompSession> sessions = new ArrayList<>();
+        for (int i = 0; i < SUBSCRIBERS; i++)
+            sessions.add(subscribe(stompClient, latency, warmedUp));
+
+        // Subscriptions are confirmed and the delivery consumer is assigned once every subscriber received a message
+        while (!warmedUp.await(1, TimeUnit.SECONDS))
+            otherReplica.publish(List.of(DESTINATION), List.of(), WARMUP_MESSAGE);
+
+        // When
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / RATE;
+        long start = System.nanoTime();
+        for (int i = 0; i < messages; i++) {
+            LockSupport.parkNanos(start + i * intervalNanos - System.nanoTime());
+            String message = MESSAGE_PREFIX + i;
+            sentAt.put(message, System.nanoTime());
+            otherReplica.publish(List.of(DESTINATION), List.of(), message);
+        }
+
+        long deadline = System.nanoTime() + DRAIN_TIMEOUT_NANOS;
+        while (System.nanoTime() < deadline && latency.count() < messages * SUBSCRIBERS)
+            TimeUnit.MILLISECONDS.sleep(100);
+
+        sessions.forEach(StompSession::disconnect);
+        stompClient.stop();
+        otherReplica.shutdown();
+
+        // Then
+        System.out.printf("Fan-out load test: %d messages at %d messages/sec, %d subscribers%n", messages, RATE, SUBSCRIBERS);
+        System.out.println(latency.summary());
+
+        assertThat(latency.count()).isEqualTo(messages * SUBSCRIBERS);
+    }
+
+    /*
+     * Helper method to connect a STOMP client and record the delivery latency of every message it receives
+     */
+    private StompSession subscribe(WebSocketStompClient stompClient, LatencyRecorder latency, CountDownLatch warmedUp) throws Exception {
+        StompSession session = stompClient.connectAsync("ws://localhost:" + port + "/notifications/websocket", new StompSessionHandlerAdapter() {})
+                .get(10, TimeUnit.SECONDS);
+
+        AtomicBoolean warm = new AtomicBoolean();
+        session.subscribe(DESTINATION, new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return String.class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                long receivedAt = System.nanoTime();
+                Long sent = sentAt.get((String) payload);
+                if (sent != null)
+                    latency.record(receivedAt - sent);
+                else if (WARMUP_MESSAGE.equals(payload) && warm.compareAndSet(false, true))
+                    warmedUp.countDown();
+            }
+        });
+        return session;
+    }
+}
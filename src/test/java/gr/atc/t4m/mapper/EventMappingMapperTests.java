@@ -0,0 +1,56 @@
+package gr.atc.t4m.mapper;
+
+import gr.atc.t4m.dto.EventMappingDto;
+import gr.atc.t4m.dto.operations.EventMappingCreationDto;
+import gr.atc.t4m.model.EventMapping;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventMappingMapperTests {
+
+    @DisplayName("Map Event Mapping to DTO: Fields are copied and User Roles are detached")
+    @Test
+    void givenEventMapping_whenToDto_thenReturnDtoWithCopiedRoles() {
+        // Given
+        Set<String> userRoles = new HashSet<>(Set.of("ADMIN", "USER"));
+        EventMapping eventMapping = EventMapping.builder()
+                .id(1L)
+                .topic("test-topic")
+                .description("Test Description")
+                .userRoles(userRoles)
+                .build();
+
+        // When
+        EventMappingDto result = EventMappingMapper.toDto(eventMapping);
+        userRoles.add("OPERATOR");
+
+        // Then
+        assertEquals(1L, result.getId());
+        assertEquals("test-topic", result.getTopic());
+        assertEquals("Test Description", result.getDescription());
+        assertEquals(Set.of("ADMIN", "USER"), result.getUserRoles());
+        assertNull(EventMappingMapper.toDto(null));
+    }
+
+    @DisplayName("Map creation DTO to Event Mapping: New entity without ID")
+    @Test
+    void givenEventMappingCreationDto_whenToEntity_thenReturnNewEntity() {
+        // Given
+        EventMappingCreationDto creationDto = new EventMappingCreationDto("test-topic", "Test Description", Set.of("ALL"));
+
+        // When
+        EventMapping result = EventMappingMapper.toEntity(creationDto);
+
+        // Then
+        assertNull(result.getId());
+        assertEquals("test-topic", result.getTopic());
+        assertEquals("Test Description", result.getDescription());
+        assertEquals(Set.of("ALL"), result.getUserRoles());
+        assertNull(EventMappingMapper.toEntity(null));
+    }
+}
@@ -0,0 +1,95 @@
+package gr.atc.t4m.mapper;
+
+import gr.atc.t4m.dto.NotificationDto;
+import gr.atc.t4m.model.Notification;
+import gr.atc.t4m.model.NotificationEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotificationMapperTests {
+
+    private static final OffsetDateTime TIMESTAMP = OffsetDateTime.of(2025, 1, 1, 10, 30, 0, 0, ZoneOffset.UTC);
+
+    @DisplayName("Map Notification to DTO: Notification and event content are copied")
+    @Test
+    void givenNotification_whenToDto_thenReturnDtoWithEventContent() {
+        // Given
+        NotificationEvent event = NotificationEvent.builder()
+                .id(5L)
+                .sourceComponent("Test Component")
+                .type("Test Type")
+                .description("Test Description")
+                .priority("High")
+                .timestamp(TIMESTAMP.minusMinutes(1))
+                .build();
+        Notification notification = Notification.builder()
+                .id(1L)
+                .event(event)
+                .userId("user-id")
+                .user("user")
+                .notificationStatus("Unread")
+                .timestamp(TIMESTAMP)
+                .build();
+
+        // When
+        NotificationDto result = NotificationMapper.toDto(notification);
+
+        // Then
+        assertEquals(1L, result.getId());
+        assertEquals("user-id", result.getUserId());
+        assertEquals("user", result.getUser());
+        assertEquals("Unread", result.getNotificationStatus());
+        assertEquals(TIMESTAMP, result.getTimestamp());
+        assertEquals("Test Component", result.getSourceComponent());
+        assertEquals("Test Type", result.getType());
+        assertEquals("Test Description", result.getDescription());
+        assertEquals("High", result.getPriority());
+    }
+
+    @DisplayName("Map Notification to DTO: Missing event and null Notification are handled")
+    @Test
+    void givenNotificationWithoutEvent_whenToDto_thenEventContentIsNull() {
+        // Given
+        Notification notification = Notification.builder().id(1L).userId("user-id").build();
+
+        // When
+        NotificationDto result = NotificationMapper.toDto(notification);
+
+        // Then
+        assertEquals(1L, result.getId());
+        assertNull(result.getSourceComponent());
+        assertNull(result.getPriority());
+        assertNull(NotificationMapper.toDto(null));
+    }
+
+    @DisplayName("Map DTO to Notification Event: Content is copied into a new event")
+    @Test
+    void givenNotificationDto_whenToEvent_thenReturnNewEvent() {
+        // Given
+        NotificationDto notificationDto = NotificationDto.builder()
+                .id(1L)
+                .sourceComponent("Test Component")
+                .type("Test Type")
+                .description("Test Description")
+                .priority("Low")
+                .timestamp(TIMESTAMP)
+                .build();
+
+        // When
+        NotificationEvent result = NotificationMapper.toEvent(notificationDto);
+
+        // Then
+        assertNull(result.getId());
+        assertEquals("Test Component", result.getSourceComponent());
+        assertEquals("Test Type", result.getType());
+        assertEquals("Test Description", result.getDescription());
+        assertEquals("Low", result.getPriority());
+        assertEquals(TIMESTAMP, result.getTimestamp());
+        assertNull(NotificationMapper.toEvent(null));
+    }
+}
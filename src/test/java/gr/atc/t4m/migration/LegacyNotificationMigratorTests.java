@@ -0,0 +1,109 @@
+package gr.atc.t4m.migration;
+
+import gr.atc.t4m.TestcontainersConfiguration;
+import gr.atc.t4m.model.Notification;
+import gr.atc.t4m.repository.NotificationRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(TestcontainersConfiguration.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DisplayName("Legacy Notification Migrator Tests")
+class LegacyNotificationMigratorTests {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    private LegacyNotificationMigrator migrator;
+
+    @BeforeEach
+    void setUp() {
+        migrator = new LegacyNotificationMigrator(jdbcTemplate, transactionManager);
+
+        jdbcTemplate.execute("""
+                CREATE TABLE notifications (
+                    id BIGINT PRIMARY KEY, user_id VARCHAR(50) NOT NULL, user_name VARCHAR(50) NOT NULL,
+                    notification_status VARCHAR(10) NOT NULL, source_component VARCHAR(30) NOT NULL, type VARCHAR(30) NOT NULL,
+                    description VARCHAR(200), timestamp TIMESTAMP WITH TIME ZONE NOT NULL, priority VARCHAR(10))
+                """);
+        String insert = "INSERT INTO notifications VALUES (?, ?, ?, ?, 'Test Component', 'Type1', ?, TIMESTAMP WITH TIME ZONE '2025-01-01 10:00:00+00', 'Mid')";
+        jdbcTemplate.update(insert, 101L, "user1", "User 1", "Unread", "Shared Description");
+        jdbcTemplate.update(insert, 102L, "user2", "User 2", "Read", "Shared Description");
+        jdbcTemplate.update(insert, 103L, "SUPER_ADMIN", "SUPER_ADMIN", "Unread", "Shared Description");
+        jdbcTemplate.update(insert, 104L, "user1", "User 1", "Unread", "Other Description");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS notifications");
+        jdbcTemplate.execute("DROP TABLE IF EXISTS notifications_legacy");
+    }
+
+    @DisplayName("Migrate legacy notifications : Rows with the same content are merged into one event")
+    @Test
+    void givenLegacyNotifications_whenMigrate_thenNormalizeAndKeepIds() {
+        // When
+        int migrated = migrator.migrateLegacyNotifications();
+
+        // Then
+        assertThat(migrated).isEqualTo(4);
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM notification_event", Long.class)).isEqualTo(2L);
+        assertThat(jdbcTemplate.queryForObject(LegacyNotificationMigrator.LEGACY_TABLE_EXISTS, Boolean.class)).isFalse();
+
+        List<Notification> notifications = notificationRepository.findAllById(List.of(101L, 102L, 103L, 104L));
+        assertThat(notifications).hasSize(4);
+        Notification notification = notificationRepository.findById(102L).orElseThrow();
+        assertThat(notification.getUserId()).isEqualTo("user2");
+        assertThat(notification.getNotificationStatus()).isEqualTo("Read");
+        assertThat(notification.getEvent().getDescription()).isEqualTo("Shared Description");
+        assertThat(notification.getEvent().getId()).isEqualTo(notificationRepository.findById(101L).orElseThrow().getEvent().getId());
+    }
+
+    @DisplayName("Migrate legacy notifications : Unread counts of the migrated recipients are added to the counters")
+    @Test
+    void givenExistingCounter_whenMigrate_thenAddLegacyUnreadCounts() {
+        // Given
+        jdbcTemplate.update("INSERT INTO notification_unread_counter (user_id, unread_count) VALUES ('user1', 1)");
+
+        // When
+        migrator.migrateLegacyNotifications();
+
+        // Then
+        String count = "SELECT unread_count FROM notification_unread_counter WHERE user_id = ?";
+        assertThat(jdbcTemplate.queryForObject(count, Long.class, "user1")).isEqualTo(3L);
+        assertThat(jdbcTemplate.queryForObject(count, Long.class, "SUPER_ADMIN")).isEqualTo(1L);
+        assertThat(jdbcTemplate.queryForList(count, Long.class, "user2")).isEmpty();
+    }
+
+    @DisplayName("Migrate legacy notifications : Skipped when the legacy table does not exist")
+    @Test
+    void givenNoLegacyTable_whenMigrate_thenSkip() {
+        // Given
+        migrator.migrateLegacyNotifications();
+
+        // When
+        int migrated = migrator.migrateLegacyNotifications();
+
+        // Then
+        assertThat(migrated).isZero();
+    }
+}
@@ -0,0 +1,112 @@
+package gr.atc.t4m.migration;
+
+import gr.atc.t4m.TestcontainersConfiguration;
+import gr.atc.t4m.config.properties.PartitioningProperties;
+import gr.atc.t4m.model.Notification;
+import gr.atc.t4m.model.NotificationEvent;
+import gr.atc.t4m.repository.NotificationRepository;
+import gr.atc.t4m.service.PartitionService;
+import gr.atc.t4m.service.interfaces.IRetentionService;
+import gr.atc.t4m.service.interfaces.IUnreadCounterService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+@DataJpaTest
+@Import(TestcontainersConfiguration.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DisplayName("Notification Partition Migrator Tests")
+class NotificationPartitionMigratorTests {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2025-06-15T00:00:00Z"), ZoneOffset.UTC);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    private PartitionService partitionService;
+
+    private NotificationPartitionMigrator migrator;
+
+    @BeforeEach
+    void setUp() {
+        PartitioningProperties properties = new PartitioningProperties(true, 2, 0);
+        partitionService = new PartitionService(properties, jdbcTemplate, mock(IRetentionService.class), mock(IUnreadCounterService.class));
+        migrator = new NotificationPartitionMigrator(jdbcTemplate, transactionManager, partitionService, properties, CLOCK);
+
+        notificationRepository.deleteAll();
+        notificationRepository.saveAllAndFlush(List.of(
+                createNotification("user1", OffsetDateTime.parse("2025-03-10T10:00:00Z")),
+                createNotification("user1", OffsetDateTime.parse("2025-05-20T10:00:00Z")),
+                createNotification("user2", OffsetDateTime.parse("2025-06-01T00:00:00Z"))));
+    }
+
+    @DisplayName("Migrate to partitioned table : Rows are copied to monthly partitions")
+    @Test
+    void givenHeapTable_whenMigrate_thenPartitionAndKeepNotifications() {
+        // When
+        int migrated = migrator.migrateToPartitionedTable();
+
+        // Then
+        assertThat(migrated).isEqualTo(3);
+        assertThat(partitionService.isPartitioned()).isTrue();
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM notification_recipient", Long.class)).isEqualTo(3L);
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM notification_recipient_p2025_03", Long.class)).isEqualTo(1L);
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM notification_recipient_p2025_06", Long.class)).isEqualTo(1L);
+        assertThat(jdbcTemplate.queryForObject("SELECT to_regclass('notification_recipient_p2025_08') IS NOT NULL", Boolean.class)).isTrue();
+        assertThat(jdbcTemplate.queryForObject("SELECT to_regclass('" + NotificationPartitionMigrator.UNPARTITIONED_TABLE + "') IS NULL", Boolean.class)).isTrue();
+        assertThat(jdbcTemplate.queryForList("SELECT indexname FROM pg_indexes WHERE tablename = 'notification_recipient'", String.class))
+                .contains("idx_notification_recipient_user_timestamp", "idx_notification_recipient_user_unread", "idx_notification_recipient_event");
+        assertThat(notificationRepository.findByUserId("user1", Pageable.unpaged()).getContent()).hasSize(2);
+    }
+
+    @DisplayName("Migrate to partitioned table : Skipped when already partitioned")
+    @Test
+    void givenPartitionedTable_whenMigrate_thenSkip() {
+        // Given
+        migrator.migrateToPartitionedTable();
+
+        // When
+        int migrated = migrator.migrateToPartitionedTable();
+
+        // Then
+        assertThat(migrated).isZero();
+    }
+
+    private Notification createNotification(String userId, OffsetDateTime timestamp) {
+        return Notification.builder()
+                .event(NotificationEvent.builder()
+                        .sourceComponent("Test Component")
+                        .type("Type")
+                        .description("Description")
+                        .priority("Mid")
+                        .timestamp(timestamp)
+                        .build())
+                .userId(userId)
+                .user(userId)
+                .notificationStatus("Unread")
+                .timestamp(timestamp)
+                .build();
+    }
+}
@@ -0,0 +1,126 @@
+package gr.atc.t4m.repository;
+
+import gr.atc.t4m.TestcontainersConfiguration;
+import gr.atc.t4m.enums.NotificationStatus;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that the user inbox queries are served by the indexes of the Flyway migrations and reports their latency on a large table.
+ * Executed only when the 'benchmarks' system property is set: mvn test -Dbenchmarks=true -Dtest=NotificationQueryBenchmarkTests
+ * The number of rows can be adjusted with -Dbenchmarks.rows (default 2.000.000)
+ */
+@DataJpaTest
+@Import(TestcontainersConfiguration.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+@DisplayName("Notification Query Benchmark Tests")
+class NotificationQueryBenchmarkTests {
+
+    private static final long ROWS = Long.getLong("benchmarks.rows", 2_000_000L);
+    private static final int USERS = 5_000;
+    private static final int EVENTS = 10_000;
+    private static final int ITERATIONS = 1_000;
+    private static final long P99_THRESHOLD_MS = Long.getLong("benchmarks.p99-threshold-ms", 50L);
+    private static final String USER_ID = "user-42";
+
+    private static final String INBOX_QUERY = """
+            SELECT id, event_id, user_id, user_name, notification_status, timestamp FROM notification_recipient
+            WHERE user_id = 'user-42' ORDER BY timestamp DESC, id DESC LIMIT 20
+            """;
+    private static final String UNREAD_QUERY = """
+            SELECT id, event_id, user_id, user_name, notification_status, timestamp FROM notification_recipient
+            WHERE user_id = 'user-42' AND notification_status = 'Unread' ORDER BY timestamp DESC, id DESC LIMIT 20
+            """;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void populate() {
+        jdbcTemplate.execute("TRUNCATE notification_recipient, notification_event");
+        jdbcTemplate.update("""
+                INSERT INTO notification_event (id, source_component, type, description, timestamp, priority)
+                SELECT g, 'Benchmark', 'Benchmark', 'Benchmark Notification ' || g, now() - g * interval '1 minute', 'Mid'
+                FROM generate_series(1, ?) g
+                """, EVENTS);
+        jdbcTemplate.update("""
+                INSERT INTO notification_recipient (id, event_id, user_id, user_name, notification_status, timestamp)
+                SELECT g, 1 + g % ?, 'user-' || g % ?, 'User ' || g % ?,
+                       CASE WHEN g % 5 = 0 THEN 'Unread' ELSE 'Read' END, now() - g * interval '1 second'
+                FROM generate_series(1, ?) g
+                """, EVENTS, USERS, USERS, ROWS);
+        jdbcTemplate.execute("VACUUM ANALYZE notification_event");
+        jdbcTemplate.execute("VACUUM ANALYZE notification_recipient");
+    }
+
+    @DisplayName("Benchmark : Inbox queries use index-only scans")
+    @Test
+    void inboxQueriesUseIndexOnlyScans() {
+        String inboxPlan = explain(INBOX_QUERY);
+        String unreadPlan = explain(UNREAD_QUERY);
+        String countPlan = explain("SELECT count(*) FROM notification_recipient WHERE user_id = 'user-42'");
+
+        System.out.printf("Inbox plan:%n%s%nUnread plan:%n%s%nCount plan:%n%s%n", inboxPlan, unreadPlan, countPlan);
+        assertThat(inboxPlan).contains("Index Only Scan using idx_notification_recipient_user_timestamp");
+        assertThat(unreadPlan).contains("Index Only Scan using idx_notification_recipient_user_unread");
+        assertThat(countPlan).contains("Index Only Scan");
+    }
+
+    @DisplayName("Benchmark : Inbox queries p99 latency")
+    @Test
+    void inboxQueriesLatency() {
+        Pageable pageable = PageRequest.of(0, 20, Sort.by("timestamp").descending());
+
+        double inboxP99 = measureP99(() -> notificationRepository.findByUserId(USER_ID, pageable));
+        double unreadP99 = measureP99(() -> notificationRepository.findByUserIdAndNotificationStatus(USER_ID,
+                NotificationStatus.UNREAD.toString(), pageable));
+
+        System.out.printf("Inbox queries on %d rows: findByUserId p99 = %.2f ms, findByUserIdAndNotificationStatus p99 = %.2f ms%n",
+                ROWS, inboxP99, unreadP99);
+        assertThat(inboxP99).isLessThan(P99_THRESHOLD_MS);
+        assertThat(unreadP99).isLessThan(P99_THRESHOLD_MS);
+    }
+
+    private String explain(String query) {
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + query, String.class));
+    }
+
+    private double measureP99(Supplier<?> query) {
+        // Warm up
+        for (int i = 0; i < ITERATIONS / 10; i++)
+            query.get();
+
+        long[] latencies = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            query.get();
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+        return latencies[(int) Math.ceil(ITERATIONS * 0.99) - 1] / 1_000_000.0;
+    }
+}
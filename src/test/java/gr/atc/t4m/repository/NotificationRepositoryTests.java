@@ -4,6 +4,7 @@ import gr.atc.t4m.TestcontainersConfiguration;
 import gr.atc.t4m.enums.NotificationStatus;
 import gr.atc.t4m.enums.Priority;
 import gr.atc.t4m.model.Notification;
+import gr.atc.t4m.model.NotificationEvent;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -11,10 +12,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
@@ -43,42 +47,30 @@ class NotificationRepositoryTests {
         testNotification1 = new Notification();
         testNotification1.setUserId("Test User 1");
         testNotification1.setUser("Test User");
-        testNotification1.setDescription("Test Description 1");
+        testNotification1.setEvent(createEvent("Test Description 1", "Type1"));
         testNotification1.setNotificationStatus(NotificationStatus.READ.toString());
         testNotification1.setTimestamp(LocalDateTime.now().withNano(0).atOffset(ZoneOffset.UTC));
-        testNotification1.setSourceComponent("Test Component");
-        testNotification1.setPriority(Priority.MID.toString());
-        testNotification1.setType("Type1");
 
         Notification testNotification1Unread = new Notification();
         testNotification1Unread.setUserId("Test User 1");
         testNotification1Unread.setUser("Test User");
-        testNotification1Unread.setDescription("Test Description 1 - Unread");
+        testNotification1Unread.setEvent(createEvent("Test Description 1 - Unread", "Type1"));
         testNotification1Unread.setNotificationStatus(NotificationStatus.UNREAD.toString());
         testNotification1Unread.setTimestamp(LocalDateTime.now().withNano(0).atOffset(ZoneOffset.UTC));
-        testNotification1Unread.setSourceComponent("Test Component");
-        testNotification1Unread.setPriority(Priority.MID.toString());
-        testNotification1Unread.setType("Type1");
 
         Notification testNotification2 = new Notification();
         testNotification2.setUserId("Test User 2");
         testNotification2.setUser("Test User");
-        testNotification2.setDescription("Test Description 2");
+        testNotification2.setEvent(createEvent("Test Description 2", "Type2"));
         testNotification2.setNotificationStatus(NotificationStatus.READ.toString());
         testNotification2.setTimestamp(LocalDateTime.now().withNano(0).atOffset(ZoneOffset.UTC));
-        testNotification2.setSourceComponent("Test Component");
-        testNotification2.setPriority(Priority.MID.toString());
-        testNotification2.setType("Type2");
 
         Notification testNotification3 = new Notification();
         testNotification3.setUserId("SUPER_ADMIN");
         testNotification3.setUser("SUPER_ADMIN");
-        testNotification3.setDescription("Test Description 3");
+        testNotification3.setEvent(createEvent("Test Description 3", "Type3"));
         testNotification3.setNotificationStatus(NotificationStatus.READ.toString());
         testNotification3.setTimestamp(LocalDateTime.now().withNano(0).atOffset(ZoneOffset.UTC));
-        testNotification3.setSourceComponent("Test Component");
-        testNotification3.setPriority(Priority.MID.toString());
-        testNotification3.setType("Type3");
 
         // Save test data
         testNotification1 = notificationRepository.save(testNotification1);
@@ -92,8 +84,9 @@ class NotificationRepositoryTests {
     void givenNotification_whenSave_thenReturnSavedNotification() {
         // Given
         Notification newNotification = Notification.builder()
-                .description("New Notification")
+                .event(createEvent("New Notification", "Type1"))
                 .userId("newUser")
+                .user("New User")
                 .notificationStatus("UNREAD")
                 .timestamp(LocalDateTime.now().atOffset(ZoneOffset.UTC))
                 .build();
@@ -108,7 +101,7 @@ class NotificationRepositoryTests {
         // Verify it can be retrieved
         Optional<Notification> retrieved = notificationRepository.findById(savedNotification.getId());
         assertThat(retrieved).isPresent();
-        assertThat(retrieved.get().getDescription()).isEqualTo("New Notification");
+        assertThat(retrieved.get().getEvent().getDescription()).isEqualTo("New Notification");
     }
 
     @DisplayName("Retrieve all Notifications : Success")
@@ -120,7 +113,7 @@ class NotificationRepositoryTests {
         // Then
         assertThat(allNotifications).hasSize(4);
         assertThat(allNotifications)
-                .extracting(Notification::getDescription)
+                .extracting(notification -> notification.getEvent().getDescription())
                 .containsExactlyInAnyOrder(
                         "Test Description 1",
                         "Test Description 2",
@@ -168,7 +161,7 @@ class NotificationRepositoryTests {
                 .containsOnly("Test User 1");
 
         assertThat(result.getContent())
-                .extracting(Notification::getDescription)
+                .extracting(notification -> notification.getEvent().getDescription())
                 .containsExactlyInAnyOrder("Test Description 1", "Test Description 1 - Unread");
     }
 
@@ -189,7 +182,7 @@ class NotificationRepositoryTests {
         Notification unreadNotification = result.getContent().getFirst();
         assertThat(unreadNotification.getUserId()).isEqualTo("Test User 1");
         assertThat(unreadNotification.getNotificationStatus()).isEqualTo("Unread");
-        assertThat(unreadNotification.getDescription()).isEqualTo("Test Description 1 - Unread");
+        assertThat(unreadNotification.getEvent().getDescription()).isEqualTo("Test Description 1 - Unread");
     }
 
     @DisplayName("Retrieve read notifications by user ID : Success")
@@ -209,7 +202,7 @@ class NotificationRepositoryTests {
         Notification readNotification = result.getContent().getFirst();
         assertThat(readNotification.getUserId()).isEqualTo("Test User 1");
         assertThat(readNotification.getNotificationStatus()).isEqualTo("Read");
-        assertThat(readNotification.getDescription()).isEqualTo("Test Description 1");
+        assertThat(readNotification.getEvent().getDescription()).isEqualTo("Test Description 1");
     }
 
     @DisplayName("Retrieve empty page when no notifications match criteria : Success")
@@ -249,4 +242,130 @@ class NotificationRepositoryTests {
                 .findByUserIdAndNotificationStatus("Test User 1", "Read", pageable);
         assertThat(readResult.getContent()).isEmpty();
     }
-}
\ No newline at end of file
+
+    @DisplayName("Retrieve notifications by user ID sorted by event attribute : Success")
+    @Test
+    void givenUserIdAndEventSort_whenFindByUserId_thenReturnSortedNotifications() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("event.description").ascending());
+
+        // When
+        Page<Notification> result = notificationRepository.findByUserId("Test User 1", pageable);
+
+        // Then
+        assertThat(result.getContent())
+                .extracting(notification -> notification.getEvent().getDescription())
+                .containsExactly("Test Description 1", "Test Description 1 - Unread");
+    }
+
+    @DisplayName("Recipients of the same event share the event row : Success")
+    @Test
+    void givenRecipientsOfSameEvent_whenSave_thenEventStoredOnce() {
+        // Given
+        NotificationEvent event = createEvent("Shared Description", "Shared");
+        Notification recipient1 = Notification.builder().event(event).userId("shared1").user("Shared User 1")
+                .notificationStatus(NotificationStatus.UNREAD.toString()).timestamp(event.getTimestamp()).build();
+        Notification recipient2 = Notification.builder().event(event).userId("shared2").user("Shared User 2")
+                .notificationStatus(NotificationStatus.UNREAD.toString()).timestamp(event.getTimestamp()).build();
+
+        // When
+        List<Notification> saved = notificationRepository.saveAll(List.of(recipient1, recipient2));
+
+        // Then
+        assertThat(saved.getFirst().getEvent().getId()).isNotNull();
+        assertThat(saved.get(1).getEvent().getId()).isEqualTo(saved.getFirst().getEvent().getId());
+    }
+
+    @DisplayName("Scroll notifications by user ID with keyset position : Success")
+    @Test
+    void givenUserId_whenScrollByUserId_thenReturnConsecutiveWindows() {
+        // When
+        Window<Notification> firstWindow = notificationRepository
+                .findByUserIdOrderByTimestampDescIdDesc("Test User 1", ScrollPosition.keyset(), Limit.of(1));
+        Window<Notification> secondWindow = notificationRepository
+                .findByUserIdOrderByTimestampDescIdDesc("Test User 1", firstWindow.positionAt(0), Limit.of(1));
+
+        // Then
+        assertThat(firstWindow.getContent()).hasSize(1);
+        assertThat(firstWindow.hasNext()).isTrue();
+        assertThat(secondWindow.getContent()).hasSize(1);
+        assertThat(secondWindow.hasNext()).isFalse();
+        assertThat(secondWindow.getContent().getFirst().getId()).isNotEqualTo(firstWindow.getContent().getFirst().getId());
+        assertThat(notificationRepository.countByUserId("Test User 1")).isEqualTo(2);
+    }
+
+    @DisplayName("Bulk update status by user ID : Only the user's notifications are updated")
+    @Test
+    void givenUserId_whenUpdateStatusByUserId_thenUpdateOnlyUserNotifications() {
+        // When
+        int updated = notificationRepository.updateStatusByUserId("Test User 1", NotificationStatus.READ.toString());
+
+        // Then
+        assertThat(updated).isEqualTo(1);
+        assertThat(notificationRepository.findByUserIdAndNotificationStatus("Test User 1", NotificationStatus.UNREAD.toString(), PageRequest.of(0, 10)))
+                .isEmpty();
+    }
+
+    @DisplayName("Bulk delete by user ID and IDs : Notifications of other users are not deleted")
+    @Test
+    void givenIdsOfOtherUser_whenDeleteAllByUserIdAndIdIn_thenDeleteOnlyUserNotifications() {
+        // Given
+        List<Long> ids = notificationRepository.findAll().stream().map(Notification::getId).toList();
+
+        // When
+        int deleted = notificationRepository.deleteAllByUserIdAndIdIn("Test User 1", ids);
+
+        // Then
+        assertThat(deleted).isEqualTo(2);
+        assertThat(notificationRepository.findAll()).hasSize(2);
+    }
+
+    @DisplayName("Conditional status update by ID : Only the first update of an unread notification changes a row")
+    @Test
+    void givenUnreadNotification_whenUpdateStatusByIdAndUserIdAndStatusTwice_thenUpdateOnce() {
+        // Given
+        Long unreadId = notificationRepository.findByUserIdAndNotificationStatus("Test User 1", NotificationStatus.UNREAD.toString(), PageRequest.of(0, 10))
+                .getContent().getFirst().getId();
+
+        // When
+        int first = notificationRepository.updateStatusByIdAndUserIdAndStatus(unreadId, "Test User 1", NotificationStatus.UNREAD.toString(), NotificationStatus.READ.toString());
+        int second = notificationRepository.updateStatusByIdAndUserIdAndStatus(unreadId, "Test User 1", NotificationStatus.UNREAD.toString(), NotificationStatus.READ.toString());
+        int otherUser = notificationRepository.updateStatusByIdAndUserIdAndStatus(testNotification1.getId(), "Test User 2", NotificationStatus.READ.toString(), NotificationStatus.UNREAD.toString());
+
+        // Then
+        assertThat(first).isEqualTo(1);
+        assertThat(second).isZero();
+        assertThat(otherUser).isZero();
+        assertThat(notificationRepository.findById(unreadId)).get()
+                .extracting(Notification::getNotificationStatus).isEqualTo(NotificationStatus.READ.toString());
+    }
+
+    @DisplayName("Delete by ID returning status : Status of the deleted row is returned only once")
+    @Test
+    void givenUnreadNotification_whenDeleteByIdAndUserIdReturningStatusTwice_thenReturnStatusOnce() {
+        // Given
+        Long unreadId = notificationRepository.findByUserIdAndNotificationStatus("Test User 1", NotificationStatus.UNREAD.toString(), PageRequest.of(0, 10))
+                .getContent().getFirst().getId();
+
+        // When
+        Optional<String> otherUser = notificationRepository.deleteByIdAndUserIdReturningStatus(unreadId, "Test User 2");
+        Optional<String> first = notificationRepository.deleteByIdAndUserIdReturningStatus(unreadId, "Test User 1");
+        Optional<String> second = notificationRepository.deleteByIdAndUserIdReturningStatus(unreadId, "Test User 1");
+
+        // Then
+        assertThat(otherUser).isEmpty();
+        assertThat(first).contains(NotificationStatus.UNREAD.toString());
+        assertThat(second).isEmpty();
+        assertThat(notificationRepository.countByUserId("Test User 1")).isEqualTo(1);
+    }
+
+    private NotificationEvent createEvent(String description, String type) {
+        return NotificationEvent.builder()
+                .description(description)
+                .type(type)
+                .sourceComponent("Test Component")
+                .priority(Priority.MID.toString())
+                .timestamp(LocalDateTime.now().withNano(0).atOffset(ZoneOffset.UTC))
+                .build();
+    }
+}
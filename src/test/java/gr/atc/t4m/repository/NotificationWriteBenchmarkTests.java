@@ -0,0 +1,102 @@
+package gr.atc.t4m.repository;
+
+import gr.atc.t4m.TestcontainersConfiguration;
+import gr.atc.t4m.enums.NotificationStatus;
+import gr.atc.t4m.enums.Priority;
+import gr.atc.t4m.model.Notification;
+import gr.atc.t4m.model.NotificationEvent;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the write throughput of the Notification fan-out with and without JDBC batching.
+ * Executed only when the 'benchmarks' system property is set: mvn test -Dbenchmarks=true -Dtest=NotificationWriteBenchmarkTests
+ */
+@DataJpaTest
+@Import(TestcontainersConfiguration.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+@DisplayName("Notification Write Benchmark Tests")
+class NotificationWriteBenchmarkTests {
+
+    private static final int RECIPIENTS = 500;
+    private static final int ITERATIONS = 10;
+    private static final int WARMUP_ITERATIONS = 3;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        notificationRepository.deleteAll();
+    }
+
+    @DisplayName("Benchmark : Batched inserts outperform row-by-row inserts")
+    @Test
+    void benchmarkFanOutWrites() {
+        double unbatched = measureRowsPerSecond(1);
+        double batched = measureRowsPerSecond(50);
+
+        System.out.printf("Notification fan-out (%d recipients): row-by-row = %.0f rows/sec, batched = %.0f rows/sec (x%.1f)%n",
+                RECIPIENTS, unbatched, batched, batched / unbatched);
+        assertThat(batched).isGreaterThan(unbatched);
+    }
+
+    private double measureRowsPerSecond(int batchSize) {
+        Session session = entityManager.unwrap(Session.class);
+        session.setJdbcBatchSize(batchSize);
+
+        for (int i = 0; i < WARMUP_ITERATIONS; i++)
+            writeFanOut();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++)
+            writeFanOut();
+        long elapsed = System.nanoTime() - start;
+
+        session.setJdbcBatchSize(null);
+        return (double) RECIPIENTS * ITERATIONS / (elapsed / 1_000_000_000.0);
+    }
+
+    private void writeFanOut() {
+        List<Notification> notifications = new ArrayList<>(RECIPIENTS);
+        OffsetDateTime timestamp = OffsetDateTime.now(ZoneOffset.UTC);
+        NotificationEvent event = NotificationEvent.builder()
+                .sourceComponent("Benchmark")
+                .type("Benchmark")
+                .description("Benchmark Notification")
+                .timestamp(timestamp)
+                .priority(Priority.MID.toString())
+                .build();
+        for (int i = 0; i < RECIPIENTS; i++) {
+            notifications.add(Notification.builder()
+                    .event(event)
+                    .userId("user-" + i)
+                    .user("User " + i)
+                    .notificationStatus(NotificationStatus.UNREAD.toString())
+                    .timestamp(timestamp)
+                    .build());
+        }
+        notificationRepository.saveAll(notifications);
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
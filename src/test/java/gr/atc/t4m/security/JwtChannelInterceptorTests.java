@@ -0,0 +1,113 @@
+package gr.atc.t4m.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtChannelInterceptorTests {
+
+    @Mock
+    private JwtDecoder jwtDecoder;
+
+    @Mock
+    private MessageChannel channel;
+
+    private JwtChannelInterceptor jwtChannelInterceptor;
+
+    @BeforeEach
+    void setUp() {
+        jwtChannelInterceptor = new JwtChannelInterceptor(jwtDecoder, new JwtAuthConverter());
+    }
+
+    @DisplayName("Pre Send : CONNECT with a valid JWT is authenticated with the User ID as Principal")
+    @Test
+    void givenConnectWithValidJwt_whenPreSend_thenSetUserIdPrincipal() {
+        // Given
+        Jwt jwt = Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .subject("user-1")
+                .claim("preferred_username", "username")
+                .claim("realm_access", Map.of("roles", List.of("ADMIN")))
+                .issuedAt(Instant.now())
+                .expiresAt(Instant.now().plusSeconds(300))
+                .build();
+        when(jwtDecoder.decode("token")).thenReturn(jwt);
+
+        // When
+        Message<?> message = jwtChannelInterceptor.preSend(connectMessage("Bearer token"), channel);
+
+        // Then
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(message);
+        assertThat(accessor.getUser()).isNotNull();
+        assertThat(accessor.getUser().getName()).isEqualTo("user-1");
+    }
+
+    @DisplayName("Pre Send : CONNECT without token remains anonymous")
+    @Test
+    void givenConnectWithoutToken_whenPreSend_thenRemainAnonymous() {
+        // When
+        Message<?> message = jwtChannelInterceptor.preSend(connectMessage(null), channel);
+
+        // Then
+        assertThat(StompHeaderAccessor.wrap(message).getUser()).isNull();
+        verifyNoInteractions(jwtDecoder);
+    }
+
+    @DisplayName("Pre Send : CONNECT with an invalid JWT is rejected")
+    @Test
+    void givenConnectWithInvalidJwt_whenPreSend_thenReject() {
+        // Given
+        when(jwtDecoder.decode("invalid")).thenThrow(new BadJwtException("Malformed token"));
+        Message<byte[]> message = connectMessage("Bearer invalid");
+
+        // When - Then
+        assertThatThrownBy(() -> jwtChannelInterceptor.preSend(message, channel))
+                .isInstanceOf(BadCredentialsException.class);
+    }
+
+    @DisplayName("Pre Send : Frames other than CONNECT are not authenticated")
+    @Test
+    void givenSubscribeFrame_whenPreSend_thenPassThrough() {
+        // Given
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        accessor.setNativeHeader("Authorization", "Bearer token");
+        Message<byte[]> message = MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+
+        // When
+        Message<?> result = jwtChannelInterceptor.preSend(message, channel);
+
+        // Then
+        assertThat(result).isSameAs(message);
+        verifyNoInteractions(jwtDecoder);
+    }
+
+    private static Message<byte[]> connectMessage(String authorization) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.CONNECT);
+        if (authorization != null)
+            accessor.setNativeHeader("Authorization", authorization);
+        accessor.setSessionId("session-1");
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
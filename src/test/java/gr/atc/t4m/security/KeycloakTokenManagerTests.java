@@ -0,0 +1,209 @@
+package gr.atc.t4m.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class KeycloakTokenManagerTests {
+
+    private static final String TOKEN_URI = "http://localhost:9080/token";
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private MutableClock clock;
+
+    private KeycloakTokenManager tokenManager;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        tokenManager = new KeycloakTokenManager(restTemplate, meterRegistry, clock);
+        ReflectionTestUtils.setField(tokenManager, "tokenUri", TOKEN_URI);
+        ReflectionTestUtils.setField(tokenManager, "client", "client");
+        ReflectionTestUtils.setField(tokenManager, "clientSecret", "secret");
+    }
+
+    @DisplayName("Get Access Token : Token is requested once and then served from cache")
+    @Test
+    void givenValidToken_whenGetAccessTokenTwice_thenRequestTokenOnce() {
+        // Given
+        mockTokenResponse("token-1", 300);
+
+        // When
+        String first = tokenManager.getAccessToken();
+        String second = tokenManager.getAccessToken();
+
+        // Then
+        assertEquals("token-1", first);
+        assertEquals("token-1", second);
+        verifyTokenRequests(1);
+        assertEquals(1.0, meterRegistry.get("keycloak.token.cache").tag("result", "hit").counter().count());
+        assertEquals(1.0, meterRegistry.get("keycloak.token.cache").tag("result", "miss").counter().count());
+        assertEquals(1, meterRegistry.get("keycloak.token.refresh").tag("outcome", "success").timer().count());
+    }
+
+    @DisplayName("Get Access Token : Expired token is requested again")
+    @Test
+    void givenExpiredToken_whenGetAccessToken_thenRequestNewToken() {
+        // Given
+        mockTokenResponse("token-1", 300);
+        tokenManager.getAccessToken();
+
+        // When
+        clock.advanceSeconds(295);
+        tokenManager.getAccessToken();
+
+        // Then
+        verifyTokenRequests(2);
+    }
+
+    @DisplayName("Refresh If Expiring : Token close to expiration is refreshed in the background")
+    @Test
+    void givenTokenCloseToExpiration_whenRefreshIfExpiring_thenRefreshToken() {
+        // Given
+        mockTokenResponse("token-1", 300);
+        tokenManager.getAccessToken();
+
+        // When - Not yet in refresh window
+        tokenManager.refreshIfExpiring();
+        verifyTokenRequests(1);
+
+        // When - Inside refresh window
+        clock.advanceSeconds(250);
+        tokenManager.refreshIfExpiring();
+
+        // Then
+        verifyTokenRequests(2);
+    }
+
+    @DisplayName("Get Access Token : Concurrent callers trigger a single token request")
+    @Test
+    void givenConcurrentCallers_whenGetAccessToken_thenRequestTokenOnce() throws Exception {
+        // Given
+        mockTokenResponse("token-1", 300);
+        int callers = 20;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+
+        // When
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < callers; i++)
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return tokenManager.getAccessToken();
+                }));
+            start.countDown();
+
+            // Then
+            for (Future<String> result : results)
+                assertEquals("token-1", result.get(5, TimeUnit.SECONDS));
+        }
+        verifyTokenRequests(1);
+    }
+
+    @DisplayName("Invalidate : Only the rejected token is discarded from cache")
+    @Test
+    @SuppressWarnings("unchecked")
+    void givenRejectedToken_whenInvalidate_thenDiscardOnlyIfStillCached() {
+        // Given
+        when(restTemplate.exchange(eq(TOKEN_URI), eq(HttpMethod.POST), any(HttpEntity.class), any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok(Map.of("access_token", "token-1", "expires_in", 300)),
+                        ResponseEntity.ok(Map.of("access_token", "token-2", "expires_in", 300)));
+        tokenManager.getAccessToken();
+
+        // When
+        tokenManager.invalidate("token-1");
+        String refreshed = tokenManager.getAccessToken();
+        tokenManager.invalidate("token-1");
+        String cached = tokenManager.getAccessToken();
+
+        // Then
+        assertEquals("token-2", refreshed);
+        assertEquals("token-2", cached);
+        verifyTokenRequests(2);
+    }
+
+    @DisplayName("Get Access Token : Failure returns null and is not cached")
+    @Test
+    void givenKeycloakFailure_whenGetAccessToken_thenReturnNull() {
+        // Given
+        when(restTemplate.exchange(eq(TOKEN_URI), eq(HttpMethod.POST), any(HttpEntity.class), any(ParameterizedTypeReference.class)))
+                .thenThrow(new RestClientException("Connection refused"));
+
+        // When
+        String result = tokenManager.getAccessToken();
+        tokenManager.getAccessToken();
+
+        // Then
+        assertNull(result);
+        verifyTokenRequests(2);
+        assertEquals(2, meterRegistry.get("keycloak.token.refresh").tag("outcome", "failure").timer().count());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void mockTokenResponse(String token, int expiresIn) {
+        when(restTemplate.exchange(eq(TOKEN_URI), eq(HttpMethod.POST), any(HttpEntity.class), any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok(Map.of("access_token", token, "expires_in", expiresIn)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void verifyTokenRequests(int times) {
+        verify(restTemplate, times(times)).exchange(eq(TOKEN_URI), eq(HttpMethod.POST), any(HttpEntity.class), any(ParameterizedTypeReference.class));
+    }
+
+    private static class MutableClock extends Clock {
+        private volatile Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advanceSeconds(long seconds) {
+            instant = instant.plusSeconds(seconds);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package gr.atc.t4m.service;
 
+import gr.atc.t4m.config.properties.EventMappingCacheProperties;
 import gr.atc.t4m.dto.operations.EventMappingCreationDto;
 import gr.atc.t4m.dto.EventMappingDto;
 import gr.atc.t4m.model.EventMapping;
@@ -9,14 +10,12 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.MappingException;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.spi.ErrorMessage;
+import org.springframework.kafka.core.KafkaTemplate;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 import static gr.atc.t4m.exception.CustomExceptions.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -30,9 +29,8 @@ class EventMappingServiceTests {
     private EventMappingRepository eventMappingRepository;
 
     @Mock
-    private ModelMapper modelMapper;
+    private KafkaTemplate<String, String> kafkaTemplate;
 
-    @InjectMocks
     private EventMappingService eventMappingService;
 
     private EventMapping testEventMapping;
@@ -44,6 +42,9 @@ class EventMappingServiceTests {
 
     @BeforeEach
     void setUp() {
+        eventMappingService = new EventMappingService(eventMappingRepository, kafkaTemplate,
+                new EventMappingCacheProperties(false, null));
+
         String TEST_TOPIC = "test-topic";
         // Setup EventMapping entity
         testEventMapping = new EventMapping();
@@ -68,44 +69,25 @@ class EventMappingServiceTests {
     @Test
     void storeEventMapping_Success() {
         // Given
-        when(modelMapper.map(testEventMappingCreationDto, EventMapping.class))
-                .thenReturn(testEventMapping);
-        when(eventMappingRepository.save(testEventMapping))
+        when(eventMappingRepository.save(any(EventMapping.class)))
                 .thenReturn(testEventMapping);
 
         // When
         eventMappingService.storeEventMapping(testEventMappingCreationDto);
 
         // Then
-        verify(modelMapper).map(testEventMappingCreationDto, EventMapping.class);
-        verify(eventMappingRepository).save(testEventMapping);
-    }
-
-    @DisplayName("Store Event Mapping : Mapping Exception")
-    @Test
-    void storeEventMapping_MappingException_ThrowsModelMappingException() {
-        // Given
-        when(modelMapper.map(testEventMappingCreationDto, EventMapping.class))
-                .thenThrow(new MappingException(List.of(new ErrorMessage("Mapping failed"))));
-
-        // When & Then
-        ModelMappingException exception = assertThrows(
-                ModelMappingException.class,
-                () -> eventMappingService.storeEventMapping(testEventMappingCreationDto)
-        );
-
-        assertEquals("Unable to convert Event Mapping model to DTO or vice versa", exception.getMessage());
-        verify(modelMapper).map(testEventMappingCreationDto, EventMapping.class);
-        verify(eventMappingRepository, never()).save(any());
+        ArgumentCaptor<EventMapping> captor = ArgumentCaptor.forClass(EventMapping.class);
+        verify(eventMappingRepository).save(captor.capture());
+        assertEquals(testEventMappingCreationDto.topic(), captor.getValue().getTopic());
+        assertEquals(TEST_DESCRIPTION, captor.getValue().getDescription());
+        assertEquals(TEST_USER_ROLES, captor.getValue().getUserRoles());
     }
 
     @DisplayName("Store Event Mapping : Repository Exception")
     @Test
     void storeEventMapping_RepositoryException_PropagatesException() {
         // Given
-        when(modelMapper.map(testEventMappingCreationDto, EventMapping.class))
-                .thenReturn(testEventMapping);
-        when(eventMappingRepository.save(testEventMapping))
+        when(eventMappingRepository.save(any(EventMapping.class)))
                 .thenThrow(new RuntimeException("Database error"));
 
         // When & Then
@@ -115,8 +97,11 @@ class EventMappingServiceTests {
         );
 
         assertEquals("Database error", exception.getMessage());
-        verify(modelMapper).map(testEventMappingCreationDto, EventMapping.class);
-        verify(eventMappingRepository).save(testEventMapping);
+        ArgumentCaptor<EventMapping> captor = ArgumentCaptor.forClass(EventMapping.class);
+        verify(eventMappingRepository).save(captor.capture());
+        assertNull(captor.getValue().getId());
+        assertEquals(testEventMappingCreationDto.topic(), captor.getValue().getTopic());
+        assertEquals(TEST_USER_ROLES, captor.getValue().getUserRoles());
     }
 
     // =========================== Retrieve all Mappings Tests ===========================
@@ -126,8 +111,6 @@ class EventMappingServiceTests {
         // Given
         List<EventMapping> eventMappings = Collections.singletonList(testEventMapping);
         when(eventMappingRepository.findAll()).thenReturn(eventMappings);
-        when(modelMapper.map(testEventMapping, EventMappingDto.class))
-                .thenReturn(testEventMappingDto);
 
         // When
         List<EventMappingDto> result = eventMappingService.retrieveAllEventMappings();
@@ -137,7 +120,6 @@ class EventMappingServiceTests {
         assertEquals(1, result.size());
         assertEquals(testEventMappingDto, result.getFirst());
         verify(eventMappingRepository).findAll();
-        verify(modelMapper).map(testEventMapping, EventMappingDto.class);
     }
 
     @DisplayName("Retrieve All Event Mappings : Success")
@@ -156,10 +138,6 @@ class EventMappingServiceTests {
 
         List<EventMapping> eventMappings = Arrays.asList(testEventMapping, secondEventMapping);
         when(eventMappingRepository.findAll()).thenReturn(eventMappings);
-        when(modelMapper.map(testEventMapping, EventMappingDto.class))
-                .thenReturn(testEventMappingDto);
-        when(modelMapper.map(secondEventMapping, EventMappingDto.class))
-                .thenReturn(secondEventMappingDto);
 
         // When
         List<EventMappingDto> result = eventMappingService.retrieveAllEventMappings();
@@ -170,27 +148,6 @@ class EventMappingServiceTests {
         assertEquals(testEventMappingDto, result.get(0));
         assertEquals(secondEventMappingDto, result.get(1));
         verify(eventMappingRepository).findAll();
-        verify(modelMapper, times(2)).map(any(EventMapping.class), eq(EventMappingDto.class));
-    }
-
-    @DisplayName("Retrieve All Event Mappings : Mapping Exception")
-    @Test
-    void retrieveAllEventMappings_MappingException_ThrowsModelMappingException() {
-        // Given
-        List<EventMapping> eventMappings = Collections.singletonList(testEventMapping);
-        when(eventMappingRepository.findAll()).thenReturn(eventMappings);
-        when(modelMapper.map(testEventMapping, EventMappingDto.class))
-                .thenThrow(new MappingException(List.of(new ErrorMessage("Mapping failed"))));
-
-        // When & Then
-        ModelMappingException exception = assertThrows(
-                ModelMappingException.class,
-                () -> eventMappingService.retrieveAllEventMappings()
-        );
-
-        assertEquals("Unable to convert Event Mapping model to DTO or vice versa", exception.getMessage());
-        verify(eventMappingRepository).findAll();
-        verify(modelMapper).map(testEventMapping, EventMappingDto.class);
     }
 
     // =========================== Delete Event Mapping Tests ===========================
@@ -385,8 +342,6 @@ class EventMappingServiceTests {
         Optional<EventMapping> eventMappingOptional = Optional.of(testEventMapping);
         when(eventMappingRepository.findByTopic(topic))
                 .thenReturn(eventMappingOptional);
-        when(modelMapper.map(eventMappingOptional, EventMappingDto.class))
-                .thenReturn(testEventMappingDto);
 
         // When
         EventMappingDto result = eventMappingService.retrieveEventMappingByTopic(topic);
@@ -395,7 +350,6 @@ class EventMappingServiceTests {
         assertNotNull(result);
         assertEquals(testEventMappingDto, result);
         verify(eventMappingRepository).findByTopic(topic);
-        verify(modelMapper).map(eventMappingOptional, EventMappingDto.class);
     }
 
     @DisplayName("Retrieve Event Mapping By Topic : Not Found")
@@ -414,29 +368,6 @@ class EventMappingServiceTests {
 
         assertEquals("Event Mapping with topic " + topic + " not found", exception.getMessage());
         verify(eventMappingRepository).findByTopic(topic);
-        verify(modelMapper, never()).map(any(), eq(EventMappingDto.class));
-    }
-
-    @DisplayName("Retrieve Event Mapping By Topic : Mapping Exception")
-    @Test
-    void givenTopicName_whenRetrieveEventMappingByTopic_thenMappingException() {
-        // Given
-        String topic = "test-topic";
-        Optional<EventMapping> eventMappingOptional = Optional.of(testEventMapping);
-        when(eventMappingRepository.findByTopic(topic))
-                .thenReturn(eventMappingOptional);
-        when(modelMapper.map(eventMappingOptional, EventMappingDto.class))
-                .thenThrow(new MappingException(List.of(new ErrorMessage("Mapping failed"))));
-
-        // When & Then
-        ModelMappingException exception = assertThrows(
-                ModelMappingException.class,
-                () -> eventMappingService.retrieveEventMappingByTopic(topic)
-        );
-
-        assertEquals("Unable to convert Event Mapping model to DTO or vice versa", exception.getMessage());
-        verify(eventMappingRepository).findByTopic(topic);
-        verify(modelMapper).map(eventMappingOptional, EventMappingDto.class);
     }
 
     // =========================== Create Default Notification Mapping Async Tests ===========================
@@ -451,23 +382,20 @@ class EventMappingServiceTests {
                 .userRoles(Set.of("ALL"))
                 .build();
 
-        when(modelMapper.map(any(EventMappingCreationDto.class), eq(EventMapping.class)))
-                .thenReturn(testEventMapping);
-        when(eventMappingRepository.save(testEventMapping))
+        when(eventMappingRepository.save(any(EventMapping.class)))
                 .thenReturn(testEventMapping);
 
         // When
         eventMappingService.createDefaultNotificationMappingAsync(topic);
 
         // Then
-        ArgumentCaptor<EventMappingCreationDto> captor = ArgumentCaptor.forClass(EventMappingCreationDto.class);
-        verify(modelMapper).map(captor.capture(), eq(EventMapping.class));
-        verify(eventMappingRepository).save(testEventMapping);
+        ArgumentCaptor<EventMapping> captor = ArgumentCaptor.forClass(EventMapping.class);
+        verify(eventMappingRepository).save(captor.capture());
 
-        EventMappingCreationDto capturedDto = captor.getValue();
-        assertEquals(expectedEventMapping.description(), capturedDto.description());
-        assertEquals(expectedEventMapping.topic(), capturedDto.topic());
-        assertEquals(expectedEventMapping.userRoles(), capturedDto.userRoles());
+        EventMapping capturedMapping = captor.getValue();
+        assertEquals(expectedEventMapping.description(), capturedMapping.getDescription());
+        assertEquals(expectedEventMapping.topic(), capturedMapping.getTopic());
+        assertEquals(expectedEventMapping.userRoles(), capturedMapping.getUserRoles());
     }
 
     @DisplayName("Create Default Notification Mapping Async : Exception Handled")
@@ -475,14 +403,14 @@ class EventMappingServiceTests {
     void whenCreateDefaultNotificationMappingAsync_thenExceptionHandled() {
         // Given
         String topic = "test-topic";
-        when(modelMapper.map(any(EventMappingCreationDto.class), eq(EventMapping.class)))
-                .thenThrow(new RuntimeException("Mapping error"));
+        when(eventMappingRepository.findByTopic(topic))
+                .thenThrow(new RuntimeException("Database error"));
 
         // When
         eventMappingService.createDefaultNotificationMappingAsync(topic);
 
         // Then
-        verify(modelMapper).map(any(EventMappingCreationDto.class), eq(EventMapping.class));
+        verify(eventMappingRepository).findByTopic(topic);
         verify(eventMappingRepository, never()).save(any());
     }
 
@@ -491,17 +419,17 @@ class EventMappingServiceTests {
     void whenCreateDefaultNotificationMappingAsync_thenRepositoryExceptionHandled() {
         // Given
         String topic = "test-topic";
-        when(modelMapper.map(any(EventMappingCreationDto.class), eq(EventMapping.class)))
-                .thenReturn(testEventMapping);
-        when(eventMappingRepository.save(testEventMapping))
+        when(eventMappingRepository.save(any(EventMapping.class)))
                 .thenThrow(new RuntimeException("Database error"));
 
         // When
         eventMappingService.createDefaultNotificationMappingAsync(topic);
 
         // Then
-        verify(modelMapper).map(any(EventMappingCreationDto.class), eq(EventMapping.class));
-        verify(eventMappingRepository).save(testEventMapping);
+        ArgumentCaptor<EventMapping> captor = ArgumentCaptor.forClass(EventMapping.class);
+        verify(eventMappingRepository).save(captor.capture());
+        assertEquals(topic, captor.getValue().getTopic());
+        assertEquals(Set.of("ALL"), captor.getValue().getUserRoles());
     }
 
     // =========================== Edge Case Tests ===========================
@@ -577,6 +505,69 @@ class EventMappingServiceTests {
 
         assertEquals("Database connection failed", exception.getMessage());
         verify(eventMappingRepository).findAll();
-        verify(modelMapper, never()).map(any(), any());
+    }
+
+    // =========================== Event Mappings Cache Tests ===========================
+    @DisplayName("Retrieve User Roles By Topic : Served from cache after refresh")
+    @Test
+    void retrieveUserRolesByTopic_CachedTopic_NoDatabaseAccess() {
+        // Given
+        when(eventMappingRepository.findAll()).thenReturn(List.of(testEventMapping));
+        eventMappingService.refreshEventMappingsCache();
+
+        // When
+        Set<String> userRoles = eventMappingService.retrieveUserRolesByTopic("test-topic");
+
+        // Then
+        assertEquals(TEST_USER_ROLES, userRoles);
+        verify(eventMappingRepository, never()).findByTopic(any());
+    }
+
+    @DisplayName("Retrieve User Roles By Topic : Unknown topic loaded once from database")
+    @Test
+    void retrieveUserRolesByTopic_UnknownTopic_LoadedAndCached() {
+        // Given
+        when(eventMappingRepository.findByTopic("test-topic")).thenReturn(Optional.of(testEventMapping));
+
+        // When
+        Set<String> userRoles = eventMappingService.retrieveUserRolesByTopic("test-topic");
+        Set<String> cachedUserRoles = eventMappingService.retrieveUserRolesByTopic("test-topic");
+
+        // Then
+        assertEquals(TEST_USER_ROLES, userRoles);
+        assertEquals(TEST_USER_ROLES, cachedUserRoles);
+        verify(eventMappingRepository, times(1)).findByTopic("test-topic");
+    }
+
+    @DisplayName("Retrieve User Roles By Topic : Not Found")
+    @Test
+    void retrieveUserRolesByTopic_NotFound_ThrowsResourceNotFoundException() {
+        // Given
+        when(eventMappingRepository.findByTopic("unknown-topic")).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(ResourceNotFoundException.class, () -> eventMappingService.retrieveUserRolesByTopic("unknown-topic"));
+    }
+
+    @DisplayName("Delete Event Mapping : Cache refreshed and invalidation published")
+    @Test
+    void deleteEventMappingById_InvalidationEnabled_RefreshAndPublish() {
+        // Given
+        eventMappingService = new EventMappingService(eventMappingRepository, kafkaTemplate,
+                new EventMappingCacheProperties(true, "event-mapping-changes"));
+        when(eventMappingRepository.findAll()).thenReturn(List.of(testEventMapping));
+        eventMappingService.refreshEventMappingsCache();
+
+        when(eventMappingRepository.existsById(TEST_MAPPING_ID)).thenReturn(true);
+        when(eventMappingRepository.findAll()).thenReturn(List.of());
+        when(kafkaTemplate.send("event-mapping-changes", "")).thenReturn(new CompletableFuture<>());
+        when(eventMappingRepository.findByTopic("test-topic")).thenReturn(Optional.empty());
+
+        // When
+        eventMappingService.deleteEventMappingById(TEST_MAPPING_ID);
+
+        // Then
+        verify(kafkaTemplate).send("event-mapping-changes", "");
+        assertThrows(ResourceNotFoundException.class, () -> eventMappingService.retrieveUserRolesByTopic("test-topic"));
     }
 }
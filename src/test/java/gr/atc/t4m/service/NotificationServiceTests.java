@@ -6,7 +6,12 @@ import gr.atc.t4m.dto.UserManagerResponse;
 import gr.atc.t4m.enums.NotificationStatus;
 import gr.atc.t4m.enums.Priority;
 import gr.atc.t4m.model.Notification;
+import gr.atc.t4m.model.NotificationEvent;
 import gr.atc.t4m.repository.NotificationRepository;
+import gr.atc.t4m.security.KeycloakTokenManager;
+import gr.atc.t4m.service.interfaces.IRecipientCacheService;
+import gr.atc.t4m.service.interfaces.IUnreadCounterService;
+import jakarta.validation.ValidationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.DisplayName;
@@ -16,14 +21,14 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.MappingException;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.spi.ErrorMessage;
-import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
@@ -34,9 +39,12 @@ import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.*;
+import java.util.function.Supplier;
 
 import static gr.atc.t4m.exception.CustomExceptions.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -51,10 +59,16 @@ class NotificationServiceTests {
     private NotificationRepository notificationRepository;
 
     @Mock
-    private ModelMapper modelMapper;
+    private RestTemplate restTemplate;
 
     @Mock
-    private RestTemplate restTemplate;
+    private KeycloakTokenManager tokenManager;
+
+    @Mock
+    private IRecipientCacheService recipientCacheService;
+
+    @Mock
+    private IUnreadCounterService unreadCounterService;
 
     @InjectMocks
     private NotificationService notificationService;
@@ -72,11 +86,14 @@ class NotificationServiceTests {
         testNotification.setId(TEST_NOTIFICATION_ID);
         testNotification.setUserId(TEST_USER_ID);
         testNotification.setUser("Test User");
-        testNotification.setDescription("Test Description");
         testNotification.setNotificationStatus(NotificationStatus.UNREAD.toString());
         testNotification.setTimestamp(LocalDateTime.now().withNano(0).atOffset(ZoneOffset.UTC));
-        testNotification.setSourceComponent("Test Component");
-        testNotification.setPriority(Priority.MID.toString());
+        testNotification.setEvent(NotificationEvent.builder()
+                .description("Test Description")
+                .timestamp(testNotification.getTimestamp())
+                .sourceComponent("Test Component")
+                .priority(Priority.MID.toString())
+                .build());
 
         testNotificationDto = new NotificationDto();
         testNotificationDto.setId(TEST_NOTIFICATION_ID);
@@ -84,7 +101,7 @@ class NotificationServiceTests {
         testNotificationDto.setUser("Test User");
         testNotificationDto.setDescription("Test Description");
         testNotificationDto.setNotificationStatus(NotificationStatus.UNREAD.toString());
-        testNotificationDto.setTimestamp(LocalDateTime.now().withNano(0).atOffset(ZoneOffset.UTC));
+        testNotificationDto.setTimestamp(testNotification.getTimestamp());
         testNotificationDto.setSourceComponent("Test Component");
         testNotificationDto.setPriority(Priority.MID.toString());
     }
@@ -97,13 +114,15 @@ class NotificationServiceTests {
         // Given
         when(notificationRepository.findById(TEST_NOTIFICATION_ID))
                 .thenReturn(Optional.of(testNotification));
+        when(notificationRepository.deleteByIdAndUserIdReturningStatus(TEST_NOTIFICATION_ID, TEST_USER_ID))
+                .thenReturn(Optional.of(NotificationStatus.UNREAD.toString()));
 
         // When
         notificationService.deleteNotificationById(TEST_NOTIFICATION_ID, TEST_USER_ID);
 
         // Then
         verify(notificationRepository).findById(TEST_NOTIFICATION_ID);
-        verify(notificationRepository).deleteById(TEST_NOTIFICATION_ID);
+        verify(notificationRepository).deleteByIdAndUserIdReturningStatus(TEST_NOTIFICATION_ID, TEST_USER_ID);
     }
 
     @DisplayName("Delete Notification By Id : Super Admin Can Delete")
@@ -112,13 +131,15 @@ class NotificationServiceTests {
         // Given
         when(notificationRepository.findById(TEST_NOTIFICATION_ID))
                 .thenReturn(Optional.of(testNotification));
+        when(notificationRepository.deleteByIdAndUserIdReturningStatus(TEST_NOTIFICATION_ID, TEST_USER_ID))
+                .thenReturn(Optional.of(NotificationStatus.UNREAD.toString()));
 
         // When
         notificationService.deleteNotificationById(TEST_NOTIFICATION_ID, SUPER_ADMIN_USER_ID);
 
         // Then
         verify(notificationRepository).findById(TEST_NOTIFICATION_ID);
-        verify(notificationRepository).deleteById(TEST_NOTIFICATION_ID);
+        verify(notificationRepository).deleteByIdAndUserIdReturningStatus(TEST_NOTIFICATION_ID, TEST_USER_ID);
     }
 
     @DisplayName("Delete Notification By Id : Notification Not Found")
@@ -136,7 +157,7 @@ class NotificationServiceTests {
 
         assertEquals("Notification with id " + TEST_NOTIFICATION_ID + " not found", exception.getMessage());
         verify(notificationRepository).findById(TEST_NOTIFICATION_ID);
-        verify(notificationRepository, never()).deleteById(any());
+        verify(notificationRepository, never()).deleteByIdAndUserIdReturningStatus(any(), any());
     }
 
     @DisplayName("Delete Notification By Id : Forbidden Access")
@@ -154,7 +175,7 @@ class NotificationServiceTests {
 
         assertEquals("You are not allowed to access this notification", exception.getMessage());
         verify(notificationRepository).findById(TEST_NOTIFICATION_ID);
-        verify(notificationRepository, never()).deleteById(any());
+        verify(notificationRepository, never()).deleteByIdAndUserIdReturningStatus(any(), any());
     }
 
     // =========================== Update Notification Status To Read Tests ===========================
@@ -165,16 +186,15 @@ class NotificationServiceTests {
         // Given
         when(notificationRepository.findById(TEST_NOTIFICATION_ID))
                 .thenReturn(Optional.of(testNotification));
-        when(notificationRepository.save(any(Notification.class)))
-                .thenReturn(testNotification);
+        when(notificationRepository.updateStatusByIdAndUserIdAndStatus(TEST_NOTIFICATION_ID, TEST_USER_ID, NotificationStatus.UNREAD.toString(), NotificationStatus.READ.toString()))
+                .thenReturn(1);
 
         // When
         notificationService.updateNotificationStatusToRead(TEST_NOTIFICATION_ID, TEST_USER_ID);
 
         // Then
         verify(notificationRepository).findById(TEST_NOTIFICATION_ID);
-        verify(notificationRepository).save(testNotification);
-        assertEquals(NotificationStatus.READ.toString(), testNotification.getNotificationStatus());
+        verify(notificationRepository).updateStatusByIdAndUserIdAndStatus(TEST_NOTIFICATION_ID, TEST_USER_ID, NotificationStatus.UNREAD.toString(), NotificationStatus.READ.toString());
     }
 
     @DisplayName("Update Notification Status To Read : Super Admin Can Update")
@@ -183,16 +203,15 @@ class NotificationServiceTests {
         // Given
         when(notificationRepository.findById(TEST_NOTIFICATION_ID))
                 .thenReturn(Optional.of(testNotification));
-        when(notificationRepository.save(any(Notification.class)))
-                .thenReturn(testNotification);
+        when(notificationRepository.updateStatusByIdAndUserIdAndStatus(TEST_NOTIFICATION_ID, TEST_USER_ID, NotificationStatus.UNREAD.toString(), NotificationStatus.READ.toString()))
+                .thenReturn(1);
 
         // When
         notificationService.updateNotificationStatusToRead(TEST_NOTIFICATION_ID, SUPER_ADMIN_USER_ID);
 
         // Then
         verify(notificationRepository).findById(TEST_NOTIFICATION_ID);
-        verify(notificationRepository).save(testNotification);
-        assertEquals(NotificationStatus.READ.toString(), testNotification.getNotificationStatus());
+        verify(notificationRepository).updateStatusByIdAndUserIdAndStatus(TEST_NOTIFICATION_ID, TEST_USER_ID, NotificationStatus.UNREAD.toString(), NotificationStatus.READ.toString());
     }
 
     @DisplayName("Update Notification Status To Read : Notification Not Found")
@@ -210,7 +229,7 @@ class NotificationServiceTests {
 
         assertEquals("Notification with id " + TEST_NOTIFICATION_ID + " not found", exception.getMessage());
         verify(notificationRepository).findById(TEST_NOTIFICATION_ID);
-        verify(notificationRepository, never()).save(any());
+        verify(notificationRepository, never()).updateStatusByIdAndUserIdAndStatus(any(), any(), any(), any());
     }
 
     @DisplayName("Update Notification Status To Read : Forbidden Access")
@@ -228,7 +247,7 @@ class NotificationServiceTests {
 
         assertEquals("You are not allowed to access this notification", exception.getMessage());
         verify(notificationRepository).findById(TEST_NOTIFICATION_ID);
-        verify(notificationRepository, never()).save(any());
+        verify(notificationRepository, never()).updateStatusByIdAndUserIdAndStatus(any(), any(), any(), any());
     }
 
     // =========================== Retrieve All Notifications Per User Id Tests ===========================
@@ -243,8 +262,6 @@ class NotificationServiceTests {
 
         when(notificationRepository.findByUserId(TEST_USER_ID, pageable))
                 .thenReturn(notificationPage);
-        when(modelMapper.map(testNotification, NotificationDto.class))
-                .thenReturn(testNotificationDto);
 
         // When
         Page<NotificationDto> result = notificationService.retrieveAllNotificationsPerUserId(TEST_USER_ID, pageable);
@@ -255,7 +272,6 @@ class NotificationServiceTests {
         assertEquals(1, result.getContent().size());
         assertEquals(testNotificationDto, result.getContent().getFirst());
         verify(notificationRepository).findByUserId(TEST_USER_ID, pageable);
-        verify(modelMapper).map(testNotification, NotificationDto.class);
     }
 
     @DisplayName("Retrieve All Notifications Per User Id : Empty Page")
@@ -276,7 +292,6 @@ class NotificationServiceTests {
         assertEquals(0, result.getTotalElements());
         assertTrue(result.getContent().isEmpty());
         verify(notificationRepository).findByUserId(TEST_USER_ID, pageable);
-        verify(modelMapper, never()).map(any(), any());
     }
 
     @DisplayName("Retrieve All Notifications Per User Id : Multiple Notifications")
@@ -299,10 +314,6 @@ class NotificationServiceTests {
 
         when(notificationRepository.findByUserId(TEST_USER_ID, pageable))
                 .thenReturn(notificationPage);
-        when(modelMapper.map(testNotification, NotificationDto.class))
-                .thenReturn(testNotificationDto);
-        when(modelMapper.map(notification2, NotificationDto.class))
-                .thenReturn(notificationDto2);
 
         // When
         Page<NotificationDto> result = notificationService.retrieveAllNotificationsPerUserId(TEST_USER_ID, pageable);
@@ -328,8 +339,6 @@ class NotificationServiceTests {
         when(notificationRepository.findByUserIdAndNotificationStatus(
                 TEST_USER_ID, NotificationStatus.UNREAD.toString(), pageable))
                 .thenReturn(notificationPage);
-        when(modelMapper.map(testNotification, NotificationDto.class))
-                .thenReturn(testNotificationDto);
 
         // When
         Page<NotificationDto> result = notificationService.retrieveUnreadNotificationsPerUserId(TEST_USER_ID, pageable);
@@ -341,7 +350,6 @@ class NotificationServiceTests {
         assertEquals(testNotificationDto, result.getContent().getFirst());
         verify(notificationRepository).findByUserIdAndNotificationStatus(
                 TEST_USER_ID, NotificationStatus.UNREAD.toString(), pageable);
-        verify(modelMapper).map(testNotification, NotificationDto.class);
     }
 
     @DisplayName("Retrieve Unread Notifications Per User Id : Empty Page")
@@ -364,7 +372,6 @@ class NotificationServiceTests {
         assertTrue(result.getContent().isEmpty());
         verify(notificationRepository).findByUserIdAndNotificationStatus(
                 TEST_USER_ID, NotificationStatus.UNREAD.toString(), pageable);
-        verify(modelMapper, never()).map(any(), any());
     }
 
     // =========================== Retrieve Notification By ID Tests ===========================
@@ -375,8 +382,6 @@ class NotificationServiceTests {
         // Given
         when(notificationRepository.findById(TEST_NOTIFICATION_ID))
                 .thenReturn(Optional.of(testNotification));
-        when(modelMapper.map(testNotification, NotificationDto.class))
-                .thenReturn(testNotificationDto);
 
         // When
         NotificationDto result = notificationService.retrieveNotificationById(TEST_NOTIFICATION_ID, TEST_USER_ID);
@@ -385,7 +390,6 @@ class NotificationServiceTests {
         assertNotNull(result);
         assertEquals(testNotificationDto, result);
         verify(notificationRepository).findById(TEST_NOTIFICATION_ID);
-        verify(modelMapper).map(testNotification, NotificationDto.class);
     }
 
     @DisplayName("Retrieve Notification By ID : Super Admin Can Access")
@@ -394,8 +398,6 @@ class NotificationServiceTests {
         // Given
         when(notificationRepository.findById(TEST_NOTIFICATION_ID))
                 .thenReturn(Optional.of(testNotification));
-        when(modelMapper.map(testNotification, NotificationDto.class))
-                .thenReturn(testNotificationDto);
 
         // When
         NotificationDto result = notificationService.retrieveNotificationById(TEST_NOTIFICATION_ID, SUPER_ADMIN_USER_ID);
@@ -404,7 +406,6 @@ class NotificationServiceTests {
         assertNotNull(result);
         assertEquals(testNotificationDto, result);
         verify(notificationRepository).findById(TEST_NOTIFICATION_ID);
-        verify(modelMapper).map(testNotification, NotificationDto.class);
     }
 
     @DisplayName("Retrieve Notification By ID : Notification Not Found")
@@ -422,7 +423,6 @@ class NotificationServiceTests {
 
         assertEquals("Notification with id " + TEST_NOTIFICATION_ID + " not found", exception.getMessage());
         verify(notificationRepository).findById(TEST_NOTIFICATION_ID);
-        verify(modelMapper, never()).map(any(), any());
     }
 
     @DisplayName("Retrieve Notification By ID : Forbidden Access")
@@ -440,27 +440,6 @@ class NotificationServiceTests {
 
         assertEquals("You are not allowed to access this notification", exception.getMessage());
         verify(notificationRepository).findById(TEST_NOTIFICATION_ID);
-        verify(modelMapper, never()).map(any(), any());
-    }
-
-    @DisplayName("Retrieve Notification By ID : Mapping Exception")
-    @Test
-    void retrieveNotificationById_MappingException_ThrowsModelMappingException() {
-        // Given
-        when(notificationRepository.findById(TEST_NOTIFICATION_ID))
-                .thenReturn(Optional.of(testNotification));
-        when(modelMapper.map(testNotification, NotificationDto.class))
-                .thenThrow(new MappingException(List.of(new ErrorMessage("Mapping error"))));
-
-        // When & Then
-        ModelMappingException exception = assertThrows(
-                ModelMappingException.class,
-                () -> notificationService.retrieveNotificationById(TEST_NOTIFICATION_ID, TEST_USER_ID)
-        );
-
-        assertEquals("Unable to convert Notification model to DTO", exception.getMessage());
-        verify(notificationRepository).findById(TEST_NOTIFICATION_ID);
-        verify(modelMapper).map(testNotification, NotificationDto.class);
     }
 
     // =========================== Helper Method Tests ===========================
@@ -473,9 +452,6 @@ class NotificationServiceTests {
         List<Notification> notifications = Collections.singletonList(testNotification);
         Page<Notification> notificationPage = new PageImpl<>(notifications, pageable, 1);
 
-        when(modelMapper.map(testNotification, NotificationDto.class))
-                .thenReturn(testNotificationDto);
-
         // When
         List<NotificationDto> result = notificationService.convertPageOfNotificationsToListOfDto(notificationPage);
 
@@ -483,7 +459,6 @@ class NotificationServiceTests {
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals(testNotificationDto, result.getFirst());
-        verify(modelMapper).map(testNotification, NotificationDto.class);
     }
 
     @DisplayName("Convert Page Of Notifications To List Of Dto : Empty Page")
@@ -499,7 +474,6 @@ class NotificationServiceTests {
         // Then
         assertNotNull(result);
         assertTrue(result.isEmpty());
-        verify(modelMapper, never()).map(any(), any());
     }
 
     // =========================== Create Notifications For Each User Tests ===========================
@@ -510,12 +484,6 @@ class NotificationServiceTests {
         List<UserDto> users = createListOfUsers();
         NotificationDto notificationDto = testNotificationDto;
 
-        Notification mappedNotification1 = new Notification();
-        Notification mappedNotification2 = new Notification();
-        Notification mappedNotification3 = new Notification();
-
-        when(modelMapper.map(notificationDto, Notification.class))
-                .thenReturn(mappedNotification1, mappedNotification2, mappedNotification3);
         when(notificationRepository.saveAll(any()))
                 .thenReturn(Collections.emptyList());
 
@@ -525,11 +493,19 @@ class NotificationServiceTests {
         // Then
         ArgumentCaptor<List<Notification>> captor = ArgumentCaptor.forClass(List.class);
         verify(notificationRepository).saveAll(captor.capture());
-        verify(modelMapper, times(3)).map(notificationDto, Notification.class);
 
         List<Notification> savedNotifications = captor.getValue();
         assertEquals(3, savedNotifications.size());
 
+        // Verify all recipients share a single new event with the content of the notification
+        NotificationEvent event = savedNotifications.getFirst().getEvent();
+        assertTrue(savedNotifications.stream().allMatch(notification -> notification.getEvent() == event));
+        assertNull(event.getId());
+        assertEquals(notificationDto.getDescription(), event.getDescription());
+        assertEquals(notificationDto.getSourceComponent(), event.getSourceComponent());
+        assertEquals(notificationDto.getPriority(), event.getPriority());
+        assertEquals(notificationDto.getNotificationStatus(), savedNotifications.getFirst().getNotificationStatus());
+
         // Verify user notifications
         assertEquals("user0", savedNotifications.getFirst().getUserId());
         assertEquals("Test User0", savedNotifications.getFirst().getUser());
@@ -547,10 +523,6 @@ class NotificationServiceTests {
         // Given
         List<UserDto> users = Collections.emptyList();
         NotificationDto notificationDto = testNotificationDto;
-
-        Notification mappedNotification = new Notification();
-        when(modelMapper.map(notificationDto, Notification.class))
-                .thenReturn(mappedNotification);
         when(notificationRepository.saveAll(any()))
                 .thenReturn(Collections.emptyList());
 
@@ -560,7 +532,6 @@ class NotificationServiceTests {
         // Then
         ArgumentCaptor<List<Notification>> captor = ArgumentCaptor.forClass(List.class);
         verify(notificationRepository).saveAll(captor.capture());
-        verify(modelMapper, times(1)).map(notificationDto, Notification.class);
 
         List<Notification> savedNotifications = captor.getValue();
         assertEquals(1, savedNotifications.size());
@@ -568,24 +539,6 @@ class NotificationServiceTests {
         assertEquals("SUPER_ADMIN", savedNotifications.getFirst().getUser());
     }
 
-    @DisplayName("Create Notifications For Each User : Mapping Exception")
-    @Test
-    void createNotificationsForEachUser_MappingException_LogsError() {
-        // Given
-        List<UserDto> users = createListOfUsers();
-        NotificationDto notificationDto = testNotificationDto;
-
-        when(modelMapper.map(notificationDto, Notification.class))
-                .thenThrow(new MappingException(List.of(new ErrorMessage("Mapping failed"))));
-
-        // When
-        notificationService.createNotificationsForEachUser(users, notificationDto);
-
-        // Then
-        verify(modelMapper).map(notificationDto, Notification.class);
-        verify(notificationRepository, never()).saveAll(any());
-    }
-
     // =========================== Retry Mechanism Tests ===========================
     @DisplayName("Retrieve User Ids Per Organization : Should retry on 404 error")
     @Disabled
@@ -657,7 +610,6 @@ class NotificationServiceTests {
         // Spy the notification service
         NotificationService spyService = spy(notificationService);
         ReflectionTestUtils.setField(spyService, "userManagerUrl", "http://localhost:8094");
-        ReflectionTestUtils.setField(spyService, "tokenUri", "http://token-url:9080");
         when(spyService.retrieveComponentJwtToken()).thenReturn(token);
 
         when(restTemplate.exchange(
@@ -825,6 +777,347 @@ class NotificationServiceTests {
         assertEquals("user1", result.getFirst().userId());
     }
 
+    // =========================== Recipients Cache Tests ===========================
+    @DisplayName("Retrieve User Ids Per Organization : Served from recipients cache")
+    @Test
+    void retrieveUserIdsPerOrganization_UsesRecipientCache() {
+        // Given
+        List<UserDto> cachedUsers = createListOfUsers();
+        when(recipientCacheService.retrieveRecipients(eq("test-org"), eq("ALL"), any())).thenReturn(cachedUsers);
+
+        // When
+        List<UserDto> result = notificationService.retrieveUserIdsPerOrganization("test-org");
+
+        // Then
+        assertEquals(cachedUsers, result);
+        verify(tokenManager, never()).getAccessToken();
+    }
+
+    @DisplayName("Retrieve User Ids Per User Roles And Organization : Cache lookup per role")
+    @Test
+    void retrieveUserIdsPerUserRolesAndOrganization_UsesRecipientCachePerRole() {
+        // Given
+        when(recipientCacheService.retrieveRecipients(eq("test-org"), eq("ROLE_1"), any())).thenReturn(List.of(createMockUser(1)));
+        when(recipientCacheService.retrieveRecipients(eq("test-org"), eq("ROLE_2"), any())).thenReturn(List.of(createMockUser(2)));
+
+        // When
+        List<UserDto> result = notificationService.retrieveUserIdsPerUserRolesAndOrganization(Set.of("ROLE_1", "ROLE_2"), "test-org");
+
+        // Then
+        assertEquals(2, result.size());
+        verify(tokenManager, never()).getAccessToken();
+    }
+
+    // =========================== Rejected Token Tests ===========================
+    @DisplayName("Retrieve User Ids Per Organization : Rejected Token is invalidated and request retried once")
+    @Test
+    void givenRejectedToken_whenRetrieveUserIdsPerOrganization_thenInvalidateTokenAndRetry() {
+        // Given
+        String requestUri = "http://localhost:8094/api/users/pilots/test-org";
+        UserManagerResponse userManagerResponse = new UserManagerResponse();
+        List<UserDto> expectedUsers = createListOfUsers();
+        userManagerResponse.setData(expectedUsers);
+
+        ReflectionTestUtils.setField(notificationService, "userManagerUrl", "http://localhost:8094");
+        when(recipientCacheService.retrieveRecipients(eq("test-org"), eq("ALL"), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<List<UserDto>>>getArgument(2).get());
+        when(tokenManager.getAccessToken()).thenReturn("expired-token", "new-token");
+        when(restTemplate.exchange(eq(requestUri), eq(HttpMethod.GET), any(HttpEntity.class), eq(UserManagerResponse.class)))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.UNAUTHORIZED, "Unauthorized", null, null, null))
+                .thenReturn(ResponseEntity.ok(userManagerResponse));
+
+        // When
+        List<UserDto> result = notificationService.retrieveUserIdsPerOrganization("test-org");
+
+        // Then
+        assertEquals(expectedUsers, result);
+        verify(tokenManager).invalidate("expired-token");
+        verify(tokenManager, times(2)).getAccessToken();
+        verify(restTemplate, times(2)).exchange(eq(requestUri), eq(HttpMethod.GET), any(HttpEntity.class), eq(UserManagerResponse.class));
+    }
+
+    @DisplayName("Retrieve User Ids Per Organization : Token rejected again is not retried further")
+    @Test
+    void givenTokenRejectedTwice_whenRetrieveUserIdsPerOrganization_thenReturnEmptyList() {
+        // Given
+        ReflectionTestUtils.setField(notificationService, "userManagerUrl", "http://localhost:8094");
+        when(recipientCacheService.retrieveRecipients(eq("test-org"), eq("ALL"), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<List<UserDto>>>getArgument(2).get());
+        when(tokenManager.getAccessToken()).thenReturn("rejected-token");
+        when(restTemplate.exchange(any(String.class), eq(HttpMethod.GET), any(HttpEntity.class), eq(UserManagerResponse.class)))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.UNAUTHORIZED, "Unauthorized", null, null, null));
+
+        // When
+        List<UserDto> result = notificationService.retrieveUserIdsPerOrganization("test-org");
+
+        // Then
+        assertEquals(Collections.emptyList(), result);
+        verify(tokenManager).invalidate("rejected-token");
+        verify(restTemplate, times(2)).exchange(any(String.class), eq(HttpMethod.GET), any(HttpEntity.class), eq(UserManagerResponse.class));
+    }
+
+    // =========================== Sort Attributes Tests ===========================
+    @DisplayName("Retrieve All Notifications Per User Id : Event attributes are sorted through the event")
+    @Test
+    void retrieveAllNotificationsPerUserId_SortByEventAttribute_TranslatesSortPath() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("priority").descending());
+        when(notificationRepository.findByUserId(eq(TEST_USER_ID), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(Collections.emptyList()));
+
+        // When
+        notificationService.retrieveAllNotificationsPerUserId(TEST_USER_ID, pageable);
+
+        // Then
+        ArgumentCaptor<Pageable> captor = ArgumentCaptor.forClass(Pageable.class);
+        verify(notificationRepository).findByUserId(eq(TEST_USER_ID), captor.capture());
+        assertEquals(Sort.by("event.priority").descending(), captor.getValue().getSort());
+        assertEquals(pageable.getPageSize(), captor.getValue().getPageSize());
+    }
+
+    // =========================== Cursor Pagination Tests ===========================
+    @DisplayName("Retrieve All Notifications Per User Id With Cursor : Window is mapped to DTOs")
+    @Test
+    void retrieveAllNotificationsPerUserIdWithCursor_MapsWindow() {
+        // Given
+        ScrollPosition position = ScrollPosition.keyset();
+        Window<Notification> window = Window.from(List.of(testNotification), ScrollPosition::offset, true);
+        when(notificationRepository.findByUserIdOrderByTimestampDescIdDesc(TEST_USER_ID, position, Limit.of(10)))
+                .thenReturn(window);
+
+        // When
+        Window<NotificationDto> result = notificationService.retrieveAllNotificationsPerUserId(TEST_USER_ID, position, 10);
+
+        // Then
+        assertEquals(List.of(testNotificationDto), result.getContent());
+        assertTrue(result.hasNext());
+    }
+
+    @DisplayName("Count Unread Notifications Per User Id : Served by the unread counter")
+    @Test
+    void countUnreadNotificationsPerUserId_Success() {
+        // Given
+        when(unreadCounterService.retrieveUnreadCount(TEST_USER_ID)).thenReturn(3L);
+
+        // When & Then
+        assertEquals(3L, notificationService.countUnreadNotificationsPerUserId(TEST_USER_ID));
+        verify(notificationRepository, never()).countByUserId(any());
+    }
+
+    // =========================== Unread Counter Tests ===========================
+    @DisplayName("Create Notifications For Each User : Unread counters are incremented for all recipients")
+    @Test
+    void createNotificationsForEachUser_IncrementsUnreadCounters() {
+        // Given
+        List<UserDto> users = createListOfUsers();
+
+        // When
+        notificationService.createNotificationsForEachUser(users, testNotificationDto);
+
+        // Then
+        verify(unreadCounterService).incrementUnreadCounts(List.of("user0", "user1", SUPER_ADMIN_USER_ID));
+    }
+
+    @DisplayName("Update Notification Status To Read : Unread counter is decremented only for Unread notifications")
+    @Test
+    void updateNotificationStatusToRead_DecrementsUnreadCounterOnce() {
+        // Given
+        when(notificationRepository.findById(TEST_NOTIFICATION_ID)).thenReturn(Optional.of(testNotification));
+        when(notificationRepository.updateStatusByIdAndUserIdAndStatus(TEST_NOTIFICATION_ID, TEST_USER_ID, NotificationStatus.UNREAD.toString(), NotificationStatus.READ.toString()))
+                .thenReturn(1, 0);
+
+        // When
+        notificationService.updateNotificationStatusToRead(TEST_NOTIFICATION_ID, TEST_USER_ID);
+        notificationService.updateNotificationStatusToRead(TEST_NOTIFICATION_ID, TEST_USER_ID);
+
+        // Then
+        verify(unreadCounterService, times(1)).decrementUnreadCount(TEST_USER_ID);
+    }
+
+    @DisplayName("Delete Notification By Id : Unread counter is decremented for Unread notifications")
+    @Test
+    void deleteNotificationById_Unread_DecrementsUnreadCounter() {
+        // Given
+        when(notificationRepository.findById(TEST_NOTIFICATION_ID)).thenReturn(Optional.of(testNotification));
+        when(notificationRepository.deleteByIdAndUserIdReturningStatus(TEST_NOTIFICATION_ID, TEST_USER_ID))
+                .thenReturn(Optional.of(NotificationStatus.UNREAD.toString()));
+
+        // When
+        notificationService.deleteNotificationById(TEST_NOTIFICATION_ID, TEST_USER_ID);
+
+        // Then
+        verify(unreadCounterService).decrementUnreadCount(TEST_USER_ID);
+    }
+
+    @DisplayName("Delete Notification By Id : Unread counter is not decremented if the row was already read or deleted")
+    @Test
+    void deleteNotificationById_ReadOrAlreadyDeleted_DoesNotDecrementUnreadCounter() {
+        // Given
+        when(notificationRepository.findById(TEST_NOTIFICATION_ID)).thenReturn(Optional.of(testNotification));
+        when(notificationRepository.deleteByIdAndUserIdReturningStatus(TEST_NOTIFICATION_ID, TEST_USER_ID))
+                .thenReturn(Optional.of(NotificationStatus.READ.toString()), Optional.empty());
+
+        // When
+        notificationService.deleteNotificationById(TEST_NOTIFICATION_ID, TEST_USER_ID);
+        notificationService.deleteNotificationById(TEST_NOTIFICATION_ID, TEST_USER_ID);
+
+        // Then
+        verify(unreadCounterService, never()).decrementUnreadCount(any());
+    }
+
+    // =========================== Bulk Operations Tests ===========================
+    @DisplayName("Update Notifications Status To Read : All notifications of the user")
+    @Test
+    void updateNotificationsStatusToRead_All_UpdatesAll() {
+        // Given
+        when(notificationRepository.updateStatusByUserId(TEST_USER_ID, NotificationStatus.READ.toString())).thenReturn(4);
+
+        // When
+        int updated = notificationService.updateNotificationsStatusToRead(TEST_USER_ID, null, null, true);
+
+        // Then
+        assertEquals(4, updated);
+        verify(unreadCounterService).reconcileUnreadCount(TEST_USER_ID);
+    }
+
+    @DisplayName("Update Notifications Status To Read : By IDs")
+    @Test
+    void updateNotificationsStatusToRead_ByIds_UpdatesSelected() {
+        // Given
+        List<Long> ids = List.of(1L, 2L);
+        when(notificationRepository.updateStatusByUserIdAndIdIn(TEST_USER_ID, NotificationStatus.READ.toString(), ids)).thenReturn(0);
+
+        // When
+        int updated = notificationService.updateNotificationsStatusToRead(TEST_USER_ID, ids, null, false);
+
+        // Then
+        assertEquals(0, updated);
+        verify(unreadCounterService, never()).reconcileUnreadCount(any());
+    }
+
+    @DisplayName("Delete Notifications : Before timestamp")
+    @Test
+    void deleteNotifications_BeforeTimestamp_DeletesOlder() {
+        // Given
+        OffsetDateTime before = OffsetDateTime.now(ZoneOffset.UTC);
+        when(notificationRepository.deleteAllByUserIdAndTimestampBefore(TEST_USER_ID, before)).thenReturn(3);
+
+        // When
+        int deleted = notificationService.deleteNotifications(TEST_USER_ID, List.of(), before, false);
+
+        // Then
+        assertEquals(3, deleted);
+        verify(unreadCounterService).reconcileUnreadCount(TEST_USER_ID);
+    }
+
+    @DisplayName("Delete Notifications : Both IDs and timestamp provided")
+    @Test
+    void deleteNotifications_IdsAndTimestamp_ThrowsValidationException() {
+        // Given
+        List<Long> ids = List.of(1L);
+        OffsetDateTime before = OffsetDateTime.now(ZoneOffset.UTC);
+
+        // When & Then
+        assertThrows(ValidationException.class, () -> notificationService.deleteNotifications(TEST_USER_ID, ids, before, false));
+        verifyNoInteractions(notificationRepository);
+    }
+
+    @DisplayName("Update Notifications Status To Read : No criteria provided")
+    @Test
+    void updateNotificationsStatusToRead_NoCriteria_ThrowsValidationException() {
+        // When & Then
+        assertThrows(ValidationException.class, () -> notificationService.updateNotificationsStatusToRead(TEST_USER_ID, null, null, false));
+        verifyNoInteractions(notificationRepository);
+    }
+
+    @DisplayName("Delete Notifications : Empty IDs without timestamp or 'all' do not delete the inbox")
+    @Test
+    void deleteNotifications_EmptyIds_ThrowsValidationException() {
+        // Given
+        List<Long> ids = List.of();
+
+        // When & Then
+        assertThrows(ValidationException.class, () -> notificationService.deleteNotifications(TEST_USER_ID, ids, null, false));
+        verifyNoInteractions(notificationRepository);
+    }
+
+    @DisplayName("Delete Notifications : IDs combined with 'all'")
+    @Test
+    void deleteNotifications_IdsAndAll_ThrowsValidationException() {
+        // Given
+        List<Long> ids = List.of(1L);
+
+        // When & Then
+        assertThrows(ValidationException.class, () -> notificationService.deleteNotifications(TEST_USER_ID, ids, null, true));
+        verifyNoInteractions(notificationRepository);
+    }
+
+    @DisplayName("Delete Notifications : All notifications of the user")
+    @Test
+    void deleteNotifications_All_DeletesAll() {
+        // Given
+        when(notificationRepository.deleteAllByUserId(TEST_USER_ID)).thenReturn(5);
+
+        // When
+        int deleted = notificationService.deleteNotifications(TEST_USER_ID, null, null, true);
+
+        // Then
+        assertEquals(5, deleted);
+        verify(unreadCounterService).reconcileUnreadCount(TEST_USER_ID);
+    }
+
+    // =========================== Parallel Role Requests Tests ===========================
+    @DisplayName("Retrieve User Ids Per User Roles And Organization : Users with multiple roles are returned once")
+    @Test
+    void retrieveUserIdsPerUserRolesAndOrganization_DeduplicatesUsers() {
+        // Given
+        when(recipientCacheService.retrieveRecipients(eq("test-org"), eq("ROLE_1"), any())).thenReturn(List.of(createMockUser(1), createMockUser(2)));
+        when(recipientCacheService.retrieveRecipients(eq("test-org"), eq("ROLE_2"), any())).thenReturn(List.of(createMockUser(2), createMockUser(3)));
+
+        // When
+        List<UserDto> result = notificationService.retrieveUserIdsPerUserRolesAndOrganization(Set.of("ROLE_1", "ROLE_2"), "test-org");
+
+        // Then
+        assertEquals(3, result.size());
+        assertEquals(Set.of("user1", "user2", "user3"), new HashSet<>(result.stream().map(UserDto::userId).toList()));
+    }
+
+    @DisplayName("Retrieve User Ids Per User Roles And Organization : 404 of any role is propagated for retries")
+    @Test
+    void retrieveUserIdsPerUserRolesAndOrganization_PropagatesNotFound() {
+        // Given
+        lenient().when(recipientCacheService.retrieveRecipients(eq("test-org"), eq("ROLE_1"), any())).thenReturn(List.of(createMockUser(1)));
+        when(recipientCacheService.retrieveRecipients(eq("test-org"), eq("ROLE_2"), any()))
+                .thenThrow(new ResourceNotFoundException("Organization or Role not found yet in Keycloak.."));
+
+        // When & Then
+        Set<String> userRoles = Set.of("ROLE_1", "ROLE_2");
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+                () -> notificationService.retrieveUserIdsPerUserRolesAndOrganization(userRoles, "test-org"));
+        assertEquals("Organization or Role not found yet in Keycloak..", exception.getMessage());
+    }
+
+    @DisplayName("Retrieve User Ids Per User Roles And Organization : Roles exceeding the deadline are skipped")
+    @Test
+    void retrieveUserIdsPerUserRolesAndOrganization_DeadlineExceeded_ReturnsCompletedRoles() {
+        // Given
+        ReflectionTestUtils.setField(notificationService, "userRolesRequestDeadline", Duration.ofMillis(200));
+        when(recipientCacheService.retrieveRecipients(eq("test-org"), eq("ROLE_1"), any())).thenReturn(List.of(createMockUser(1)));
+        when(recipientCacheService.retrieveRecipients(eq("test-org"), eq("SLOW_ROLE"), any())).thenAnswer(invocation -> {
+            Thread.sleep(5000);
+            return List.of(createMockUser(2));
+        });
+
+        // When
+        long start = System.currentTimeMillis();
+        List<UserDto> result = notificationService.retrieveUserIdsPerUserRolesAndOrganization(Set.of("ROLE_1", "SLOW_ROLE"), "test-org");
+
+        // Then
+        assertTrue(System.currentTimeMillis() - start < 5000);
+        assertEquals(1, result.size());
+        assertEquals("user1", result.getFirst().userId());
+    }
+
     // =========================== Edge Case Tests ===========================
 
     @DisplayName("Validate And Get Notification : Success")
@@ -864,9 +1157,7 @@ class NotificationServiceTests {
     @Test
     void givenMockToken_whenRetrieveComponentJwtTokenFails_thenReturnNull() {
         // Given
-        ReflectionTestUtils.setField(notificationService, "tokenUri", "http://localhost:8080/token");
-        lenient().when(restTemplate.exchange(eq("http://localhost:8080/token"), eq(HttpMethod.POST), any(HttpEntity.class),
-                any(ParameterizedTypeReference.class))).thenThrow(RestClientException.class);
+        when(tokenManager.getAccessToken()).thenReturn(null);
 
         // When
         String result = notificationService.retrieveComponentJwtToken();
@@ -875,6 +1166,20 @@ class NotificationServiceTests {
         assertNull(result);
     }
 
+    @DisplayName("Retrieve Component JWT Token: Delegates to cached Token Manager")
+    @Test
+    void givenCachedToken_whenRetrieveComponentJwtToken_thenReturnCachedToken() {
+        // Given
+        when(tokenManager.getAccessToken()).thenReturn("cached-token");
+
+        // When
+        String result = notificationService.retrieveComponentJwtToken();
+
+        // Then
+        assertEquals("cached-token", result);
+        verify(tokenManager).getAccessToken();
+    }
+
     // =========================== Pagination Tests ===========================
 
     @DisplayName("Retrieve All Notifications Per User Id : Success")
@@ -887,8 +1192,6 @@ class NotificationServiceTests {
 
         when(notificationRepository.findByUserId(TEST_USER_ID, pageable))
                 .thenReturn(notificationPage);
-        when(modelMapper.map(testNotification, NotificationDto.class))
-                .thenReturn(testNotificationDto);
 
         // When
         Page<NotificationDto> result = notificationService.retrieveAllNotificationsPerUserId(TEST_USER_ID, pageable);
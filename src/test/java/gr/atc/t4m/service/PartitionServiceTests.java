@@ -0,0 +1,116 @@
+package gr.atc.t4m.service;
+
+import gr.atc.t4m.TestcontainersConfiguration;
+import gr.atc.t4m.config.properties.PartitioningProperties;
+import gr.atc.t4m.service.interfaces.IRetentionService;
+import gr.atc.t4m.service.interfaces.IUnreadCounterService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest
+@Import(TestcontainersConfiguration.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DisplayName("Partition Service Tests")
+class PartitionServiceTests {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2025-06-15T00:00:00Z"), ZoneOffset.UTC);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private IRetentionService retentionService;
+
+    private IUnreadCounterService unreadCounterService;
+
+    private PartitionService partitionService;
+
+    @BeforeEach
+    void setUp() {
+        retentionService = mock(IRetentionService.class);
+        unreadCounterService = mock(IUnreadCounterService.class);
+        partitionService = new PartitionService(new PartitioningProperties(true, 2, 3), jdbcTemplate,
+                retentionService, unreadCounterService, CLOCK);
+
+        // Replace the table created by Hibernate with a partitioned one
+        jdbcTemplate.execute("DROP TABLE notification_recipient CASCADE");
+        jdbcTemplate.execute("""
+                CREATE TABLE notification_recipient (
+                    id BIGINT NOT NULL, event_id BIGINT NOT NULL, user_id VARCHAR(50) NOT NULL, user_name VARCHAR(50) NOT NULL,
+                    notification_status VARCHAR(10) NOT NULL, timestamp TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+                    PRIMARY KEY (id, timestamp)) PARTITION BY RANGE (timestamp)
+                """);
+    }
+
+    @DisplayName("Create partitions : Monthly and default partitions are created once")
+    @Test
+    void givenMonths_whenCreatePartitions_thenCreateMissingPartitions() {
+        // When
+        int created = partitionService.createPartitions(YearMonth.of(2025, 1), YearMonth.of(2025, 3));
+        int createdAgain = partitionService.createPartitions(YearMonth.of(2025, 1), YearMonth.of(2025, 4));
+
+        // Then
+        assertThat(created).isEqualTo(3);
+        assertThat(createdAgain).isEqualTo(1);
+        assertThat(partitionService.isPartitioned()).isTrue();
+        assertThat(jdbcTemplate.queryForObject("SELECT to_regclass('notification_recipient_default') IS NOT NULL", Boolean.class)).isTrue();
+
+        jdbcTemplate.update("INSERT INTO notification_recipient VALUES (1, 1, 'user1', 'User 1', 'Unread', TIMESTAMP WITH TIME ZONE '2025-02-28 23:59:59+00')");
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM notification_recipient_p2025_02", Long.class)).isEqualTo(1L);
+    }
+
+    @DisplayName("Maintain partitions : Upcoming partitions are created and expired ones dropped")
+    @Test
+    void givenExpiredPartitions_whenMaintain_thenDropAndReconcile() {
+        // Given
+        partitionService.createPartitions(YearMonth.of(2025, 1), YearMonth.of(2025, 4));
+
+        // When
+        partitionService.maintainPartitions();
+
+        // Then
+        assertThat(jdbcTemplate.queryForList("SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+                "WHERE i.inhparent = 'notification_recipient'::regclass", String.class))
+                .containsExactlyInAnyOrder("notification_recipient_default", "notification_recipient_p2025_03",
+                        "notification_recipient_p2025_04", "notification_recipient_p2025_06", "notification_recipient_p2025_07",
+                        "notification_recipient_p2025_08");
+        verify(retentionService).purgeOrphanEvents();
+        verify(unreadCounterService).reconcileUnreadCounts();
+    }
+
+    @DisplayName("Maintain partitions : Nothing is dropped when retention is disabled")
+    @Test
+    void givenNoRetention_whenMaintain_thenKeepPartitions() {
+        // Given
+        partitionService = new PartitionService(new PartitioningProperties(true, 2, 0), jdbcTemplate,
+                retentionService, unreadCounterService, CLOCK);
+        partitionService.createPartitions(YearMonth.of(2024, 1), YearMonth.of(2024, 1));
+
+        // When
+        partitionService.maintainPartitions();
+
+        // Then
+        assertThat(jdbcTemplate.queryForObject("SELECT to_regclass('notification_recipient_p2024_01') IS NOT NULL", Boolean.class)).isTrue();
+        verifyNoInteractions(retentionService, unreadCounterService);
+    }
+
+    @DisplayName("Partition month : Resolved from the partition name")
+    @Test
+    void givenPartitionNames_whenResolveMonth_thenReturnMonth() {
+        assertThat(PartitionService.partitionMonth(PartitionService.partitionName(YearMonth.of(2025, 11)))).isEqualTo(YearMonth.of(2025, 11));
+        assertThat(PartitionService.partitionMonth(PartitionService.DEFAULT_PARTITION)).isNull();
+    }
+}
@@ -0,0 +1,168 @@
+package gr.atc.t4m.service;
+
+import gr.atc.t4m.config.properties.RecipientCacheProperties;
+import gr.atc.t4m.dto.UserDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static gr.atc.t4m.exception.CustomExceptions.ResourceNotFoundException;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecipientCacheServiceTests {
+
+    private static final String ORGANIZATION = "TEST-ORG";
+
+    private RecipientCacheService recipientCacheService;
+
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        recipientCacheService = new RecipientCacheService(
+                new RecipientCacheProperties(true, Duration.ofMinutes(10), 100, false, null), new SimpleMeterRegistry());
+        loads = new AtomicInteger();
+    }
+
+    @DisplayName("Retrieve Recipients : Cached after first load")
+    @Test
+    void givenCachedRecipients_whenRetrieveRecipients_thenLoadOnce() {
+        // When
+        List<UserDto> first = recipientCacheService.retrieveRecipients(ORGANIZATION, "ADMIN", this::loadUsers);
+        List<UserDto> second = recipientCacheService.retrieveRecipients(ORGANIZATION, "ADMIN", this::loadUsers);
+
+        // Then
+        assertEquals(1, first.size());
+        assertEquals(first, second);
+        assertEquals(1, loads.get());
+    }
+
+    @DisplayName("Retrieve Recipients : Different roles are cached separately")
+    @Test
+    void givenDifferentRoles_whenRetrieveRecipients_thenLoadPerRole() {
+        // When
+        recipientCacheService.retrieveRecipients(ORGANIZATION, "ADMIN", this::loadUsers);
+        recipientCacheService.retrieveRecipients(ORGANIZATION, "USER", this::loadUsers);
+
+        // Then
+        assertEquals(2, loads.get());
+    }
+
+    @DisplayName("Retrieve Recipients : Empty results are not cached")
+    @Test
+    void givenEmptyResult_whenRetrieveRecipients_thenNotCached() {
+        // When
+        recipientCacheService.retrieveRecipients(ORGANIZATION, "ADMIN", this::loadNoUsers);
+        List<UserDto> result = recipientCacheService.retrieveRecipients(ORGANIZATION, "ADMIN", this::loadNoUsers);
+
+        // Then
+        assertTrue(result.isEmpty());
+        assertEquals(2, loads.get());
+    }
+
+    @DisplayName("Retrieve Recipients : Exceptions of loader are propagated and not cached")
+    @Test
+    void givenLoaderException_whenRetrieveRecipients_thenPropagate() {
+        // When & Then
+        assertThrows(ResourceNotFoundException.class, () -> recipientCacheService.retrieveRecipients(ORGANIZATION, "ADMIN", () -> {
+            throw new ResourceNotFoundException("Organization not found yet in Keycloak..");
+        }));
+        recipientCacheService.retrieveRecipients(ORGANIZATION, "ADMIN", this::loadUsers);
+        assertEquals(1, loads.get());
+    }
+
+    @DisplayName("Invalidate Organization : Only entries of the organization are removed")
+    @Test
+    void givenCachedOrganizations_whenInvalidateOrganization_thenReloadOnlyThatOrganization() {
+        // Given
+        recipientCacheService.retrieveRecipients(ORGANIZATION, "ADMIN", this::loadUsers);
+        recipientCacheService.retrieveRecipients("OTHER-ORG", "ADMIN", this::loadUsers);
+
+        // When
+        recipientCacheService.invalidateOrganization(ORGANIZATION);
+        recipientCacheService.retrieveRecipients(ORGANIZATION, "ADMIN", this::loadUsers);
+        recipientCacheService.retrieveRecipients("OTHER-ORG", "ADMIN", this::loadUsers);
+
+        // Then
+        assertEquals(3, loads.get());
+    }
+
+    @DisplayName("Invalidate All : All entries are removed")
+    @Test
+    void givenCachedOrganizations_whenInvalidateAll_thenReload() {
+        // Given
+        recipientCacheService.retrieveRecipients(ORGANIZATION, "ADMIN", this::loadUsers);
+
+        // When
+        recipientCacheService.invalidateAll();
+        recipientCacheService.retrieveRecipients(ORGANIZATION, "ADMIN", this::loadUsers);
+
+        // Then
+        assertEquals(2, loads.get());
+    }
+
+    @DisplayName("Retrieve Recipients : Concurrent misses trigger a single load")
+    @Test
+    void givenConcurrentMisses_whenRetrieveRecipients_thenLoadOnce() throws Exception {
+        // Given
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<UserDto>>> results = new ArrayList<>();
+
+        // When
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 20; i++)
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return recipientCacheService.retrieveRecipients(ORGANIZATION, "ADMIN", this::slowLoadUsers);
+                }));
+            start.countDown();
+
+            // Then
+            for (Future<List<UserDto>> result : results)
+                assertEquals(1, result.get(5, TimeUnit.SECONDS).size());
+        }
+        assertEquals(1, loads.get());
+    }
+
+    @DisplayName("Retrieve Recipients : Disabled cache always invokes the loader")
+    @Test
+    void givenDisabledCache_whenRetrieveRecipients_thenAlwaysLoad() {
+        // Given
+        RecipientCacheService disabledCache = new RecipientCacheService(
+                new RecipientCacheProperties(false, Duration.ofMinutes(10), 100, false, null), new SimpleMeterRegistry());
+
+        // When
+        disabledCache.retrieveRecipients(ORGANIZATION, "ADMIN", this::loadUsers);
+        disabledCache.retrieveRecipients(ORGANIZATION, "ADMIN", this::loadUsers);
+
+        // Then
+        assertEquals(2, loads.get());
+    }
+
+    private List<UserDto> loadUsers() {
+        loads.incrementAndGet();
+        return List.of(UserDto.builder().userId("user-" + loads.get()).firstName("Test").lastName("User").build());
+    }
+
+    private List<UserDto> slowLoadUsers() {
+        try {
+            Thread.sleep(100);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return loadUsers();
+    }
+
+    private List<UserDto> loadNoUsers() {
+        loads.incrementAndGet();
+        return Collections.emptyList();
+    }
+}
@@ -0,0 +1,223 @@
+package gr.atc.t4m.service;
+
+import gr.atc.t4m.TestcontainersConfiguration;
+import gr.atc.t4m.config.properties.RetentionProperties;
+import gr.atc.t4m.config.properties.RetentionProperties.Action;
+import gr.atc.t4m.config.properties.RetentionProperties.Policy;
+import gr.atc.t4m.enums.NotificationStatus;
+import gr.atc.t4m.enums.Priority;
+import gr.atc.t4m.model.Notification;
+import gr.atc.t4m.model.NotificationEvent;
+import gr.atc.t4m.repository.NotificationRepository;
+import gr.atc.t4m.service.interfaces.IUnreadCounterService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest
+@Import(TestcontainersConfiguration.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DisplayName("Retention Service Tests")
+class RetentionServiceTests {
+
+    private static final Instant NOW = Instant.parse("2025-06-01T00:00:00Z");
+
+    private static final Policy DELETE_READ = new Policy("read-after-30-days", Action.DELETE, Duration.ofDays(30), NotificationStatus.READ, null);
+    private static final Policy ARCHIVE_ALL = new Policy("all-after-180-days", Action.ARCHIVE, Duration.ofDays(180), null, null);
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private IUnreadCounterService unreadCounterService;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        notificationRepository.deleteAll();
+        jdbcTemplate.execute("DELETE FROM notification_archive");
+        unreadCounterService = mock(IUnreadCounterService.class);
+        meterRegistry = new SimpleMeterRegistry();
+
+        List<Notification> notifications = new ArrayList<>();
+        notifications.addAll(createNotifications(5, 10, NotificationStatus.READ, Priority.LOW));
+        notifications.addAll(createNotifications(5, 60, NotificationStatus.READ, Priority.HIGH));
+        notifications.addAll(createNotifications(3, 60, NotificationStatus.UNREAD, Priority.HIGH));
+        notifications.addAll(createNotifications(4, 200, NotificationStatus.UNREAD, Priority.MID));
+        notificationRepository.saveAllAndFlush(notifications);
+    }
+
+    @DisplayName("Apply retention policy : Matching notifications are deleted in chunks")
+    @Test
+    void givenDeletePolicy_whenApply_thenDeleteMatchingNotifications() {
+        // Given
+        RetentionService retentionService = createRetentionService(2, List.of(DELETE_READ));
+
+        // When
+        long purged = retentionService.applyRetentionPolicy(DELETE_READ);
+
+        // Then
+        assertThat(purged).isEqualTo(5);
+        assertThat(countRows("notification_recipient")).isEqualTo(12);
+        assertThat(meterRegistry.get("notification.retention.purged").tag("policy", "read-after-30-days").counter().count()).isEqualTo(5);
+        assertThat(meterRegistry.get("notification.retention.duration").tag("policy", "read-after-30-days").timer().count()).isEqualTo(1);
+    }
+
+    @DisplayName("Apply retention policy : Priority filter is applied on the event")
+    @Test
+    void givenPriorityPolicy_whenApply_thenDeleteOnlyMatchingPriority() {
+        // Given
+        Policy deleteHigh = new Policy("high-after-30-days", Action.DELETE, Duration.ofDays(30), null, Priority.HIGH);
+        RetentionService retentionService = createRetentionService(100, List.of(deleteHigh));
+
+        // When
+        long purged = retentionService.applyRetentionPolicy(deleteHigh);
+
+        // Then
+        assertThat(purged).isEqualTo(8);
+    }
+
+    @DisplayName("Apply retention policy : Archived notifications keep their content")
+    @Test
+    void givenArchivePolicy_whenApply_thenMoveToArchive() {
+        // Given
+        RetentionService retentionService = createRetentionService(3, List.of(ARCHIVE_ALL));
+
+        // When
+        long purged = retentionService.applyRetentionPolicy(ARCHIVE_ALL);
+
+        // Then
+        assertThat(purged).isEqualTo(4);
+        assertThat(countRows("notification_recipient")).isEqualTo(13);
+        assertThat(countRows("notification_archive")).isEqualTo(4);
+        assertThat(jdbcTemplate.queryForList("SELECT DISTINCT priority FROM notification_archive", String.class))
+                .containsExactly(Priority.MID.toString());
+    }
+
+    @DisplayName("Apply retention policy : Notifications already in the archive are still removed and counted")
+    @Test
+    void givenAlreadyArchivedNotifications_whenApplyArchivePolicy_thenRemoveAllChunks() {
+        // Given
+        RetentionService retentionService = createRetentionService(3, List.of(ARCHIVE_ALL));
+        jdbcTemplate.update("""
+                INSERT INTO notification_archive (id, user_id, user_name, notification_status, source_component, type, description, timestamp, priority, archived_at)
+                SELECT r.id, r.user_id, r.user_name, r.notification_status, e.source_component, e.type, e.description, r.timestamp, e.priority, now()
+                FROM notification_recipient r JOIN notification_event e ON e.id = r.event_id
+                WHERE r.timestamp < ?
+                """, NOW.minus(ARCHIVE_ALL.olderThan()).atOffset(ZoneOffset.UTC));
+
+        // When
+        long purged = retentionService.applyRetentionPolicy(ARCHIVE_ALL);
+
+        // Then
+        assertThat(purged).isEqualTo(4);
+        assertThat(countRows("notification_recipient")).isEqualTo(13);
+        assertThat(countRows("notification_archive")).isEqualTo(4);
+    }
+
+    @DisplayName("Apply retention policies : Orphan events are removed and counters reconciled")
+    @Test
+    void givenPolicies_whenApplyAll_thenRemoveOrphanEventsAndReconcile() {
+        // Given
+        RetentionService retentionService = createRetentionService(2, List.of(DELETE_READ, ARCHIVE_ALL));
+
+        // When
+        retentionService.applyRetentionPolicies();
+
+        // Then
+        assertThat(countRows("notification_recipient")).isEqualTo(8);
+        assertThat(countRows("notification_event")).isEqualTo(2);
+        verify(unreadCounterService).reconcileUnreadCounts();
+    }
+
+    @DisplayName("Apply retention policies : Failed policies are counted and do not stop the others")
+    @Test
+    void givenFailingPolicy_whenApplyAll_thenCountFailureAndApplyRemaining() {
+        // Given
+        JdbcTemplate failingJdbcTemplate = spy(jdbcTemplate);
+        doThrow(new DataAccessResourceFailureException("Connection lost"))
+                .when(failingJdbcTemplate).update(startsWith("WITH chunk"), any(Object[].class));
+        RetentionService retentionService = new RetentionService(new RetentionProperties(true, 100, List.of(DELETE_READ, ARCHIVE_ALL)),
+                failingJdbcTemplate, transactionManager, unreadCounterService, meterRegistry, Clock.fixed(NOW, ZoneOffset.UTC));
+
+        // When
+        retentionService.applyRetentionPolicies();
+
+        // Then
+        assertThat(meterRegistry.get("notification.retention.failures").tag("policy", "read-after-30-days").counter().count()).isEqualTo(1);
+        assertThat(countRows("notification_archive")).isEqualTo(4);
+        assertThat(countRows("notification_recipient")).isEqualTo(13);
+    }
+
+    @DisplayName("Apply retention policies : Nothing happens when disabled")
+    @Test
+    void givenDisabledRetention_whenApplyAll_thenNothingPurged() {
+        // Given
+        RetentionService retentionService = new RetentionService(new RetentionProperties(false, 10, List.of(DELETE_READ)),
+                jdbcTemplate, transactionManager, unreadCounterService, meterRegistry);
+
+        // When
+        retentionService.applyRetentionPolicies();
+
+        // Then
+        assertThat(countRows("notification_recipient")).isEqualTo(17);
+        verifyNoInteractions(unreadCounterService);
+    }
+
+    private RetentionService createRetentionService(int chunkSize, List<Policy> policies) {
+        return new RetentionService(new RetentionProperties(true, chunkSize, policies), jdbcTemplate, transactionManager,
+                unreadCounterService, meterRegistry, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    private long countRows(String table) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM " + table, Long.class);
+    }
+
+    private List<Notification> createNotifications(int recipients, int ageInDays, NotificationStatus status, Priority priority) {
+        OffsetDateTime timestamp = NOW.minus(Duration.ofDays(ageInDays)).atOffset(ZoneOffset.UTC);
+        NotificationEvent event = NotificationEvent.builder()
+                .sourceComponent("Test Component")
+                .type("Type")
+                .description("Notification " + ageInDays + " days old")
+                .priority(priority.toString())
+                .timestamp(timestamp)
+                .build();
+
+        List<Notification> notifications = new ArrayList<>();
+        for (int i = 0; i < recipients; i++) {
+            notifications.add(Notification.builder()
+                    .event(event)
+                    .userId("user" + i)
+                    .user("User " + i)
+                    .notificationStatus(status.toString())
+                    .timestamp(timestamp)
+                    .build());
+        }
+        return notifications;
+    }
+}
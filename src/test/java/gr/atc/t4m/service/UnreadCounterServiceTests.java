@@ -0,0 +1,193 @@
+package gr.atc.t4m.service;
+
+import gr.atc.t4m.TestcontainersConfiguration;
+import gr.atc.t4m.dto.UnreadCountDto;
+import gr.atc.t4m.enums.NotificationStatus;
+import gr.atc.t4m.enums.Priority;
+import gr.atc.t4m.model.Notification;
+import gr.atc.t4m.model.NotificationEvent;
+import gr.atc.t4m.model.UnreadCounter;
+import gr.atc.t4m.repository.NotificationRepository;
+import gr.atc.t4m.repository.UnreadCounterRepository;
+import gr.atc.t4m.service.interfaces.IWebSocketService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest
+@Import(TestcontainersConfiguration.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DisplayName("Unread Counter Service Tests")
+class UnreadCounterServiceTests {
+
+    @Autowired
+    private UnreadCounterRepository unreadCounterRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private IWebSocketService webSocketService;
+
+    private ApplicationEventPublisher eventPublisher;
+
+    private UnreadCounterService unreadCounterService;
+
+    @BeforeEach
+    void setUp() {
+        notificationRepository.deleteAll();
+        unreadCounterRepository.deleteAll();
+        webSocketService = mock(IWebSocketService.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        unreadCounterService = new UnreadCounterService(unreadCounterRepository, jdbcTemplate, webSocketService, eventPublisher);
+    }
+
+    @DisplayName("Increment unread counts : One per occurrence of the user")
+    @Test
+    void givenRecipients_whenIncrementUnreadCounts_thenCountersUpdated() {
+        // When
+        unreadCounterService.incrementUnreadCounts(List.of("user1", "user1", "user2"));
+        unreadCounterService.incrementUnreadCounts(List.of("user1"));
+
+        // Then
+        assertThat(unreadCounterService.retrieveUnreadCount("user1")).isEqualTo(3);
+        assertThat(unreadCounterService.retrieveUnreadCount("user2")).isEqualTo(1);
+        assertThat(unreadCounterService.retrieveUnreadCount("unknown")).isZero();
+        verify(eventPublisher).publishEvent(new UnreadCounterService.UnreadCountChangedEvent(Set.of("user1", "user2")));
+    }
+
+    @DisplayName("Decrement unread count : Counter never becomes negative")
+    @Test
+    void givenCounter_whenDecrementUnreadCount_thenNotBelowZero() {
+        // Given
+        unreadCounterService.incrementUnreadCounts(List.of("user1"));
+
+        // When
+        unreadCounterService.decrementUnreadCount("user1");
+        unreadCounterService.decrementUnreadCount("user1");
+
+        // Then
+        assertThat(unreadCounterService.retrieveUnreadCount("user1")).isZero();
+    }
+
+    @DisplayName("Reconcile unread counts : Counters match the stored notifications")
+    @Test
+    void givenDriftedCounters_whenReconcile_thenCountersCorrected() {
+        // Given
+        NotificationEvent event = NotificationEvent.builder()
+                .sourceComponent("Test Component")
+                .type("Type1")
+                .priority(Priority.MID.toString())
+                .timestamp(LocalDateTime.now().withNano(0).atOffset(ZoneOffset.UTC))
+                .build();
+        notificationRepository.saveAllAndFlush(List.of(
+                createNotification(event, "user1", NotificationStatus.UNREAD),
+                createNotification(event, "user1", NotificationStatus.UNREAD),
+                createNotification(event, "user2", NotificationStatus.READ)));
+        unreadCounterRepository.saveAllAndFlush(List.of(new UnreadCounter("user1", 5), new UnreadCounter("user2", 1)));
+
+        // When
+        unreadCounterService.reconcileUnreadCounts();
+        entityManager.clear();
+
+        // Then
+        assertThat(unreadCounterService.retrieveUnreadCount("user1")).isEqualTo(2);
+        assertThat(unreadCounterService.retrieveUnreadCount("user2")).isZero();
+    }
+
+    @DisplayName("Reconcile unread counts : Skipped while another instance holds the reconciliation lock")
+    @Test
+    void givenLockHeldByOtherInstance_whenReconcile_thenCountersUnchanged() throws SQLException {
+        // Given
+        unreadCounterRepository.saveAndFlush(new UnreadCounter("user1", 5));
+
+        // When
+        try (Connection otherInstance = dataSource.getConnection(); Statement statement = otherInstance.createStatement()) {
+            statement.execute("SELECT pg_advisory_lock(hashtext('notification_unread_counter'))");
+            unreadCounterService.reconcileUnreadCounts();
+            statement.execute("SELECT pg_advisory_unlock(hashtext('notification_unread_counter'))");
+        }
+        entityManager.clear();
+
+        // Then
+        assertThat(unreadCounterService.retrieveUnreadCount("user1")).isEqualTo(5);
+    }
+
+    @DisplayName("Notify unread count changed : Current counters are pushed via WebSocket")
+    @Test
+    void givenChangedCounters_whenNotify_thenPushViaWebSocket() {
+        // Given
+        unreadCounterRepository.saveAndFlush(new UnreadCounter("user1", 4));
+
+        // When
+        unreadCounterService.notifyUnreadCountChanged(Set.of("user1", "user2"));
+
+        // Then
+        assertThat(capturePushedCounts()).containsExactlyInAnyOrder(new UnreadCountDto("user1", 4), new UnreadCountDto("user2", 0));
+    }
+
+    @DisplayName("Unread count changed : One push per user after the transaction is committed")
+    @Test
+    void givenSeveralChangesInTransaction_whenCommitted_thenPushOncePerUser() {
+        // Given
+        unreadCounterRepository.saveAndFlush(new UnreadCounter("user1", 2));
+
+        // When
+        unreadCounterService.onUnreadCountChanged(new UnreadCounterService.UnreadCountChangedEvent(Set.of("user1", "user2")));
+        unreadCounterService.onUnreadCountChanged(new UnreadCounterService.UnreadCountChangedEvent(Set.of("user1")));
+        verifyNoInteractions(webSocketService);
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        // Then
+        assertThat(capturePushedCounts()).containsExactlyInAnyOrder(new UnreadCountDto("user1", 2), new UnreadCountDto("user2", 0));
+    }
+
+    // Verifies that all counters are pushed at once and returns them
+    @SuppressWarnings("unchecked")
+    private Collection<UnreadCountDto> capturePushedCounts() {
+        ArgumentCaptor<Collection<UnreadCountDto>> countsCaptor = ArgumentCaptor.forClass(Collection.class);
+        verify(webSocketService).notifyUnreadCountsViaWebSocket(countsCaptor.capture());
+        return countsCaptor.getValue();
+    }
+
+    private Notification createNotification(NotificationEvent event, String userId, NotificationStatus status) {
+        return Notification.builder()
+                .event(event)
+                .userId(userId)
+                .user(userId)
+                .notificationStatus(status.toString())
+                .timestamp(event.getTimestamp())
+                .build();
+    }
+}
@@ -0,0 +1,356 @@
+package gr.atc.t4m.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gr.atc.t4m.config.properties.WebSocketProperties;
+import gr.atc.t4m.dto.UnreadCountDto;
+import gr.atc.t4m.dto.WebSocketDeliveryDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.user.SimpUser;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.util.MimeType;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static gr.atc.t4m.service.WebSocketFanOutService.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WebSocketFanOutServiceTests {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T10:00:00Z");
+    private static final String DESTINATION = "/topic/notifications/TEST-ORG";
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Mock
+    private SimpUserRegistry simpUserRegistry;
+
+    @Mock
+    private KafkaTemplate<String, byte[]> kafkaTemplate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private WebSocketFanOutService webSocketFanOutService;
+
+    @AfterEach
+    void tearDown() {
+        if (webSocketFanOutService != null)
+            webSocketFanOutService.shutdown();
+    }
+
+    @DisplayName("Publish : No message is published when the Kafka fan-out mode is disabled")
+    @Test
+    void givenSimpleBroker_whenPublish_thenNothingIsPublished() {
+        // Given
+        webSocketFanOutService = createService(WebSocketProperties.Broker.SIMPLE);
+
+        // When
+        webSocketFanOutService.publish(List.of(DESTINATION), List.of(), "message");
+
+        // Then
+        verifyNoInteractions(kafkaTemplate);
+    }
+
+    @DisplayName("Publish : Message is published with its delivery attributes as headers")
+    @SuppressWarnings("unchecked")
+    @Test
+    void givenKafkaFanOut_whenPublish_thenRecordWithHeadersIsPublished() {
+        // Given
+        webSocketFanOutService = createService(WebSocketProperties.Broker.KAFKA);
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(CompletableFuture.completedFuture(null));
+
+        // When
+        webSocketFanOutService.publish(List.of("/queue/unread-count"), List.of("user-1"), new UnreadCountDto("user-1", 3));
+
+        // Then
+        ArgumentCaptor<ProducerRecord<String, byte[]>> recordCaptor = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate).send(recordCaptor.capture());
+        ProducerRecord<String, byte[]> delivery = recordCaptor.getValue();
+        assertThat(delivery.topic()).isEqualTo("deliveries");
+        assertThat(delivery.key()).isEqualTo("user-1");
+        assertThat(new String(delivery.value(), StandardCharsets.UTF_8)).isEqualTo("{\"userId\":\"user-1\",\"unreadCount\":3}");
+        assertThat(header(delivery, HEADER_ORIGIN)).isEqualTo(webSocketFanOutService.getInstanceId());
+        assertThat(header(delivery, HEADER_DESTINATION)).isEqualTo("/queue/unread-count");
+        assertThat(header(delivery, HEADER_USER)).isEqualTo("user-1");
+        assertThat(header(delivery, HEADER_CONTENT_TYPE)).isEqualTo("application/json");
+        assertThat(header(delivery, HEADER_SENT_AT)).isEqualTo(String.valueOf(NOW.toEpochMilli()));
+        assertThat(header(delivery, HEADER_ID)).isNotBlank();
+        assertThat(meterRegistry.get("notification.websocket.fanout.deliveries").tag("outcome", "published").counter().count()).isEqualTo(1);
+    }
+
+    @DisplayName("Publish : Broadcast is keyed by its destination")
+    @SuppressWarnings("unchecked")
+    @Test
+    void givenKafkaFanOut_whenPublishBroadcast_thenRecordIsKeyedByDestination() {
+        // Given
+        webSocketFanOutService = createService(WebSocketProperties.Broker.KAFKA);
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(CompletableFuture.completedFuture(null));
+
+        // When
+        webSocketFanOutService.publish(List.of(DESTINATION), List.of(), "message");
+
+        // Then
+        ArgumentCaptor<ProducerRecord<String, byte[]>> recordCaptor = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate).send(recordCaptor.capture());
+        assertThat(recordCaptor.getValue().key()).isEqualTo(DESTINATION);
+        assertThat(recordCaptor.getValue().headers().lastHeader(HEADER_USER)).isNull();
+    }
+
+    @DisplayName("Publish : Broadcast to several topics is published once with the pre-encoded payload as is")
+    @SuppressWarnings("unchecked")
+    @Test
+    void givenKafkaFanOut_whenPublishToSeveralTopics_thenSingleRecordCarriesAllDestinations() {
+        // Given
+        webSocketFanOutService = createService(WebSocketProperties.Broker.KAFKA);
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(CompletableFuture.completedFuture(null));
+        byte[] payload = "message".getBytes(StandardCharsets.UTF_8);
+
+        // When
+        webSocketFanOutService.publish(List.of(DESTINATION, "/topic/notifications/SUPER_ADMIN"), List.of(), payload);
+
+        // Then
+        ArgumentCaptor<ProducerRecord<String, byte[]>> recordCaptor = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate).send(recordCaptor.capture());
+        ProducerRecord<String, byte[]> delivery = recordCaptor.getValue();
+        assertThat(delivery.value()).isSameAs(payload);
+        assertThat(delivery.key()).isEqualTo(header(delivery, HEADER_ID));
+        assertThat(delivery.headers().headers(HEADER_DESTINATION))
+                .extracting(header -> new String(header.value(), StandardCharsets.UTF_8))
+                .containsExactly(DESTINATION, "/topic/notifications/SUPER_ADMIN");
+    }
+
+    @DisplayName("Publish : User message is published once for all of its recipients")
+    @SuppressWarnings("unchecked")
+    @Test
+    void givenKafkaFanOut_whenPublishToUsers_thenSingleRecordCarriesAllRecipients() {
+        // Given
+        webSocketFanOutService = createService(WebSocketProperties.Broker.KAFKA);
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(CompletableFuture.completedFuture(null));
+
+        // When
+        webSocketFanOutService.publish(List.of("/queue/notifications"), List.of("user-1", "user-2", "user-3"), "message".getBytes(StandardCharsets.UTF_8));
+
+        // Then
+        ArgumentCaptor<ProducerRecord<String, byte[]>> recordCaptor = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate).send(recordCaptor.capture());
+        ProducerRecord<String, byte[]> delivery = recordCaptor.getValue();
+        assertThat(new String(delivery.value(), StandardCharsets.UTF_8)).isEqualTo("message");
+        assertThat(delivery.key()).isEqualTo(header(delivery, HEADER_ID));
+        assertThat(delivery.headers().headers(HEADER_USER))
+                .extracting(header -> new String(header.value(), StandardCharsets.UTF_8))
+                .containsExactly("user-1", "user-2", "user-3");
+    }
+
+    @DisplayName("Publish : Recipients are split into records of a bounded number of users")
+    @SuppressWarnings("unchecked")
+    @Test
+    void givenManyRecipients_whenPublishToUsers_thenRecordsAreBounded() {
+        // Given
+        webSocketFanOutService = createService(WebSocketProperties.Broker.KAFKA);
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(CompletableFuture.completedFuture(null));
+        List<String> userIds = IntStream.range(0, MAX_USERS_PER_DELIVERY + 1).mapToObj(i -> "user-" + i).toList();
+
+        // When
+        webSocketFanOutService.publish(List.of("/queue/notifications"), userIds, "message");
+
+        // Then
+        ArgumentCaptor<ProducerRecord<String, byte[]>> recordCaptor = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate, times(2)).send(recordCaptor.capture());
+        assertThat(recordCaptor.getAllValues().get(0).headers().headers(HEADER_USER)).hasSize(MAX_USERS_PER_DELIVERY);
+        assertThat(recordCaptor.getAllValues().get(1).headers().headers(HEADER_USER)).hasSize(1);
+    }
+
+    @DisplayName("Publish per user : Messages of all users are published in one record keyed by User ID")
+    @SuppressWarnings("unchecked")
+    @Test
+    void givenKafkaFanOut_whenPublishPerUser_thenSingleRecordCarriesMessagePerUser() {
+        // Given
+        webSocketFanOutService = createService(WebSocketProperties.Broker.KAFKA);
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(CompletableFuture.completedFuture(null));
+        Map<String, UnreadCountDto> unreadCounts = new LinkedHashMap<>();
+        unreadCounts.put("user-1", new UnreadCountDto("user-1", 3));
+        unreadCounts.put("user-2", new UnreadCountDto("user-2", 0));
+
+        // When
+        webSocketFanOutService.publishPerUser("/queue/unread-count", unreadCounts);
+
+        // Then
+        ArgumentCaptor<ProducerRecord<String, byte[]>> recordCaptor = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate).send(recordCaptor.capture());
+        ProducerRecord<String, byte[]> delivery = recordCaptor.getValue();
+        assertThat(new String(delivery.value(), StandardCharsets.UTF_8))
+                .isEqualTo("{\"user-1\":{\"userId\":\"user-1\",\"unreadCount\":3},\"user-2\":{\"userId\":\"user-2\",\"unreadCount\":0}}");
+        assertThat(header(delivery, HEADER_PER_USER)).isEqualTo("true");
+        assertThat(header(delivery, HEADER_DESTINATION)).isEqualTo("/queue/unread-count");
+        assertThat(delivery.headers().headers(HEADER_USER))
+                .extracting(header -> new String(header.value(), StandardCharsets.UTF_8))
+                .containsExactly("user-1", "user-2");
+    }
+
+    @DisplayName("Deliver : Per user delivery of another replica sends each local recipient its own message")
+    @SuppressWarnings("unchecked")
+    @Test
+    void givenPerUserDeliveryOfOtherReplica_whenDeliver_thenEachLocalUserReceivesOwnMessage() {
+        // Given
+        webSocketFanOutService = createService(WebSocketProperties.Broker.KAFKA);
+        when(messagingTemplate.getUserDestinationPrefix()).thenReturn("/user/");
+        when(simpUserRegistry.getUser("user-1")).thenReturn(mock(SimpUser.class));
+        WebSocketDeliveryDto delivery = WebSocketDeliveryDto.builder()
+                .id("id-1")
+                .origin("other-replica")
+                .destinations(List.of("/queue/unread-count"))
+                .users(List.of("user-1", "remote-user"))
+                .contentType("application/json")
+                .sentAt(NOW.toEpochMilli())
+                .perUser(true)
+                .payload("{\"user-1\":{\"userId\":\"user-1\",\"unreadCount\":3},\"remote-user\":{\"userId\":\"remote-user\",\"unreadCount\":1}}"
+                        .getBytes(StandardCharsets.UTF_8))
+                .build();
+
+        // When
+        webSocketFanOutService.deliver(delivery);
+
+        // Then
+        ArgumentCaptor<Message<byte[]>> messageCaptor = ArgumentCaptor.forClass(Message.class);
+        verify(messagingTemplate, timeout(1000)).send(eq("/user/user-1/queue/unread-count"), messageCaptor.capture());
+        assertThat(new String(messageCaptor.getValue().getPayload(), StandardCharsets.UTF_8)).isEqualTo("{\"userId\":\"user-1\",\"unreadCount\":3}");
+        verify(messagingTemplate, never()).send(eq("/user/remote-user/queue/unread-count"), any());
+    }
+
+    @DisplayName("Deliver : Message of another replica is sent to the local clients without conversion")
+    @SuppressWarnings("unchecked")
+    @Test
+    void givenDeliveryOfOtherReplica_whenDeliver_thenMessageIsSentLocally() {
+        // Given
+        webSocketFanOutService = createService(WebSocketProperties.Broker.KAFKA);
+
+        WebSocketDeliveryDto delivery = delivery("id-1", "other-replica", null, NOW.toEpochMilli());
+
+        // When
+        boolean scheduled = webSocketFanOutService.deliver(delivery);
+
+        // Then
+        assertThat(scheduled).isTrue();
+        ArgumentCaptor<Message<byte[]>> messageCaptor = ArgumentCaptor.forClass(Message.class);
+        verify(messagingTemplate, timeout(1000)).send(eq(DESTINATION), messageCaptor.capture());
+        assertThat(messageCaptor.getValue().getPayload()).isSameAs(delivery.payload());
+        assertThat(messageCaptor.getValue().getHeaders().get(MessageHeaders.CONTENT_TYPE)).isEqualTo(MimeType.valueOf("text/plain;charset=UTF-8"));
+    }
+
+    @DisplayName("Deliver : Broadcast of another replica is sent to each of its destinations")
+    @Test
+    void givenBroadcastToSeveralTopics_whenDeliver_thenMessageIsSentToEachTopic() {
+        // Given
+        webSocketFanOutService = createService(WebSocketProperties.Broker.KAFKA);
+        WebSocketDeliveryDto delivery = WebSocketDeliveryDto.builder()
+                .id("id-1")
+                .origin("other-replica")
+                .destinations(List.of(DESTINATION, "/topic/notifications/SUPER_ADMIN"))
+                .sentAt(NOW.toEpochMilli())
+                .payload("message".getBytes(StandardCharsets.UTF_8))
+                .build();
+
+        // When
+        webSocketFanOutService.deliver(delivery);
+
+        // Then
+        verify(messagingTemplate, timeout(1000)).send(eq(DESTINATION), any());
+        verify(messagingTemplate, timeout(1000)).send(eq("/topic/notifications/SUPER_ADMIN"), any());
+    }
+
+    @DisplayName("Deliver : User message of another replica is sent to the user destinations of the local recipients only")
+    @Test
+    void givenUserDeliveryOfOtherReplica_whenDeliver_thenMessageIsSentToUser() {
+        // Given
+        webSocketFanOutService = createService(WebSocketProperties.Broker.KAFKA);
+        when(messagingTemplate.getUserDestinationPrefix()).thenReturn("/user/");
+        when(simpUserRegistry.getUser("user-1")).thenReturn(mock(SimpUser.class));
+        when(simpUserRegistry.getUser("user-2")).thenReturn(mock(SimpUser.class));
+        WebSocketDeliveryDto delivery = WebSocketDeliveryDto.builder()
+                .id("id-1")
+                .origin("other-replica")
+                .destinations(List.of("/queue/notifications"))
+                .users(List.of("user-1", "user-2", "remote-user"))
+                .sentAt(NOW.toEpochMilli())
+                .payload("message".getBytes(StandardCharsets.UTF_8))
+                .build();
+
+        // When
+        webSocketFanOutService.deliver(delivery);
+
+        // Then
+        verify(messagingTemplate, timeout(1000)).send(eq("/user/user-1/queue/notifications"), any());
+        verify(messagingTemplate, timeout(1000)).send(eq("/user/user-2/queue/notifications"), any());
+        verify(messagingTemplate, never()).send(eq("/user/remote-user/queue/notifications"), any());
+    }
+
+    @DisplayName("Deliver : Own, duplicate and expired deliveries are discarded")
+    @Test
+    void givenOwnDuplicateOrExpiredDelivery_whenDeliver_thenDiscarded() {
+        // Given
+        webSocketFanOutService = createService(WebSocketProperties.Broker.KAFKA);
+        String ownInstance = webSocketFanOutService.getInstanceId();
+
+        // When
+        boolean own = webSocketFanOutService.deliver(delivery("id-1", ownInstance, null, NOW.toEpochMilli()));
+        boolean first = webSocketFanOutService.deliver(delivery("id-2", "other-replica", null, NOW.toEpochMilli()));
+        boolean duplicate = webSocketFanOutService.deliver(delivery("id-2", "other-replica", null, NOW.toEpochMilli()));
+        boolean expired = webSocketFanOutService.deliver(delivery("id-3", "other-replica", null, NOW.minusSeconds(31).toEpochMilli()));
+
+        // Then
+        assertThat(own).isFalse();
+        assertThat(first).isTrue();
+        assertThat(duplicate).isFalse();
+        assertThat(expired).isFalse();
+        verify(messagingTemplate, timeout(1000).times(1)).send(anyString(), any());
+        assertThat(meterRegistry.get("notification.websocket.fanout.deliveries").tag("outcome", "duplicate").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("notification.websocket.fanout.deliveries").tag("outcome", "expired").counter().count()).isEqualTo(1);
+    }
+
+    private WebSocketFanOutService createService(WebSocketProperties.Broker broker) {
+        WebSocketProperties properties = new WebSocketProperties(broker, null,
+                new WebSocketProperties.FanOut("deliveries", 1, 10, 100, Duration.ofSeconds(30)), null, null);
+        return new WebSocketFanOutService(messagingTemplate, simpUserRegistry, kafkaTemplate, new ObjectMapper(), properties, meterRegistry,
+                Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    private static WebSocketDeliveryDto delivery(String id, String origin, List<String> users, long sentAt) {
+        return WebSocketDeliveryDto.builder()
+                .id(id)
+                .origin(origin)
+                .destinations(List.of(DESTINATION))
+                .users(users)
+                .contentType("text/plain;charset=UTF-8")
+                .sentAt(sentAt)
+                .payload("message".getBytes(StandardCharsets.UTF_8))
+                .build();
+    }
+
+    private static String header(ProducerRecord<String, byte[]> delivery, String name) {
+        return new String(delivery.headers().lastHeader(name).value(), StandardCharsets.UTF_8);
+    }
+}
@@ -1,15 +1,27 @@
 package gr.atc.t4m.service;
 
+import gr.atc.t4m.dto.UnreadCountDto;
+import gr.atc.t4m.service.interfaces.IWebSocketFanOutService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
 import org.springframework.messaging.MessagingException;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.user.SimpUser;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.util.MimeType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -22,7 +34,14 @@ class WebSocketServiceTest {
     @Mock
     private SimpMessagingTemplate messagingTemplate;
 
-    @InjectMocks
+    @Mock
+    private SimpUserRegistry simpUserRegistry;
+
+    @Mock
+    private IWebSocketFanOutService webSocketFanOutService;
+
+    private SimpleMeterRegistry meterRegistry;
+
     private WebSocketService webSocketService;
 
     private static final String TEST_MESSAGE = "Test notification message";
@@ -33,6 +52,8 @@ class WebSocketServiceTest {
     void setUp() {
         // Reset mocks before each test
         reset(messagingTemplate);
+        meterRegistry = new SimpleMeterRegistry();
+        webSocketService = new WebSocketService(messagingTemplate, meterRegistry, simpUserRegistry, webSocketFanOutService);
     }
 
     @DisplayName("Notify Users and Roles via WebSocket : Success with Correct Topic Path")
@@ -54,6 +75,9 @@ class WebSocketServiceTest {
 
         assertThat(capturedTopic).isEqualTo("/topic/notifications/" + TEST_TOPIC_NAME);
         assertThat(capturedMessage).isEqualTo(TEST_MESSAGE);
+        verify(webSocketFanOutService).publish(List.of("/topic/notifications/" + TEST_TOPIC_NAME), List.of(), TEST_MESSAGE);
+        assertThat(meterRegistry.get("notification.pipeline.websocket.send")
+                .tags("destination", TEST_TOPIC_NAME, "outcome", "success").timer().count()).isEqualTo(1);
     }
 
     @DisplayName("Notify Users and Roles via WebSocket : Success / No Exception Thrown")
@@ -70,6 +94,8 @@ class WebSocketServiceTest {
         });
 
         verify(messagingTemplate, times(1)).convertAndSend(anyString(), anyString());
+        assertThat(meterRegistry.get("notification.pipeline.websocket.send")
+                .tags("destination", TEST_TOPIC_NAME, "outcome", "failure").timer().count()).isEqualTo(1);
     }
 
     @DisplayName("Notify User via WebSocket : Success with Correct Parameters")
@@ -136,4 +162,55 @@ class WebSocketServiceTest {
         verify(messagingTemplate, times(1))
                 .convertAndSendToUser(TEST_USER_ID, "/queue/notifications", emptyMessage);
     }
-}
\ No newline at end of file
+
+    @DisplayName("Notify Unread Counts via WebSocket : Sent to connected users and published once for all users")
+    @Test
+    void givenUnreadCounts_whenNotifyUnreadCountsViaWebSocket_thenSendToConnectedUsersAndPublishOnce() {
+        // Given
+        UnreadCountDto unreadCount = new UnreadCountDto(TEST_USER_ID, 5);
+        UnreadCountDto offlineUnreadCount = new UnreadCountDto("offline-user", 2);
+        when(simpUserRegistry.getUser(TEST_USER_ID)).thenReturn(mock(SimpUser.class));
+        when(simpUserRegistry.getUser("offline-user")).thenReturn(null);
+
+        // When
+        webSocketService.notifyUnreadCountsViaWebSocket(List.of(unreadCount, offlineUnreadCount));
+
+        // Then
+        verify(messagingTemplate).convertAndSendToUser(TEST_USER_ID, "/queue/unread-count", unreadCount);
+        verify(messagingTemplate, never()).convertAndSendToUser(eq("offline-user"), anyString(), any(Object.class));
+        verify(webSocketFanOutService).publishPerUser("/queue/unread-count",
+                Map.of(TEST_USER_ID, unreadCount, "offline-user", offlineUnreadCount));
+    }
+
+    @DisplayName("Notify via WebSocket : Pre-encoded message is sent to every topic and connected user without conversion")
+    @SuppressWarnings("unchecked")
+    @Test
+    void givenPreEncodedPayload_whenNotifyViaWebSocket_thenSendSameMessageToAllDestinations() {
+        // Given
+        byte[] payload = TEST_MESSAGE.getBytes(StandardCharsets.UTF_8);
+        when(messagingTemplate.getUserDestinationPrefix()).thenReturn("/user/");
+        when(simpUserRegistry.getUser(TEST_USER_ID)).thenReturn(mock(SimpUser.class));
+        when(simpUserRegistry.getUser("offline-user")).thenReturn(null);
+
+        // When
+        webSocketService.notifyViaWebSocket(payload, List.of(TEST_TOPIC_NAME, "SUPER_ADMIN"), List.of(TEST_USER_ID, "offline-user"));
+
+        // Then
+        ArgumentCaptor<Message<byte[]>> messageCaptor = ArgumentCaptor.forClass(Message.class);
+        verify(messagingTemplate).send(eq("/topic/notifications/" + TEST_TOPIC_NAME), messageCaptor.capture());
+        verify(messagingTemplate).send(eq("/topic/notifications/SUPER_ADMIN"), messageCaptor.capture());
+        verify(messagingTemplate).send(eq("/user/" + TEST_USER_ID + "/queue/notifications"), messageCaptor.capture());
+        verify(messagingTemplate, never()).send(eq("/user/offline-user/queue/notifications"), any());
+        verify(messagingTemplate, never()).convertAndSend(anyString(), any(Object.class));
+
+        assertThat(messageCaptor.getAllValues()).hasSize(3)
+                .allSatisfy(message -> assertThat(message).isSameAs(messageCaptor.getValue()));
+        assertThat(messageCaptor.getValue().getPayload()).isSameAs(payload);
+        assertThat(messageCaptor.getValue().getHeaders().get(MessageHeaders.CONTENT_TYPE)).isEqualTo(MimeType.valueOf("text/plain;charset=UTF-8"));
+        verify(webSocketFanOutService).publish(List.of("/topic/notifications/" + TEST_TOPIC_NAME, "/topic/notifications/SUPER_ADMIN"), List.of(), payload);
+        verify(webSocketFanOutService).publish(List.of("/queue/notifications"), List.of(TEST_USER_ID, "offline-user"), payload);
+        verify(webSocketFanOutService, times(2)).publish(any(), any(), any());
+        assertThat(meterRegistry.get("notification.pipeline.websocket.send")
+                .tags("destination", "/user/queue/notifications", "outcome", "success").timer().count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,43 @@
+package gr.atc.t4m.utils;
+
+import jakarta.validation.ValidationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CursorUtilsTests {
+
+    @DisplayName("Encode and decode cursor: Position is preserved")
+    @Test
+    void givenPosition_whenEncodeAndDecode_thenReturnSamePosition() {
+        // Given
+        OffsetDateTime timestamp = OffsetDateTime.of(2025, 1, 1, 10, 30, 15, 123456000, ZoneOffset.UTC);
+
+        // When
+        KeysetScrollPosition position = CursorUtils.decode(CursorUtils.encode(timestamp, 42L));
+
+        // Then
+        assertFalse(position.isInitial());
+        assertEquals(timestamp, position.getKeys().get("timestamp"));
+        assertEquals(42L, position.getKeys().get("id"));
+    }
+
+    @DisplayName("Decode cursor: Missing cursor returns the initial position")
+    @Test
+    void givenNoCursor_whenDecode_thenReturnInitialPosition() {
+        assertTrue(CursorUtils.decode(null).isInitial());
+        assertTrue(CursorUtils.decode("").isInitial());
+    }
+
+    @DisplayName("Decode cursor: Malformed cursor")
+    @Test
+    void givenMalformedCursor_whenDecode_thenThrowValidationException() {
+        assertThrows(ValidationException.class, () -> CursorUtils.decode("not-a-cursor"));
+        assertThrows(ValidationException.class, () -> CursorUtils.decode("%%%"));
+    }
+}